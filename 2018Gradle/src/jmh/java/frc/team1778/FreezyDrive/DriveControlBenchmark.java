@@ -0,0 +1,49 @@
+package frc.team1778.FreezyDrive;
+
+import frc.team1778.robot.SimulatedRobot;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Teleop drive: one calculateDrive() per op, joystick inputs sweep through a recorded-like pattern
+// (deadband, quick turn and saturation branches all get exercised)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DriveControlBenchmark {
+
+  private static final int NUM_INPUTS = 256;
+
+  private final double[] throttles = new double[NUM_INPUTS];
+  private final double[] wheels = new double[NUM_INPUTS];
+  private final boolean[] quickTurns = new boolean[NUM_INPUTS];
+  private int index = 0;
+
+  private DriveControl driveControl;
+
+  @Setup
+  public void setup() {
+    SimulatedRobot.initialize();
+    driveControl = new DriveControl();
+
+    for (int i = 0; i < NUM_INPUTS; i++) {
+      double phase = 2.0 * Math.PI * i / NUM_INPUTS;
+      throttles[i] = 1.1 * Math.sin(phase);
+      wheels[i] = 0.9 * Math.sin(3.0 * phase);
+      quickTurns[i] = (i % 64) < 16;
+    }
+  }
+
+  @Benchmark
+  public void calculateDrive() {
+    int i = index;
+    index = (i + 1) & (NUM_INPUTS - 1);
+
+    driveControl.calculateDrive(throttles[i], wheels[i], quickTurns[i]);
+  }
+}
@@ -0,0 +1,82 @@
+package frc.team1778.NetworkComm;
+
+import frc.team1778.robot.SimulatedRobot;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Cost of one 50 Hz loop worth of telemetry publishes (encoders, gyro, IMU status, auto state).
+// Run with the gc profiler (configured in build.gradle): publishHandles must report
+// gc.alloc.rate.norm = 0 B/op, publishKeyed shows what the old String-keyed calls cost.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TelemetryBenchmark {
+
+  private static final String STATE_NAME = "<Drive State 1>";
+
+  private InputOutputComm.DoubleHandle encoderRight, encoderLeft, gyroAngle;
+  private InputOutputComm.BooleanHandle imuConnected, imuCalibrating;
+  private InputOutputComm.StringHandle currentState;
+
+  private double rightPos, leftPos, angle;
+
+  @Setup
+  public void setup() {
+    SimulatedRobot.initialize();
+
+    encoderRight =
+        InputOutputComm.registerDouble(InputOutputComm.LogTable.kMainLog, "Auto/EncoderRight");
+    encoderLeft =
+        InputOutputComm.registerDouble(InputOutputComm.LogTable.kMainLog, "Auto/EncoderLeft");
+    gyroAngle = InputOutputComm.registerDouble(InputOutputComm.LogTable.kMainLog, "Auto/GyroAngle");
+    imuConnected =
+        InputOutputComm.registerBoolean(InputOutputComm.LogTable.kMainLog, "Auto/IMU_Connected");
+    imuCalibrating =
+        InputOutputComm.registerBoolean(InputOutputComm.LogTable.kMainLog, "Auto/IMU_Calibrating");
+    currentState =
+        InputOutputComm.registerString(
+            InputOutputComm.LogTable.kMainLog, "Auto/AutoSM_currentState");
+  }
+
+  // values change every loop, as they would while driving
+  private void advance() {
+    rightPos += 0.37;
+    leftPos += 0.36;
+    angle += 0.05;
+  }
+
+  @Benchmark
+  public void publishHandles() {
+    advance();
+
+    encoderRight.set(rightPos);
+    encoderLeft.set(leftPos);
+    gyroAngle.set(angle);
+    imuConnected.set(true);
+    imuCalibrating.set(false);
+    currentState.set(STATE_NAME);
+  }
+
+  @Benchmark
+  public void publishKeyed() {
+    advance();
+
+    InputOutputComm.putString(
+        InputOutputComm.LogTable.kMainLog, "Auto/EncoderRight", String.format("%.2f", rightPos));
+    InputOutputComm.putString(
+        InputOutputComm.LogTable.kMainLog, "Auto/EncoderLeft", String.format("%.2f", leftPos));
+    InputOutputComm.putDouble(InputOutputComm.LogTable.kMainLog, "Auto/GyroAngle", angle);
+    InputOutputComm.putBoolean(InputOutputComm.LogTable.kMainLog, "Auto/IMU_Connected", true);
+    InputOutputComm.putBoolean(InputOutputComm.LogTable.kMainLog, "Auto/IMU_Calibrating", false);
+    InputOutputComm.putString(
+        InputOutputComm.LogTable.kMainLog,
+        "Auto/AutoSM_currentState",
+        new String("State = " + STATE_NAME));
+  }
+}
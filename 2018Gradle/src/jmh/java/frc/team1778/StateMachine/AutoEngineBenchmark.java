@@ -0,0 +1,87 @@
+package frc.team1778.StateMachine;
+
+import frc.team1778.Hardware.SimHardware;
+import frc.team1778.Systems.SensorFrame;
+import frc.team1778.robot.SimulatedRobot;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// State machine engine overhead - the interpreted AutoNetwork against its compiled form, on a ring
+// of states whose actions and events do no work. Each state has three actions and two events and
+// moves on every fourth cycle, so one op is one robot loop of pure dispatch (a quarter of them
+// with a state change).
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AutoEngineBenchmark {
+
+  private static final int NUM_STATES = 8;
+  private static final int ACTIONS_PER_STATE = 3;
+  private static final int CYCLES_PER_STATE = 4;
+
+  // event that triggers after a number of checks
+  static class CountEvent extends Event {
+    private int count;
+
+    public void initialize() {
+      count = 0;
+    }
+
+    public boolean isTriggered(SensorFrame sensors) {
+      return ++count >= CYCLES_PER_STATE;
+    }
+  }
+
+  private AutoNetwork network;
+  private CompiledAutoNetwork compiledNetwork;
+  private SensorFrame sensors;
+
+  @Setup
+  public void setup() {
+    SimulatedRobot.initialize();
+    sensors = SensorFrame.capture(SimHardware.getTimeUs());
+
+    // separate networks, so the two engines never share action/event state
+    network = createRing();
+    network.enter();
+
+    compiledNetwork = new CompiledAutoNetwork(createRing());
+    compiledNetwork.enter();
+  }
+
+  private static AutoNetwork createRing() {
+    AutoNetwork ring = new AutoNetwork("<Ring Network>");
+
+    AutoState[] states = new AutoState[NUM_STATES];
+    for (int i = 0; i < NUM_STATES; i++) {
+      states[i] = new AutoState("<Ring State " + i + ">");
+      for (int j = 0; j < ACTIONS_PER_STATE; j++) states[i].addAction(new Action());
+      states[i].addEvent(new Event()); // never triggers
+      states[i].addEvent(new CountEvent());
+      ring.addState(states[i]);
+    }
+    for (int i = 0; i < NUM_STATES; i++) {
+      states[i].associateNextState(states[(i + 1) % NUM_STATES]);
+    }
+
+    return ring;
+  }
+
+  @Benchmark
+  public AutoState processInterpreted() {
+    network.process(sensors);
+    return network.getCurrentState();
+  }
+
+  @Benchmark
+  public int processCompiled() {
+    compiledNetwork.process(sensors);
+    return compiledNetwork.getCurrentStateIndex();
+  }
+}
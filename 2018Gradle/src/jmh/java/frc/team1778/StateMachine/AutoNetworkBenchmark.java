@@ -0,0 +1,58 @@
+package frc.team1778.StateMachine;
+
+import frc.team1778.Hardware.SimHardware;
+import frc.team1778.Systems.SensorFrame;
+import frc.team1778.robot.SimulatedRobot;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Runs a whole 15 s autonomous period of a real auto network (compiled, as on the robot) against
+// the simulated robot. Scores are per robot loop: CompiledAutoNetwork.process() plus one step of
+// the simulated devices and a sensor frame capture, averaged over drive, turn, lift and idle
+// states (state changes included). The networks come from the compiled route file
+// (-Dfrc1778.routes.dir, set by the jmh task).
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AutoNetworkBenchmark {
+
+  private static final int AUTO_CYCLES = 750; // 15 s at 50 Hz
+
+  @Param({
+    "1", "6", "9"
+  }) // DRIVE_FORWARD, DEPOSIT_CUBE_SWITCH_CENTER_LEFT, DEPOSIT_CUBE_SCALE_RIGHT
+  public int networkIndex;
+
+  private CompiledAutoNetwork network;
+
+  @Setup
+  public void setup() {
+    SimulatedRobot.initialize();
+
+    AutoRouteLoader routes = AutoRouteLoader.load(AutoRouteLoader.getRouteFile());
+    if (routes == null) throw new IllegalStateException("no valid route file");
+
+    network = new CompiledAutoNetwork(routes.buildNetwork(networkIndex));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(AUTO_CYCLES)
+  public int runAutonomous() {
+    network.enter();
+    SensorFrame sensors = SensorFrame.capture(SimHardware.getTimeUs());
+    for (int i = 0; i < AUTO_CYCLES; i++) {
+      network.process(sensors);
+      sensors = SimulatedRobot.step();
+    }
+    network.exit();
+    return network.getCurrentStateIndex();
+  }
+}
@@ -0,0 +1,59 @@
+package frc.team1778.StateMachine;
+
+import frc.team1778.Hardware.SimHardware;
+import frc.team1778.Systems.CubeManagement;
+import frc.team1778.Systems.SensorFrame;
+import frc.team1778.robot.SimulatedRobot;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// One AutoState.process() per op for the two most common auto states: a motion magic drive (with
+// collector) waiting on a ClosedLoopPositionEvent, and a PID turn waiting on a
+// ClosedLoopAngleEvent.
+// Targets are out of reach so the states never exit; devices are not stepped and the sensor
+// frame is captured once.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AutoStateBenchmark {
+
+  private AutoState driveState, turnState;
+  private SensorFrame sensors;
+
+  @Setup
+  public void setup() {
+    SimulatedRobot.initialize();
+
+    driveState = new AutoState("<Drive State>");
+    driveState.addAction(new DriveForwardMagicAction("<Drive Action>", 1000.0, 850, 300, true, 0));
+    driveState.addAction(
+        new CollectCubeAction("<Collect Action>", CubeManagement.COLLECTOR_IN_AUTO_STRENGTH));
+    driveState.addEvent(new ClosedLoopPositionEvent(1000.0, 3.0, 0.6));
+    driveState.enter();
+
+    turnState = new AutoState("<Turn State>");
+    turnState.addAction(new TurnPIDAction("<Turn Action>", 170.0, 0.5, true));
+    turnState.addAction(
+        new CollectCubeAction("<Collect Action>", CubeManagement.COLLECTOR_IN_AUTO_STRENGTH));
+    turnState.addEvent(new ClosedLoopAngleEvent(170.0, 2.0, 0.75));
+    turnState.enter();
+
+    sensors = SensorFrame.capture(SimHardware.getTimeUs());
+  }
+
+  @Benchmark
+  public AutoState processDriveState() {
+    return driveState.process(sensors);
+  }
+
+  @Benchmark
+  public AutoState processTurnState() {
+    return turnState.process(sensors);
+  }
+}
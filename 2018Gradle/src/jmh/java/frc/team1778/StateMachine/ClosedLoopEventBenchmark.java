@@ -0,0 +1,53 @@
+package frc.team1778.StateMachine;
+
+import frc.team1778.Hardware.SimHardware;
+import frc.team1778.Systems.SensorFrame;
+import frc.team1778.robot.SimulatedRobot;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Trigger checks of the closed-loop events against a sensor frame (target out of reach), and the
+// once-per-loop sensor frame capture they replace their own sensor reads with
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ClosedLoopEventBenchmark {
+
+  private ClosedLoopPositionEvent positionEvent;
+  private ClosedLoopAngleEvent angleEvent;
+  private SensorFrame sensors;
+
+  @Setup
+  public void setup() {
+    SimulatedRobot.initialize();
+
+    positionEvent = new ClosedLoopPositionEvent(1000.0, 3.0, 0.6);
+    positionEvent.initialize();
+
+    angleEvent = new ClosedLoopAngleEvent(170.0, 2.0, 0.75);
+    angleEvent.initialize();
+
+    sensors = SensorFrame.capture(SimHardware.getTimeUs());
+  }
+
+  @Benchmark
+  public boolean positionEventTriggered() {
+    return positionEvent.isTriggered(sensors);
+  }
+
+  @Benchmark
+  public boolean angleEventTriggered() {
+    return angleEvent.isTriggered(sensors);
+  }
+
+  @Benchmark
+  public SensorFrame captureSensorFrame() {
+    return SensorFrame.capture(SimHardware.getTimeUs());
+  }
+}
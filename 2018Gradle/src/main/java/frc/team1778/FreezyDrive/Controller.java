@@ -1,6 +1,7 @@
 package frc.team1778.FreezyDrive;
 
-import edu.wpi.first.wpilibj.Joystick;
+import frc.team1778.Hardware.HardwareFactory;
+import frc.team1778.Hardware.JoystickInput;
 import frc.team1778.Utility.InterLinkElite;
 
 public class Controller {
@@ -10,8 +11,8 @@ public class Controller {
   // public static final int COPILOT_CONTROLLER_TYPE = 1;
   public static final int PORT_DRIVER_CONTROLLER = 0;
   // public static final int PORT_COPILOT_CONTROLLER = 1;
-  public static Joystick Driver;
-  public static Joystick CoPilot;
+  public static JoystickInput Driver;
+  public static JoystickInput CoPilot;
 
   public static boolean[] controllerType = new boolean[3];
 
@@ -21,7 +22,7 @@ public class Controller {
 
     if (initialized) return;
 
-    Driver = new Joystick(PORT_DRIVER_CONTROLLER);
+    Driver = HardwareFactory.createJoystick(PORT_DRIVER_CONTROLLER);
     // CoPilot = new Joystick(PORT_COPILOT_CONTROLLER);
 
     initialized = true;
@@ -12,7 +12,20 @@ public class DriveControl {
   private double throttleDeadband = 0.04;
   private double wheelDeadband = 0.02;
 
-  public DriveControl() {}
+  // telemetry channels
+  private final InputOutputComm.DoubleHandle throttleHandle, wheelHandle;
+  private final InputOutputComm.DoubleHandle leftPowerHandle, rightPowerHandle;
+
+  public DriveControl() {
+    throttleHandle =
+        InputOutputComm.registerDouble(InputOutputComm.LogTable.kDriveLog, "Teleop/Throttle");
+    wheelHandle =
+        InputOutputComm.registerDouble(InputOutputComm.LogTable.kDriveLog, "Teleop/Wheel");
+    leftPowerHandle =
+        InputOutputComm.registerDouble(InputOutputComm.LogTable.kDriveLog, "Teleop/leftPower");
+    rightPowerHandle =
+        InputOutputComm.registerDouble(InputOutputComm.LogTable.kDriveLog, "Teleop/rightPower");
+  }
 
   public void calculateDrive(double throttle, double wheel, boolean isQuickTurn) {
 
@@ -24,8 +37,8 @@ public class DriveControl {
 
     if (throttle < 0) wheel = -wheel;
 
-    InputOutputComm.putDouble(InputOutputComm.LogTable.kDriveLog, "Teleop/Throttle", throttle);
-    InputOutputComm.putDouble(InputOutputComm.LogTable.kDriveLog, "Teleop/Wheel", wheel);
+    throttleHandle.set(throttle);
+    wheelHandle.set(wheel);
 
     double negInertia = wheel - oldWheel;
     oldWheel = wheel;
@@ -121,8 +134,8 @@ public class DriveControl {
     // sends final values to drive train
     DriveAssembly.drive(leftPower, rightPower);
 
-    InputOutputComm.putDouble(InputOutputComm.LogTable.kDriveLog, "Teleop/leftPower", leftPower);
-    InputOutputComm.putDouble(InputOutputComm.LogTable.kDriveLog, "Teleop/rightPower", rightPower);
+    leftPowerHandle.set(leftPower);
+    rightPowerHandle.set(rightPower);
   }
 
   // calculates the deadband of the value
@@ -0,0 +1,85 @@
+package frc.team1778.Hardware;
+
+import com.ctre.phoenix.motion.MotionProfileStatus;
+import com.ctre.phoenix.motion.TrajectoryPoint;
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.FeedbackDevice;
+import com.ctre.phoenix.motorcontrol.LimitSwitchNormal;
+import com.ctre.phoenix.motorcontrol.LimitSwitchSource;
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
+
+// Smart (CAN) motor controller - the subset of the CTRE TalonSRX API used by the robot code.
+// Method names and arguments match TalonSRX so real and simulated controllers are interchangeable.
+public interface CANMotorController {
+
+  public int getDeviceID();
+
+  public void set(ControlMode mode, double value);
+
+  public void setInverted(boolean invert);
+
+  public void setSensorPhase(boolean phase);
+
+  public void setNeutralMode(NeutralMode mode);
+
+  public void configSelectedFeedbackSensor(FeedbackDevice device, int pidIdx, int timeoutMs);
+
+  public void configContinuousCurrentLimit(int amps, int timeoutMs);
+
+  public void configPeakCurrentLimit(int amps, int timeoutMs);
+
+  public void enableCurrentLimit(boolean enable);
+
+  public void configForwardLimitSwitchSource(
+      LimitSwitchSource source, LimitSwitchNormal normal, int timeoutMs);
+
+  public void configReverseLimitSwitchSource(
+      LimitSwitchSource source, LimitSwitchNormal normal, int timeoutMs);
+
+  public void selectProfileSlot(int slotIdx, int pidIdx);
+
+  public void config_kP(int slotIdx, double value, int timeoutMs);
+
+  public void config_kI(int slotIdx, double value, int timeoutMs);
+
+  public void config_kD(int slotIdx, double value, int timeoutMs);
+
+  public void config_kF(int slotIdx, double value, int timeoutMs);
+
+  public void configMotionCruiseVelocity(int sensorUnitsPer100ms, int timeoutMs);
+
+  public void configMotionAcceleration(int sensorUnitsPer100msPerSec, int timeoutMs);
+
+  public void setSelectedSensorPosition(int sensorPos, int pidIdx, int timeoutMs);
+
+  public void setStatusFramePeriod(StatusFrameEnhanced frame, int periodMs, int timeoutMs);
+
+  // motion profile streaming - points are pushed into the top-level (roboRIO side) buffer and
+  // moved to the Talon's own buffer, one per call, by processMotionProfileBuffer
+  public void pushMotionProfileTrajectory(TrajectoryPoint point);
+
+  public void processMotionProfileBuffer();
+
+  public void getMotionProfileStatus(MotionProfileStatus status);
+
+  public void clearMotionProfileTrajectories();
+
+  public void clearMotionProfileHasUnderrun(int timeoutMs);
+
+  public void changeMotionControlFramePeriod(int periodMs);
+
+  public void configMotionProfileTrajectoryPeriod(int baseTrajDurationMs, int timeoutMs);
+
+  public int getSelectedSensorPosition(int pidIdx);
+
+  public int getSelectedSensorVelocity(int pidIdx);
+
+  public double getMotorOutputPercent();
+
+  public double getBusVoltage();
+
+  public boolean isFwdLimitSwitchClosed();
+
+  public boolean isRevLimitSwitchClosed();
+}
@@ -0,0 +1,160 @@
+package frc.team1778.Hardware;
+
+import com.ctre.phoenix.motion.MotionProfileStatus;
+import com.ctre.phoenix.motion.TrajectoryPoint;
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.FeedbackDevice;
+import com.ctre.phoenix.motorcontrol.LimitSwitchNormal;
+import com.ctre.phoenix.motorcontrol.LimitSwitchSource;
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
+import com.ctre.phoenix.motorcontrol.can.TalonSRX;
+
+// real TalonSRX on the CAN bus
+public class CTRETalonSRX implements CANMotorController {
+
+  private final TalonSRX talon;
+
+  public CTRETalonSRX(int deviceID) {
+    talon = new TalonSRX(deviceID);
+  }
+
+  // underlying CTRE object (for features not covered by CANMotorController)
+  public TalonSRX getTalon() {
+    return talon;
+  }
+
+  public int getDeviceID() {
+    return talon.getDeviceID();
+  }
+
+  public void set(ControlMode mode, double value) {
+    talon.set(mode, value);
+  }
+
+  public void setInverted(boolean invert) {
+    talon.setInverted(invert);
+  }
+
+  public void setSensorPhase(boolean phase) {
+    talon.setSensorPhase(phase);
+  }
+
+  public void setNeutralMode(NeutralMode mode) {
+    talon.setNeutralMode(mode);
+  }
+
+  public void configSelectedFeedbackSensor(FeedbackDevice device, int pidIdx, int timeoutMs) {
+    talon.configSelectedFeedbackSensor(device, pidIdx, timeoutMs);
+  }
+
+  public void configContinuousCurrentLimit(int amps, int timeoutMs) {
+    talon.configContinuousCurrentLimit(amps, timeoutMs);
+  }
+
+  public void configPeakCurrentLimit(int amps, int timeoutMs) {
+    talon.configPeakCurrentLimit(amps, timeoutMs);
+  }
+
+  public void enableCurrentLimit(boolean enable) {
+    talon.enableCurrentLimit(enable);
+  }
+
+  public void configForwardLimitSwitchSource(
+      LimitSwitchSource source, LimitSwitchNormal normal, int timeoutMs) {
+    talon.configForwardLimitSwitchSource(source, normal, timeoutMs);
+  }
+
+  public void configReverseLimitSwitchSource(
+      LimitSwitchSource source, LimitSwitchNormal normal, int timeoutMs) {
+    talon.configReverseLimitSwitchSource(source, normal, timeoutMs);
+  }
+
+  public void selectProfileSlot(int slotIdx, int pidIdx) {
+    talon.selectProfileSlot(slotIdx, pidIdx);
+  }
+
+  public void config_kP(int slotIdx, double value, int timeoutMs) {
+    talon.config_kP(slotIdx, value, timeoutMs);
+  }
+
+  public void config_kI(int slotIdx, double value, int timeoutMs) {
+    talon.config_kI(slotIdx, value, timeoutMs);
+  }
+
+  public void config_kD(int slotIdx, double value, int timeoutMs) {
+    talon.config_kD(slotIdx, value, timeoutMs);
+  }
+
+  public void config_kF(int slotIdx, double value, int timeoutMs) {
+    talon.config_kF(slotIdx, value, timeoutMs);
+  }
+
+  public void configMotionCruiseVelocity(int sensorUnitsPer100ms, int timeoutMs) {
+    talon.configMotionCruiseVelocity(sensorUnitsPer100ms, timeoutMs);
+  }
+
+  public void configMotionAcceleration(int sensorUnitsPer100msPerSec, int timeoutMs) {
+    talon.configMotionAcceleration(sensorUnitsPer100msPerSec, timeoutMs);
+  }
+
+  public void setSelectedSensorPosition(int sensorPos, int pidIdx, int timeoutMs) {
+    talon.setSelectedSensorPosition(sensorPos, pidIdx, timeoutMs);
+  }
+
+  public void setStatusFramePeriod(StatusFrameEnhanced frame, int periodMs, int timeoutMs) {
+    talon.setStatusFramePeriod(frame, periodMs, timeoutMs);
+  }
+
+  public void pushMotionProfileTrajectory(TrajectoryPoint point) {
+    talon.pushMotionProfileTrajectory(point);
+  }
+
+  public void processMotionProfileBuffer() {
+    talon.processMotionProfileBuffer();
+  }
+
+  public void getMotionProfileStatus(MotionProfileStatus status) {
+    talon.getMotionProfileStatus(status);
+  }
+
+  public void clearMotionProfileTrajectories() {
+    talon.clearMotionProfileTrajectories();
+  }
+
+  public void clearMotionProfileHasUnderrun(int timeoutMs) {
+    talon.clearMotionProfileHasUnderrun(timeoutMs);
+  }
+
+  public void changeMotionControlFramePeriod(int periodMs) {
+    talon.changeMotionControlFramePeriod(periodMs);
+  }
+
+  public void configMotionProfileTrajectoryPeriod(int baseTrajDurationMs, int timeoutMs) {
+    talon.configMotionProfileTrajectoryPeriod(baseTrajDurationMs, timeoutMs);
+  }
+
+  public int getSelectedSensorPosition(int pidIdx) {
+    return talon.getSelectedSensorPosition(pidIdx);
+  }
+
+  public int getSelectedSensorVelocity(int pidIdx) {
+    return talon.getSelectedSensorVelocity(pidIdx);
+  }
+
+  public double getMotorOutputPercent() {
+    return talon.getMotorOutputPercent();
+  }
+
+  public double getBusVoltage() {
+    return talon.getBusVoltage();
+  }
+
+  public boolean isFwdLimitSwitchClosed() {
+    return talon.getSensorCollection().isFwdLimitSwitchClosed();
+  }
+
+  public boolean isRevLimitSwitchClosed() {
+    return talon.getSensorCollection().isRevLimitSwitchClosed();
+  }
+}
@@ -0,0 +1,36 @@
+package frc.team1778.Hardware;
+
+// Write-through command cache in front of a PWM motor controller (see MotorCommandCache)
+public class CachedSpark implements PWMMotorController {
+
+  private static final int SET = 0;
+  private static final int INVERTED = 1;
+
+  private final PWMMotorController spark;
+  private final MotorCommandCache.Slots cache = new MotorCommandCache.Slots(2);
+
+  public CachedSpark(PWMMotorController spark) {
+    this.spark = spark;
+  }
+
+  public PWMMotorController getController() {
+    return spark;
+  }
+
+  public void set(double speed) {
+    if (cache.checkSend(SET, Double.doubleToLongBits(speed), false)) spark.set(speed);
+  }
+
+  public double get() {
+    return spark.get();
+  }
+
+  public void setInverted(boolean isInverted) {
+    if (cache.checkSend(INVERTED, isInverted ? 1 : 0, true)) {
+      spark.setInverted(isInverted);
+
+      // inversion is applied when the speed is set, so the next set must go out
+      cache.invalidate(SET);
+    }
+  }
+}
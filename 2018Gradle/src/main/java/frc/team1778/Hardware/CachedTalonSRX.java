@@ -0,0 +1,218 @@
+package frc.team1778.Hardware;
+
+import com.ctre.phoenix.motion.MotionProfileStatus;
+import com.ctre.phoenix.motion.TrajectoryPoint;
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.FeedbackDevice;
+import com.ctre.phoenix.motorcontrol.LimitSwitchNormal;
+import com.ctre.phoenix.motorcontrol.LimitSwitchSource;
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
+
+// Write-through command cache in front of a TalonSRX - drops commands and config writes that
+// would not change anything (see MotorCommandCache). Sensor reads and sensor resets always go
+// straight through.
+public class CachedTalonSRX implements CANMotorController {
+
+  private static final int NUM_SLOTS = 4; // Talon closed-loop gain slots
+
+  // cache slots
+  private static final int SET = 0;
+  private static final int INVERTED = 1;
+  private static final int SENSOR_PHASE = 2;
+  private static final int NEUTRAL_MODE = 3;
+  private static final int FEEDBACK_SENSOR = 4;
+  private static final int CONTINUOUS_CURRENT = 5;
+  private static final int PEAK_CURRENT = 6;
+  private static final int CURRENT_LIMIT_ENABLE = 7;
+  private static final int FWD_LIMIT_SOURCE = 8;
+  private static final int REV_LIMIT_SOURCE = 9;
+  private static final int PROFILE_SLOT = 10;
+  private static final int CRUISE_VELOCITY = 11;
+  private static final int ACCELERATION = 12;
+  private static final int MOTION_FRAME_PERIOD = 13;
+  private static final int PROFILE_BASE_PERIOD = 14;
+  private static final int KP = 15; // then KI, KD, KF - NUM_SLOTS entries each
+  private static final int KI = KP + NUM_SLOTS;
+  private static final int KD = KI + NUM_SLOTS;
+  private static final int KF = KD + NUM_SLOTS;
+  private static final int NUM_CACHE_SLOTS = KF + NUM_SLOTS;
+
+  private final CANMotorController talon;
+  private final MotorCommandCache.Slots cache = new MotorCommandCache.Slots(NUM_CACHE_SLOTS);
+
+  // control mode of the last set (the SET slot only holds the set-point)
+  private ControlMode lastMode = null;
+
+  public CachedTalonSRX(CANMotorController talon) {
+    this.talon = talon;
+  }
+
+  // next command and config writes always go out (e.g. after the controller was power cycled)
+  public void invalidate() {
+    cache.invalidate();
+    lastMode = null;
+  }
+
+  public CANMotorController getController() {
+    return talon;
+  }
+
+  private boolean changed(int slot, long value) {
+    return cache.checkSend(slot, value, true);
+  }
+
+  private boolean changed(int slot, double value) {
+    return changed(slot, Double.doubleToLongBits(value));
+  }
+
+  public int getDeviceID() {
+    return talon.getDeviceID();
+  }
+
+  public void set(ControlMode mode, double value) {
+    // a mode change always goes out
+    if (mode != lastMode) {
+      lastMode = mode;
+      cache.invalidate(SET);
+    }
+    if (cache.checkSend(SET, Double.doubleToLongBits(value), false)) talon.set(mode, value);
+  }
+
+  public void setInverted(boolean invert) {
+    if (changed(INVERTED, invert ? 1 : 0)) talon.setInverted(invert);
+  }
+
+  public void setSensorPhase(boolean phase) {
+    if (changed(SENSOR_PHASE, phase ? 1 : 0)) talon.setSensorPhase(phase);
+  }
+
+  public void setNeutralMode(NeutralMode mode) {
+    if (changed(NEUTRAL_MODE, mode.ordinal())) talon.setNeutralMode(mode);
+  }
+
+  public void configSelectedFeedbackSensor(FeedbackDevice device, int pidIdx, int timeoutMs) {
+    if (changed(FEEDBACK_SENSOR, ((long) pidIdx << 32) | device.ordinal()))
+      talon.configSelectedFeedbackSensor(device, pidIdx, timeoutMs);
+  }
+
+  public void configContinuousCurrentLimit(int amps, int timeoutMs) {
+    if (changed(CONTINUOUS_CURRENT, amps)) talon.configContinuousCurrentLimit(amps, timeoutMs);
+  }
+
+  public void configPeakCurrentLimit(int amps, int timeoutMs) {
+    if (changed(PEAK_CURRENT, amps)) talon.configPeakCurrentLimit(amps, timeoutMs);
+  }
+
+  public void enableCurrentLimit(boolean enable) {
+    if (changed(CURRENT_LIMIT_ENABLE, enable ? 1 : 0)) talon.enableCurrentLimit(enable);
+  }
+
+  public void configForwardLimitSwitchSource(
+      LimitSwitchSource source, LimitSwitchNormal normal, int timeoutMs) {
+    if (changed(FWD_LIMIT_SOURCE, ((long) source.ordinal() << 32) | normal.ordinal()))
+      talon.configForwardLimitSwitchSource(source, normal, timeoutMs);
+  }
+
+  public void configReverseLimitSwitchSource(
+      LimitSwitchSource source, LimitSwitchNormal normal, int timeoutMs) {
+    if (changed(REV_LIMIT_SOURCE, ((long) source.ordinal() << 32) | normal.ordinal()))
+      talon.configReverseLimitSwitchSource(source, normal, timeoutMs);
+  }
+
+  public void selectProfileSlot(int slotIdx, int pidIdx) {
+    if (changed(PROFILE_SLOT, ((long) pidIdx << 32) | slotIdx))
+      talon.selectProfileSlot(slotIdx, pidIdx);
+  }
+
+  public void config_kP(int slotIdx, double value, int timeoutMs) {
+    if (changed(KP + slotIdx, value)) talon.config_kP(slotIdx, value, timeoutMs);
+  }
+
+  public void config_kI(int slotIdx, double value, int timeoutMs) {
+    if (changed(KI + slotIdx, value)) talon.config_kI(slotIdx, value, timeoutMs);
+  }
+
+  public void config_kD(int slotIdx, double value, int timeoutMs) {
+    if (changed(KD + slotIdx, value)) talon.config_kD(slotIdx, value, timeoutMs);
+  }
+
+  public void config_kF(int slotIdx, double value, int timeoutMs) {
+    if (changed(KF + slotIdx, value)) talon.config_kF(slotIdx, value, timeoutMs);
+  }
+
+  public void configMotionCruiseVelocity(int sensorUnitsPer100ms, int timeoutMs) {
+    if (changed(CRUISE_VELOCITY, sensorUnitsPer100ms))
+      talon.configMotionCruiseVelocity(sensorUnitsPer100ms, timeoutMs);
+  }
+
+  public void configMotionAcceleration(int sensorUnitsPer100msPerSec, int timeoutMs) {
+    if (changed(ACCELERATION, sensorUnitsPer100msPerSec))
+      talon.configMotionAcceleration(sensorUnitsPer100msPerSec, timeoutMs);
+  }
+
+  // sensor resets are actions, not state - never cached
+  public void setSelectedSensorPosition(int sensorPos, int pidIdx, int timeoutMs) {
+    talon.setSelectedSensorPosition(sensorPos, pidIdx, timeoutMs);
+  }
+
+  // set once at startup - not cached
+  public void setStatusFramePeriod(StatusFrameEnhanced frame, int periodMs, int timeoutMs) {
+    talon.setStatusFramePeriod(frame, periodMs, timeoutMs);
+  }
+
+  // streaming and buffer operations are actions, not state - never cached (the controller's own
+  // buffers are thread-safe, so these may be called from a streaming thread)
+  public void pushMotionProfileTrajectory(TrajectoryPoint point) {
+    talon.pushMotionProfileTrajectory(point);
+  }
+
+  public void processMotionProfileBuffer() {
+    talon.processMotionProfileBuffer();
+  }
+
+  public void getMotionProfileStatus(MotionProfileStatus status) {
+    talon.getMotionProfileStatus(status);
+  }
+
+  public void clearMotionProfileTrajectories() {
+    talon.clearMotionProfileTrajectories();
+  }
+
+  public void clearMotionProfileHasUnderrun(int timeoutMs) {
+    talon.clearMotionProfileHasUnderrun(timeoutMs);
+  }
+
+  public void changeMotionControlFramePeriod(int periodMs) {
+    if (changed(MOTION_FRAME_PERIOD, periodMs)) talon.changeMotionControlFramePeriod(periodMs);
+  }
+
+  public void configMotionProfileTrajectoryPeriod(int baseTrajDurationMs, int timeoutMs) {
+    if (changed(PROFILE_BASE_PERIOD, baseTrajDurationMs))
+      talon.configMotionProfileTrajectoryPeriod(baseTrajDurationMs, timeoutMs);
+  }
+
+  public int getSelectedSensorPosition(int pidIdx) {
+    return talon.getSelectedSensorPosition(pidIdx);
+  }
+
+  public int getSelectedSensorVelocity(int pidIdx) {
+    return talon.getSelectedSensorVelocity(pidIdx);
+  }
+
+  public double getMotorOutputPercent() {
+    return talon.getMotorOutputPercent();
+  }
+
+  public double getBusVoltage() {
+    return talon.getBusVoltage();
+  }
+
+  public boolean isFwdLimitSwitchClosed() {
+    return talon.isFwdLimitSwitchClosed();
+  }
+
+  public boolean isRevLimitSwitchClosed() {
+    return talon.isRevLimitSwitchClosed();
+  }
+}
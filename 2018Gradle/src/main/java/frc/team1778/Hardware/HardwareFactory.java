@@ -0,0 +1,69 @@
+package frc.team1778.Hardware;
+
+import edu.wpi.first.wpilibj.PIDOutput;
+import edu.wpi.first.wpilibj.PIDSource;
+import edu.wpi.first.wpilibj.RobotController;
+
+// Creates the robot's motor controllers, sensors, joysticks, PID loops and notifiers - real
+// CTRE/WPILib/navX devices on the robot, in-process simulated devices (see SimHardware) for desktop
+// runs and benchmarks. Simulated runs need no native libraries (NetworkTables is skipped as well).
+// Simulation is selected with -Dfrc1778.simulate=true or setSimulated(true), before any subsystem
+// is initialized.
+// Motor controllers are wrapped in write-through command caches (see MotorCommandCache).
+public class HardwareFactory {
+
+  private static boolean simulated = Boolean.getBoolean("frc1778.simulate");
+
+  public static void setSimulated(boolean value) {
+    simulated = value;
+  }
+
+  public static boolean isSimulated() {
+    return simulated;
+  }
+
+  public static CANMotorController createTalonSRX(int deviceID) {
+    if (simulated) return new CachedTalonSRX(SimHardware.createTalonSRX(deviceID));
+    return new CachedTalonSRX(new CTRETalonSRX(deviceID));
+  }
+
+  // the controller behind a Talon's command cache - for threads other than the main robot thread,
+  // which must not go through the cache (see MotorCommandCache)
+  public static CANMotorController getUncached(CANMotorController talon) {
+    if (talon instanceof CachedTalonSRX) return ((CachedTalonSRX) talon).getController();
+    return talon;
+  }
+
+  public static PWMMotorController createSpark(int channel) {
+    if (simulated) return new CachedSpark(SimHardware.createSpark(channel));
+    return new CachedSpark(new WPISpark(channel));
+  }
+
+  public static IMUSensor createIMU() {
+    if (simulated) return SimHardware.createIMU();
+    return new NavXAHRS();
+  }
+
+  public static JoystickInput createJoystick(int port) {
+    if (simulated) return SimHardware.createJoystick(port);
+    return new WPIJoystick(port);
+  }
+
+  public static PIDLoop createPIDController(
+      double kP, double kI, double kD, double kF, PIDSource source, PIDOutput output) {
+    if (simulated) return SimHardware.createPIDController(kP, kI, kD, kF, source, output);
+    return new WPIPIDController(kP, kI, kD, kF, source, output);
+  }
+
+  // task run every period on its own thread at a real-time priority (1-99, 0 - normal priority)
+  public static PeriodicTask createNotifier(Runnable task, int realTimePriority) {
+    if (simulated) return SimHardware.createNotifier(task);
+    return new WPINotifier(task, realTimePriority);
+  }
+
+  // FPGA time (usec) - simulated time when running with simulated hardware
+  public static long getFPGATime() {
+    if (simulated) return SimHardware.getTimeUs();
+    return RobotController.getFPGATime();
+  }
+}
@@ -0,0 +1,30 @@
+package frc.team1778.Hardware;
+
+import edu.wpi.first.wpilibj.PIDSource;
+
+// Inertial measurement unit (navX) - also a PID source (yaw) for the turn controller
+public interface IMUSensor extends PIDSource {
+
+  public void reset();
+
+  public void resetDisplacement();
+
+  public void zeroYaw();
+
+  // continuous yaw angle (deg, can be larger than 360 deg)
+  public double getAngle();
+
+  // yaw rate (deg/sec)
+  public double getRate();
+
+  // yaw angle (-180 deg to +180 deg)
+  public float getYaw();
+
+  public float getRoll();
+
+  public float getPitch();
+
+  public boolean isConnected();
+
+  public boolean isCalibrating();
+}
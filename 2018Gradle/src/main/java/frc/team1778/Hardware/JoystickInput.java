@@ -0,0 +1,9 @@
+package frc.team1778.Hardware;
+
+// Driver station joystick/gamepad
+public interface JoystickInput {
+
+  public double getRawAxis(int axis);
+
+  public boolean getRawButton(int button);
+}
@@ -0,0 +1,130 @@
+package frc.team1778.Hardware;
+
+import frc.team1778.NetworkComm.InputOutputComm;
+import java.util.Arrays;
+
+// Settings and statistics for the write-through command caches (CachedTalonSRX, CachedSpark).
+// A cached device only passes a command on when it differs from the last one sent, or when the
+// last send is older than the forced-refresh interval (so a controller that missed or lost a
+// command - e.g. after a brownout reset - is brought back in line).
+// The caches and their statistics are not thread-safe: commands only go through them from the
+// main robot thread. Other threads (the path follower's notifier) command the controllers behind
+// the caches (HardwareFactory.getUncached), and the main thread invalidates the caches afterwards.
+public class MotorCommandCache {
+
+  // forced-refresh intervals (usec) - set-points, config values
+  private static long setpointRefreshUs = 100000;
+  private static long configRefreshUs = 1000000;
+
+  private static boolean enabled = true;
+
+  // bumped to make every cache forget what it has sent
+  private static int generation = 0;
+
+  // robot loop timestamp (usec) - set once per cycle, so the caches never read the clock
+  private static long cycleTimeUs = 0;
+
+  // statistics
+  private static long sentCount = 0;
+  private static long suppressedCount = 0;
+
+  private static final long STATS_PERIOD_US = 1000000;
+  private static long nextStatsUs = 0;
+  private static InputOutputComm.IntHandle sentHandle, suppressedHandle;
+
+  public static void setEnabled(boolean value) {
+    enabled = value;
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  public static void setRefreshIntervals(long setpointUs, long configUs) {
+    setpointRefreshUs = setpointUs;
+    configRefreshUs = configUs;
+  }
+
+  // call at the top of each robot loop
+  public static void startCycle(long timeUs) {
+    cycleTimeUs = timeUs;
+
+    if (timeUs >= nextStatsUs) {
+      nextStatsUs = timeUs + STATS_PERIOD_US;
+      publishStats();
+    }
+  }
+
+  // next command and config write to every device always goes out (call on robot mode changes)
+  public static void invalidateAll() {
+    generation++;
+  }
+
+  public static long getSentCount() {
+    return sentCount;
+  }
+
+  public static long getSuppressedCount() {
+    return suppressedCount;
+  }
+
+  public static void resetCounters() {
+    sentCount = 0;
+    suppressedCount = 0;
+  }
+
+  private static void publishStats() {
+    if (sentHandle == null) {
+      sentHandle =
+          InputOutputComm.registerInt(InputOutputComm.LogTable.kMainLog, "Motors/CommandsSent");
+      suppressedHandle =
+          InputOutputComm.registerInt(
+              InputOutputComm.LogTable.kMainLog, "Motors/CommandsSuppressed");
+    }
+    sentHandle.set((int) sentCount);
+    suppressedHandle.set((int) suppressedCount);
+  }
+
+  // last value sent (as raw bits) and send time of each command/config slot of one device
+  static class Slots {
+    private final long[] lastValues;
+    private final long[] lastSendUs;
+    private int slotsGeneration;
+
+    Slots(int numSlots) {
+      lastValues = new long[numSlots];
+      lastSendUs = new long[numSlots];
+      invalidate();
+    }
+
+    // forget everything sent (next command always goes out)
+    void invalidate() {
+      Arrays.fill(lastSendUs, Long.MIN_VALUE);
+      slotsGeneration = generation;
+    }
+
+    void invalidate(int slot) {
+      lastSendUs[slot] = Long.MIN_VALUE;
+    }
+
+    // true if a command with this value must go out - records it as sent
+    boolean checkSend(int slot, long value, boolean config) {
+      if (slotsGeneration != generation) invalidate();
+
+      long refreshUs = config ? configRefreshUs : setpointRefreshUs;
+
+      if (enabled
+          && (lastSendUs[slot] != Long.MIN_VALUE)
+          && (lastValues[slot] == value)
+          && ((refreshUs <= 0) || (cycleTimeUs - lastSendUs[slot] < refreshUs))) {
+        suppressedCount++;
+        return false;
+      }
+
+      lastValues[slot] = value;
+      lastSendUs[slot] = cycleTimeUs;
+      sentCount++;
+      return true;
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package frc.team1778.Hardware;
+
+import com.kauailabs.navx.frc.AHRS;
+import edu.wpi.first.wpilibj.PIDSourceType;
+import edu.wpi.first.wpilibj.SPI;
+
+// real navX MXP on the SPI port
+public class NavXAHRS implements IMUSensor {
+
+  // sample rate (Hz) - fast enough for the odometry thread (Odometry), up to 200 on SPI
+  private static final byte UPDATE_RATE_HZ = 100;
+
+  private final AHRS ahrs;
+
+  public NavXAHRS() {
+    ahrs = new AHRS(SPI.Port.kMXP, UPDATE_RATE_HZ);
+  }
+
+  // underlying navX object (for features not covered by IMUSensor)
+  public AHRS getAHRS() {
+    return ahrs;
+  }
+
+  public void reset() {
+    ahrs.reset();
+  }
+
+  public void resetDisplacement() {
+    ahrs.resetDisplacement();
+  }
+
+  public void zeroYaw() {
+    ahrs.zeroYaw();
+  }
+
+  public double getAngle() {
+    return ahrs.getAngle();
+  }
+
+  public double getRate() {
+    return ahrs.getRate();
+  }
+
+  public float getYaw() {
+    return ahrs.getYaw();
+  }
+
+  public float getRoll() {
+    return ahrs.getRoll();
+  }
+
+  public float getPitch() {
+    return ahrs.getPitch();
+  }
+
+  public boolean isConnected() {
+    return ahrs.isConnected();
+  }
+
+  public boolean isCalibrating() {
+    return ahrs.isCalibrating();
+  }
+
+  public void setPIDSourceType(PIDSourceType pidSource) {
+    ahrs.setPIDSourceType(pidSource);
+  }
+
+  public PIDSourceType getPIDSourceType() {
+    return ahrs.getPIDSourceType();
+  }
+
+  public double pidGet() {
+    return ahrs.pidGet();
+  }
+}
@@ -0,0 +1,17 @@
+package frc.team1778.Hardware;
+
+// Background PID loop (WPILib PIDController style) - reads a PIDSource, writes a PIDOutput
+public interface PIDLoop {
+
+  public void setInputRange(double minimumInput, double maximumInput);
+
+  public void setOutputRange(double minimumOutput, double maximumOutput);
+
+  public void setContinuous(boolean continuous);
+
+  public void setSetpoint(double setpoint);
+
+  public void enable();
+
+  public void disable();
+}
@@ -0,0 +1,11 @@
+package frc.team1778.Hardware;
+
+// Open-loop (PWM) motor controller, e.g. a Spark
+public interface PWMMotorController {
+
+  public void set(double speed);
+
+  public double get();
+
+  public void setInverted(boolean isInverted);
+}
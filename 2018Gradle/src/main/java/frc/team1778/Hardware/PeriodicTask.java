@@ -0,0 +1,9 @@
+package frc.team1778.Hardware;
+
+// Task run periodically on its own thread (WPILib Notifier style), off the robot loop
+public interface PeriodicTask {
+
+  public void startPeriodic(double periodSec);
+
+  public void stop();
+}
@@ -0,0 +1,168 @@
+package frc.team1778.Hardware;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import edu.wpi.first.wpilibj.PIDOutput;
+import edu.wpi.first.wpilibj.PIDSource;
+import java.util.ArrayList;
+
+// Registry and clock for the simulated devices (including joysticks, PID loops and notifiers).
+// Simulated time only moves when step() is called, so the robot loop can run headless as fast as
+// the host allows: call the periodic methods, then step(20000) to advance one 20 ms cycle.
+public class SimHardware {
+
+  private static final int MAX_CAN_ID = 63;
+  private static final int MAX_PWM_CHANNEL = 19;
+
+  private static final SimTalonSRX[] talons = new SimTalonSRX[MAX_CAN_ID + 1];
+  private static final SimSpark[] sparks = new SimSpark[MAX_PWM_CHANNEL + 1];
+  private static final ArrayList<SimTalonSRX> talonList = new ArrayList<SimTalonSRX>();
+  private static final ArrayList<SimJoystick> joysticks = new ArrayList<SimJoystick>();
+  private static final ArrayList<SimPIDController> pidLoops = new ArrayList<SimPIDController>();
+  private static final ArrayList<SimNotifier> notifiers = new ArrayList<SimNotifier>();
+  private static SimIMU imu;
+
+  private static long timeUs = 0;
+
+  // optional drivetrain coupling - IMU rate follows the left/right wheel speed difference
+  private static int leftDriveID = -1, rightDriveID = -1;
+  private static double unitsPerDegree = 0.0;
+
+  static SimTalonSRX createTalonSRX(int deviceID) {
+    if (talons[deviceID] == null) {
+      talons[deviceID] = new SimTalonSRX(deviceID);
+      talonList.add(talons[deviceID]);
+    }
+    return talons[deviceID];
+  }
+
+  static SimSpark createSpark(int channel) {
+    if (sparks[channel] == null) sparks[channel] = new SimSpark(channel);
+    return sparks[channel];
+  }
+
+  static SimIMU createIMU() {
+    if (imu == null) imu = new SimIMU();
+    return imu;
+  }
+
+  static SimJoystick createJoystick(int port) {
+    for (int i = 0; i < joysticks.size(); i++) {
+      if (joysticks.get(i).getPort() == port) return joysticks.get(i);
+    }
+    SimJoystick joystick = new SimJoystick(port);
+    joysticks.add(joystick);
+    return joystick;
+  }
+
+  static SimPIDController createPIDController(
+      double kP, double kI, double kD, double kF, PIDSource source, PIDOutput output) {
+    SimPIDController pidLoop = new SimPIDController(kP, kI, kD, kF, source, output);
+    pidLoops.add(pidLoop);
+    return pidLoop;
+  }
+
+  static SimNotifier createNotifier(Runnable task) {
+    SimNotifier notifier = new SimNotifier(task);
+    notifiers.add(notifier);
+    return notifier;
+  }
+
+  public static SimTalonSRX getTalonSRX(int deviceID) {
+    return talons[deviceID];
+  }
+
+  public static SimSpark getSpark(int channel) {
+    return sparks[channel];
+  }
+
+  public static SimIMU getIMU() {
+    return imu;
+  }
+
+  // joystick on a driver station port (created on first use)
+  public static SimJoystick getJoystick(int port) {
+    return createJoystick(port);
+  }
+
+  // simulated FPGA time (usec)
+  public static long getTimeUs() {
+    return timeUs;
+  }
+
+  // drives the simulated IMU from two drive talons (sensor units of wheel travel per deg of turn)
+  public static void coupleDrivetrain(int leftTalonID, int rightTalonID, double unitsPerDeg) {
+    leftDriveID = leftTalonID;
+    rightDriveID = rightTalonID;
+    unitsPerDegree = unitsPerDeg;
+  }
+
+  // advance all simulated devices and the clock - notifiers due during the step run at their own
+  // time, with the devices advanced up to it
+  public static void step(long dtUs) {
+    long endUs = timeUs + dtUs;
+    do {
+      long nextUs = endUs;
+      for (int i = 0; i < notifiers.size(); i++)
+        nextUs = Math.min(nextUs, notifiers.get(i).getNextRunUs());
+
+      if (nextUs > timeUs) advance(nextUs - timeUs);
+      for (int i = 0; i < notifiers.size(); i++) notifiers.get(i).runIfDue(timeUs);
+    } while (timeUs < endUs);
+  }
+
+  private static void advance(long dtUs) {
+    double dtSec = dtUs * 1e-6;
+
+    // leaders first, so followers pick up this cycle's output
+    for (int i = 0; i < talonList.size(); i++) {
+      SimTalonSRX talon = talonList.get(i);
+      if (talon.getControlMode() != ControlMode.Follower) talon.step(dtSec, 0.0);
+    }
+    for (int i = 0; i < talonList.size(); i++) {
+      SimTalonSRX talon = talonList.get(i);
+      if (talon.getControlMode() == ControlMode.Follower) {
+        SimTalonSRX leader = talons[(int) talon.getDemand()];
+        talon.step(dtSec, (leader != null) ? leader.getOutput() : 0.0);
+      }
+    }
+
+    if (imu != null) {
+      if (unitsPerDegree > 0.0) {
+        SimTalonSRX left = talons[leftDriveID];
+        SimTalonSRX right = talons[rightDriveID];
+        // clockwise (positive) when the left side runs faster
+        imu.setRate((left.getVelocity() - right.getVelocity()) * 10.0 / unitsPerDegree);
+      }
+      imu.step(dtSec);
+    }
+
+    timeUs += dtUs;
+
+    for (int i = 0; i < pidLoops.size(); i++) pidLoops.get(i).step(timeUs);
+  }
+
+  // clear bus traffic counters on all devices
+  public static void resetCounters() {
+    for (int i = 0; i < talonList.size(); i++) talonList.get(i).resetCounters();
+    for (int i = 0; i <= MAX_PWM_CHANNEL; i++) if (sparks[i] != null) sparks[i].resetCounters();
+  }
+
+  public static long getTotalFrameCount() {
+    long count = 0;
+    for (int i = 0; i < talonList.size(); i++) count += talonList.get(i).getFrameCount();
+    return count;
+  }
+
+  public static long getTotalSparkSetCount() {
+    long count = 0;
+    for (int i = 0; i <= MAX_PWM_CHANNEL; i++)
+      if (sparks[i] != null) count += sparks[i].getSetCount();
+    return count;
+  }
+
+  public static long getTotalReadCount() {
+    long count = 0;
+    for (int i = 0; i < talonList.size(); i++) count += talonList.get(i).getReadCount();
+    return count;
+  }
+}
@@ -0,0 +1,95 @@
+package frc.team1778.Hardware;
+
+import edu.wpi.first.wpilibj.PIDSourceType;
+
+// In-process simulated navX - yaw is integrated from a commanded (or drivetrain-derived) rate.
+// Read from the PID controller thread, so the heading is kept in volatile fields.
+public class SimIMU implements IMUSensor {
+
+  private volatile double rawAngle = 0.0; // deg, continuous
+  private volatile double rate = 0.0; // deg/sec
+  private volatile double yawOffset = 0.0;
+  private volatile float pitch = 0f;
+  private volatile float roll = 0f;
+  private boolean connected = true;
+  private PIDSourceType pidSourceType = PIDSourceType.kDisplacement;
+
+  // advance the heading by dtSec - called by SimHardware
+  void step(double dtSec) {
+    rawAngle += rate * dtSec;
+  }
+
+  public void setRate(double degPerSec) {
+    rate = degPerSec;
+  }
+
+  public void setAngle(double angleDeg) {
+    rawAngle = angleDeg + yawOffset;
+  }
+
+  public void setPitch(float pitchDeg) {
+    pitch = pitchDeg;
+  }
+
+  public void setRoll(float rollDeg) {
+    roll = rollDeg;
+  }
+
+  public void setConnected(boolean isConnected) {
+    connected = isConnected;
+  }
+
+  /** *********************** IMUSensor ********************************* */
+  public void reset() {
+    zeroYaw();
+  }
+
+  public void resetDisplacement() {}
+
+  public void zeroYaw() {
+    yawOffset = rawAngle;
+  }
+
+  public double getAngle() {
+    return rawAngle - yawOffset;
+  }
+
+  public double getRate() {
+    return rate;
+  }
+
+  public float getYaw() {
+    double yaw = getAngle() % 360.0;
+    if (yaw > 180.0) yaw -= 360.0;
+    else if (yaw < -180.0) yaw += 360.0;
+    return (float) yaw;
+  }
+
+  public float getRoll() {
+    return roll;
+  }
+
+  public float getPitch() {
+    return pitch;
+  }
+
+  public boolean isConnected() {
+    return connected;
+  }
+
+  public boolean isCalibrating() {
+    return false;
+  }
+
+  public void setPIDSourceType(PIDSourceType pidSource) {
+    pidSourceType = pidSource;
+  }
+
+  public PIDSourceType getPIDSourceType() {
+    return pidSourceType;
+  }
+
+  public double pidGet() {
+    return (pidSourceType == PIDSourceType.kRate) ? getRate() : getYaw();
+  }
+}
@@ -0,0 +1,36 @@
+package frc.team1778.Hardware;
+
+// In-process simulated joystick - axes and buttons are set by the test or simulator
+public class SimJoystick implements JoystickInput {
+
+  private static final int MAX_AXES = 12;
+  private static final int MAX_BUTTONS = 32;
+
+  private final int port;
+  private final double[] axes = new double[MAX_AXES];
+  private final boolean[] buttons = new boolean[MAX_BUTTONS + 1]; // buttons are 1-based
+
+  public SimJoystick(int port) {
+    this.port = port;
+  }
+
+  public int getPort() {
+    return port;
+  }
+
+  public void setRawAxis(int axis, double value) {
+    axes[axis] = value;
+  }
+
+  public void setRawButton(int button, boolean pressed) {
+    buttons[button] = pressed;
+  }
+
+  public double getRawAxis(int axis) {
+    return axes[axis];
+  }
+
+  public boolean getRawButton(int button) {
+    return buttons[button];
+  }
+}
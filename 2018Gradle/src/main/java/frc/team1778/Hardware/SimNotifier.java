@@ -0,0 +1,40 @@
+package frc.team1778.Hardware;
+
+// Simulated notifier - the task is run from SimHardware.step() at its period of simulated time
+// (with the simulated devices advanced to that time) instead of on a thread
+public class SimNotifier implements PeriodicTask {
+
+  private final Runnable task;
+  private boolean running = false;
+  private long periodUs = 0;
+  private long nextRunUs = Long.MAX_VALUE;
+
+  public SimNotifier(Runnable task) {
+    this.task = task;
+  }
+
+  public void startPeriodic(double periodSec) {
+    periodUs = Math.max(1, (long) (periodSec * 1e6));
+    nextRunUs = SimHardware.getTimeUs() + periodUs;
+    running = true;
+  }
+
+  public void stop() {
+    running = false;
+    nextRunUs = Long.MAX_VALUE;
+  }
+
+  // simulated time of the next run (Long.MAX_VALUE if stopped)
+  long getNextRunUs() {
+    return nextRunUs;
+  }
+
+  // called by SimHardware - runs the task if it is due (once - a late notifier skips the missed
+  // runs, like the real one)
+  void runIfDue(long timeUs) {
+    if (!running || (timeUs < nextRunUs)) return;
+
+    while (nextRunUs <= timeUs) nextRunUs += periodUs;
+    task.run();
+  }
+}
@@ -0,0 +1,104 @@
+package frc.team1778.Hardware;
+
+import edu.wpi.first.wpilibj.PIDOutput;
+import edu.wpi.first.wpilibj.PIDSource;
+
+// Simulated PID controller - same math as the WPILib PIDController, but calculated from
+// SimHardware.step() at its period of simulated time instead of on a Notifier thread
+public class SimPIDController implements PIDLoop {
+
+  // WPILib default PID period
+  public static final long PERIOD_US = 50000;
+
+  private final double kP, kI, kD, kF;
+  private final PIDSource source;
+  private final PIDOutput output;
+
+  private double minimumInput = 0.0, maximumInput = 0.0;
+  private double minimumOutput = -1.0, maximumOutput = 1.0;
+  private boolean continuous = false;
+  private boolean enabled = false;
+  private double setpoint = 0.0;
+  private double prevError = 0.0;
+  private double totalError = 0.0;
+  private long nextCalcUs = 0;
+
+  public SimPIDController(
+      double kP, double kI, double kD, double kF, PIDSource source, PIDOutput output) {
+    this.kP = kP;
+    this.kI = kI;
+    this.kD = kD;
+    this.kF = kF;
+    this.source = source;
+    this.output = output;
+  }
+
+  // called by SimHardware every step
+  void step(long timeUs) {
+    if (timeUs < nextCalcUs) return;
+    nextCalcUs = timeUs + PERIOD_US;
+
+    if (enabled) calculate();
+  }
+
+  private void calculate() {
+    double error = getContinuousError(setpoint - source.pidGet());
+
+    if (kI != 0.0) {
+      double potentialIGain = (totalError + error) * kI;
+      if (potentialIGain < maximumOutput) {
+        if (potentialIGain > minimumOutput) totalError += error;
+        else totalError = minimumOutput / kI;
+      } else {
+        totalError = maximumOutput / kI;
+      }
+    }
+
+    double result = kP * error + kI * totalError + kD * (error - prevError) + kF * setpoint;
+    prevError = error;
+
+    result = Math.max(minimumOutput, Math.min(maximumOutput, result));
+    output.pidWrite(result);
+  }
+
+  private double getContinuousError(double error) {
+    double inputRange = maximumInput - minimumInput;
+    if (continuous && (inputRange > 0)) {
+      error %= inputRange;
+      if (Math.abs(error) > inputRange / 2) {
+        if (error > 0) error -= inputRange;
+        else error += inputRange;
+      }
+    }
+    return error;
+  }
+
+  public void setInputRange(double minimumInput, double maximumInput) {
+    this.minimumInput = minimumInput;
+    this.maximumInput = maximumInput;
+  }
+
+  public void setOutputRange(double minimumOutput, double maximumOutput) {
+    this.minimumOutput = minimumOutput;
+    this.maximumOutput = maximumOutput;
+  }
+
+  public void setContinuous(boolean continuous) {
+    this.continuous = continuous;
+  }
+
+  public void setSetpoint(double setpoint) {
+    this.setpoint = setpoint;
+  }
+
+  public void enable() {
+    enabled = true;
+  }
+
+  public void disable() {
+    if (enabled) output.pidWrite(0.0);
+    enabled = false;
+    prevError = 0.0;
+    totalError = 0.0;
+  }
+}
@@ -0,0 +1,43 @@
+package frc.team1778.Hardware;
+
+// In-process simulated Spark - just remembers its last command
+public class SimSpark implements PWMMotorController {
+
+  private final int channel;
+  private double speed = 0.0;
+  private boolean inverted = false;
+  private long setCount = 0;
+
+  public SimSpark(int channel) {
+    this.channel = channel;
+  }
+
+  public int getChannel() {
+    return channel;
+  }
+
+  public boolean getInverted() {
+    return inverted;
+  }
+
+  public long getSetCount() {
+    return setCount;
+  }
+
+  public void resetCounters() {
+    setCount = 0;
+  }
+
+  public void set(double speed) {
+    setCount++;
+    this.speed = speed;
+  }
+
+  public double get() {
+    return speed;
+  }
+
+  public void setInverted(boolean isInverted) {
+    inverted = isInverted;
+  }
+}
@@ -0,0 +1,495 @@
+package frc.team1778.Hardware;
+
+import com.ctre.phoenix.motion.MotionProfileStatus;
+import com.ctre.phoenix.motion.SetValueMotionProfile;
+import com.ctre.phoenix.motion.TrajectoryPoint;
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.FeedbackDevice;
+import com.ctre.phoenix.motorcontrol.LimitSwitchNormal;
+import com.ctre.phoenix.motorcontrol.LimitSwitchSource;
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
+
+// In-process simulated TalonSRX with a first-order motor model.
+// The sensor always reads in the commanded direction (sensor phase assumed correct).
+// Every command/config call counts as one CAN frame, every sensor read as one read.
+// Motion profiles run from a top-level buffer (filled by push) and the Talon's own buffer (one
+// point moved per processMotionProfileBuffer call, one CAN frame each), executing each point for
+// its duration with the closed loop of the point's slot (kP on position, kF on velocity).
+public class SimTalonSRX implements CANMotorController {
+
+  // default mechanism free speed (sensor units per 100 ms at full output)
+  public static final double DEFAULT_FREE_SPEED = 800.0;
+  private static final double TIME_CONSTANT_SEC = 0.1;
+  private static final double COAST_TIME_CONSTANT_SEC = 0.5;
+  private static final int NUM_SLOTS = 4;
+
+  private final int deviceID;
+
+  // commanded state
+  private ControlMode mode = ControlMode.PercentOutput;
+  private double demand = 0.0;
+  private boolean inverted = false;
+  private boolean sensorPhase = false;
+  private NeutralMode neutralMode = NeutralMode.Coast;
+  private int profileSlot = 0;
+  private final double[] kP = new double[NUM_SLOTS];
+  private final double[] kI = new double[NUM_SLOTS];
+  private final double[] kD = new double[NUM_SLOTS];
+  private final double[] kF = new double[NUM_SLOTS];
+  private int cruiseVelocity = 0;
+  private int acceleration = 0;
+  private int profileBaseMs = 0;
+
+  // motion profile buffers and the point being executed
+  public static final int TOP_BUFFER_SIZE = 2048;
+  public static final int BOTTOM_BUFFER_SIZE = 128;
+  private final ProfileBuffer topBuffer = new ProfileBuffer(TOP_BUFFER_SIZE);
+  private final ProfileBuffer bottomBuffer = new ProfileBuffer(BOTTOM_BUFFER_SIZE);
+  private boolean activeValid = false;
+  private double activePosition = 0.0;
+  private double activeVelocity = 0.0;
+  private int activeSlot = 0;
+  private boolean activeLast = false;
+  private int activeDurationMs = 0;
+  private double activeElapsedSec = 0.0;
+  private boolean hasUnderrun = false;
+  private boolean isUnderrun = false;
+
+  // simulated mechanism
+  private double freeSpeedUnitsPer100ms = DEFAULT_FREE_SPEED;
+  private double output = 0.0; // percent output
+  private double position = 0.0; // sensor units
+  private double velocity = 0.0; // sensor units per 100 ms
+  private boolean fwdLimitClosed = false;
+  private boolean revLimitClosed = false;
+  private double busVoltage = 12.0;
+
+  // bus traffic counters
+  private long frameCount = 0;
+  private long readCount = 0;
+
+  public SimTalonSRX(int deviceID) {
+    this.deviceID = deviceID;
+  }
+
+  /** *********************** simulation control ********************************* */
+
+  // advance the motor model by dtSec - called by SimHardware
+  void step(double dtSec, double leaderOutput) {
+    double targetVelocity;
+
+    switch (mode) {
+      case PercentOutput:
+        output = demand;
+        targetVelocity = output * freeSpeedUnitsPer100ms;
+        break;
+      case Follower:
+        output = leaderOutput;
+        targetVelocity = output * freeSpeedUnitsPer100ms;
+        break;
+      case Position:
+        // Talon closed loop output is 1023 at full output
+        output = (kP[profileSlot] * (demand - position) + kF[profileSlot] * demand) / 1023.0;
+        targetVelocity = clamp(output) * freeSpeedUnitsPer100ms;
+        break;
+      case Velocity:
+        output = demand / freeSpeedUnitsPer100ms;
+        targetVelocity = demand;
+        break;
+      case MotionMagic:
+        stepMotionMagic(dtSec);
+        return;
+      case MotionProfile:
+        output = motionProfileOutput(dtSec);
+        targetVelocity = clamp(output) * freeSpeedUnitsPer100ms;
+        break;
+      default:
+        output = 0.0;
+        targetVelocity = 0.0;
+    }
+
+    output = clamp(output);
+    // limit switches block the motor's own direction (after inversion), like the real Talon
+    double motorOutput = inverted ? -output : output;
+    if ((motorOutput > 0) && fwdLimitClosed) output = 0.0;
+    if ((motorOutput < 0) && revLimitClosed) output = 0.0;
+    if (output == 0.0) targetVelocity = 0.0;
+
+    double tau =
+        ((output == 0.0) && (neutralMode != NeutralMode.Brake))
+            ? COAST_TIME_CONSTANT_SEC
+            : TIME_CONSTANT_SEC;
+    velocity += (targetVelocity - velocity) * Math.min(1.0, dtSec / tau);
+    position += velocity * 10.0 * dtSec;
+  }
+
+  // ideal trapezoidal motion magic - follows cruise velocity and acceleration exactly
+  private void stepMotionMagic(double dtSec) {
+    double error = demand - position;
+    double accelPerSec = acceleration * 10.0; // units/sec^2
+
+    // fastest speed we can still stop from before reaching the target (units per 100 ms)
+    double desiredVelocity =
+        Math.signum(error)
+            * Math.min(cruiseVelocity, Math.sqrt(2.0 * accelPerSec * Math.abs(error)) / 10.0);
+
+    double maxChange = acceleration * dtSec;
+    velocity += Math.max(-maxChange, Math.min(maxChange, desiredVelocity - velocity));
+
+    // don't overshoot the target on the last step
+    double move = velocity * 10.0 * dtSec;
+    if (Math.abs(move) > Math.abs(error)) {
+      move = error;
+      velocity = 0.0;
+    }
+    position += move;
+    output = clamp(velocity / freeSpeedUnitsPer100ms);
+  }
+
+  // closed loop on the active profile point - Disable is neutral, Hold keeps the active point
+  // without moving on, Enable moves through the points (an empty Talon buffer is an underrun,
+  // the active point is held until more arrive)
+  private double motionProfileOutput(double dtSec) {
+    int enable = (int) demand;
+    if (enable == SetValueMotionProfile.Disable.value) {
+      activeValid = false;
+      return 0.0;
+    }
+
+    boolean feedForward = false;
+    if (enable == SetValueMotionProfile.Enable.value) {
+      activeElapsedSec += dtSec;
+      while (!activeValid || (!activeLast && (activeElapsedSec >= activeDurationMs * 1e-3))) {
+        if (bottomBuffer.count == 0) {
+          isUnderrun = true;
+          hasUnderrun = true;
+          activeElapsedSec = Math.min(activeElapsedSec, activeDurationMs * 1e-3);
+          break;
+        }
+
+        activeElapsedSec = activeValid ? activeElapsedSec - activeDurationMs * 1e-3 : 0.0;
+        int i = bottomBuffer.head;
+        activePosition = bottomBuffer.position[i];
+        activeVelocity = bottomBuffer.velocity[i];
+        activeSlot = bottomBuffer.slot[i];
+        activeLast = bottomBuffer.last[i];
+        activeDurationMs = Math.max(1, bottomBuffer.durationMs[i] + profileBaseMs);
+        if (bottomBuffer.zeroPos[i]) position = 0.0;
+        bottomBuffer.remove();
+        activeValid = true;
+        isUnderrun = false;
+      }
+      feedForward = !isUnderrun;
+    }
+    if (!activeValid) return 0.0;
+
+    double closedLoop = kP[activeSlot] * (activePosition - position);
+    if (feedForward) closedLoop += kF[activeSlot] * activeVelocity;
+    return closedLoop / 1023.0;
+  }
+
+  private static double clamp(double value) {
+    return Math.max(-1.0, Math.min(1.0, value));
+  }
+
+  public void setFreeSpeed(double unitsPer100ms) {
+    freeSpeedUnitsPer100ms = unitsPer100ms;
+  }
+
+  public void setFwdLimitSwitchClosed(boolean closed) {
+    fwdLimitClosed = closed;
+  }
+
+  public void setRevLimitSwitchClosed(boolean closed) {
+    revLimitClosed = closed;
+  }
+
+  public void setBusVoltage(double volts) {
+    busVoltage = volts;
+  }
+
+  public ControlMode getControlMode() {
+    return mode;
+  }
+
+  public double getDemand() {
+    return demand;
+  }
+
+  public boolean getInverted() {
+    return inverted;
+  }
+
+  public boolean getSensorPhase() {
+    return sensorPhase;
+  }
+
+  public int getCruiseVelocity() {
+    return cruiseVelocity;
+  }
+
+  public int getAcceleration() {
+    return acceleration;
+  }
+
+  // current output without counting a bus read
+  public double getOutput() {
+    return output;
+  }
+
+  public double getPosition() {
+    return position;
+  }
+
+  public double getVelocity() {
+    return velocity;
+  }
+
+  public long getFrameCount() {
+    return frameCount;
+  }
+
+  public long getReadCount() {
+    return readCount;
+  }
+
+  public void resetCounters() {
+    frameCount = 0;
+    readCount = 0;
+  }
+
+  /** *********************** CANMotorController ********************************* */
+  public int getDeviceID() {
+    return deviceID;
+  }
+
+  public void set(ControlMode mode, double value) {
+    frameCount++;
+    this.mode = mode;
+    demand = value;
+  }
+
+  public void setInverted(boolean invert) {
+    frameCount++;
+    inverted = invert;
+  }
+
+  public void setSensorPhase(boolean phase) {
+    frameCount++;
+    sensorPhase = phase;
+  }
+
+  public void setNeutralMode(NeutralMode mode) {
+    frameCount++;
+    neutralMode = mode;
+  }
+
+  public void configSelectedFeedbackSensor(FeedbackDevice device, int pidIdx, int timeoutMs) {
+    frameCount++;
+  }
+
+  public void configContinuousCurrentLimit(int amps, int timeoutMs) {
+    frameCount++;
+  }
+
+  public void configPeakCurrentLimit(int amps, int timeoutMs) {
+    frameCount++;
+  }
+
+  public void enableCurrentLimit(boolean enable) {
+    frameCount++;
+  }
+
+  public void configForwardLimitSwitchSource(
+      LimitSwitchSource source, LimitSwitchNormal normal, int timeoutMs) {
+    frameCount++;
+  }
+
+  public void configReverseLimitSwitchSource(
+      LimitSwitchSource source, LimitSwitchNormal normal, int timeoutMs) {
+    frameCount++;
+  }
+
+  public void selectProfileSlot(int slotIdx, int pidIdx) {
+    frameCount++;
+    profileSlot = slotIdx;
+  }
+
+  public void config_kP(int slotIdx, double value, int timeoutMs) {
+    frameCount++;
+    kP[slotIdx] = value;
+  }
+
+  public void config_kI(int slotIdx, double value, int timeoutMs) {
+    frameCount++;
+    kI[slotIdx] = value;
+  }
+
+  public void config_kD(int slotIdx, double value, int timeoutMs) {
+    frameCount++;
+    kD[slotIdx] = value;
+  }
+
+  public void config_kF(int slotIdx, double value, int timeoutMs) {
+    frameCount++;
+    kF[slotIdx] = value;
+  }
+
+  public void configMotionCruiseVelocity(int sensorUnitsPer100ms, int timeoutMs) {
+    frameCount++;
+    cruiseVelocity = sensorUnitsPer100ms;
+  }
+
+  public void configMotionAcceleration(int sensorUnitsPer100msPerSec, int timeoutMs) {
+    frameCount++;
+    acceleration = sensorUnitsPer100msPerSec;
+  }
+
+  public void setSelectedSensorPosition(int sensorPos, int pidIdx, int timeoutMs) {
+    frameCount++;
+    position = sensorPos;
+  }
+
+  public void setStatusFramePeriod(StatusFrameEnhanced frame, int periodMs, int timeoutMs) {
+    frameCount++;
+  }
+
+  public void pushMotionProfileTrajectory(TrajectoryPoint point) {
+    if (topBuffer.count == TOP_BUFFER_SIZE) return; // buffer full - the point is dropped
+
+    topBuffer.add(
+        point.position,
+        point.velocity,
+        point.profileSlotSelect0,
+        point.isLastPoint,
+        point.zeroPos,
+        point.timeDur.value);
+  }
+
+  public void processMotionProfileBuffer() {
+    if ((topBuffer.count == 0) || (bottomBuffer.count == BOTTOM_BUFFER_SIZE)) return;
+
+    frameCount++;
+    int i = topBuffer.head;
+    bottomBuffer.add(
+        topBuffer.position[i],
+        topBuffer.velocity[i],
+        topBuffer.slot[i],
+        topBuffer.last[i],
+        topBuffer.zeroPos[i],
+        topBuffer.durationMs[i]);
+    topBuffer.remove();
+  }
+
+  public void getMotionProfileStatus(MotionProfileStatus status) {
+    readCount++;
+    status.topBufferRem = TOP_BUFFER_SIZE - topBuffer.count;
+    status.topBufferCnt = topBuffer.count;
+    status.btmBufferCnt = bottomBuffer.count;
+    status.hasUnderrun = hasUnderrun;
+    status.isUnderrun = isUnderrun;
+    status.activePointValid = activeValid;
+    status.isLast = activeValid && activeLast;
+    status.profileSlotSelect0 = activeSlot;
+    status.timeDurMs = activeDurationMs;
+    status.outputEnable =
+        (mode != ControlMode.MotionProfile)
+            ? SetValueMotionProfile.Disable
+            : SetValueMotionProfile.values()[(int) demand];
+  }
+
+  public void clearMotionProfileTrajectories() {
+    frameCount++;
+    topBuffer.clear();
+    bottomBuffer.clear();
+    activeValid = false;
+    isUnderrun = false;
+  }
+
+  public void clearMotionProfileHasUnderrun(int timeoutMs) {
+    frameCount++;
+    hasUnderrun = false;
+  }
+
+  public void changeMotionControlFramePeriod(int periodMs) {
+    frameCount++;
+  }
+
+  public void configMotionProfileTrajectoryPeriod(int baseTrajDurationMs, int timeoutMs) {
+    frameCount++;
+    profileBaseMs = baseTrajDurationMs;
+  }
+
+  public int getSelectedSensorPosition(int pidIdx) {
+    readCount++;
+    return (int) position;
+  }
+
+  public int getSelectedSensorVelocity(int pidIdx) {
+    readCount++;
+    return (int) velocity;
+  }
+
+  public double getMotorOutputPercent() {
+    readCount++;
+    return output;
+  }
+
+  public double getBusVoltage() {
+    readCount++;
+    return busVoltage;
+  }
+
+  public boolean isFwdLimitSwitchClosed() {
+    readCount++;
+    return fwdLimitClosed;
+  }
+
+  public boolean isRevLimitSwitchClosed() {
+    readCount++;
+    return revLimitClosed;
+  }
+
+  // fixed ring of profile points (parallel arrays, no allocation while streaming)
+  private static class ProfileBuffer {
+    final double[] position;
+    final double[] velocity;
+    final int[] slot;
+    final boolean[] last;
+    final boolean[] zeroPos;
+    final int[] durationMs;
+    int head = 0;
+    int count = 0;
+
+    ProfileBuffer(int size) {
+      position = new double[size];
+      velocity = new double[size];
+      slot = new int[size];
+      last = new boolean[size];
+      zeroPos = new boolean[size];
+      durationMs = new int[size];
+    }
+
+    void add(double pos, double vel, int slotIdx, boolean isLast, boolean zero, int durMs) {
+      int i = (head + count) % position.length;
+      position[i] = pos;
+      velocity[i] = vel;
+      slot[i] = slotIdx;
+      last[i] = isLast;
+      zeroPos[i] = zero;
+      durationMs[i] = durMs;
+      count++;
+    }
+
+    void remove() {
+      head = (head + 1) % position.length;
+      count--;
+    }
+
+    void clear() {
+      head = 0;
+      count = 0;
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package frc.team1778.Hardware;
+
+// Deferred hardware commands (e.g. "turn the brake motor off in half a second").
+// Commands run on the robot thread at the top of the first loop at or after their due time, so
+// they never race the periodic code for a motor. Each subsystem creates its commands once, at
+// init, and reschedules the same instance - scheduling a command that is still pending replaces
+// its due time (the newer request supersedes the older one), and cancel() drops it.
+public class TimedCommandScheduler {
+
+  private static final int MAX_COMMANDS = 16;
+
+  private static int numPending = 0;
+  private static final Runnable[] pendingCommands = new Runnable[MAX_COMMANDS];
+  private static final long[] dueTimesUs = new long[MAX_COMMANDS];
+
+  // run a command delaySec from now (replaces any pending run of the same command)
+  public static void schedule(Runnable command, double delaySec) {
+    long dueUs = HardwareFactory.getFPGATime() + (long) (delaySec * 1e6);
+
+    int index = indexOf(command);
+    if (index < 0) {
+      if (numPending >= MAX_COMMANDS) {
+        System.out.println("TimedCommandScheduler full - running command now!!");
+        command.run();
+        return;
+      }
+      index = numPending++;
+      pendingCommands[index] = command;
+    }
+    dueTimesUs[index] = dueUs;
+  }
+
+  // drop a pending command (no effect if it is not pending)
+  public static void cancel(Runnable command) {
+    int index = indexOf(command);
+    if (index >= 0) remove(index);
+  }
+
+  public static boolean isPending(Runnable command) {
+    return indexOf(command) >= 0;
+  }
+
+  // drop all pending commands
+  public static void cancelAll() {
+    while (numPending > 0) remove(numPending - 1);
+  }
+
+  // call at the top of each robot loop - runs every command that has come due
+  public static void run(long timeUs) {
+    int i = 0;
+    while (i < numPending) {
+      if (timeUs - dueTimesUs[i] >= 0) {
+        // remove first, so the command can reschedule itself
+        Runnable command = pendingCommands[i];
+        remove(i);
+        command.run();
+      } else {
+        i++;
+      }
+    }
+  }
+
+  private static int indexOf(Runnable command) {
+    for (int i = 0; i < numPending; i++) {
+      if (pendingCommands[i] == command) return i;
+    }
+    return -1;
+  }
+
+  // unordered remove - the last pending command takes the freed slot
+  private static void remove(int index) {
+    numPending--;
+    pendingCommands[index] = pendingCommands[numPending];
+    dueTimesUs[index] = dueTimesUs[numPending];
+    pendingCommands[numPending] = null;
+  }
+}
@@ -0,0 +1,21 @@
+package frc.team1778.Hardware;
+
+import edu.wpi.first.wpilibj.Joystick;
+
+// real joystick on a driver station USB port
+public class WPIJoystick implements JoystickInput {
+
+  private final Joystick joystick;
+
+  public WPIJoystick(int port) {
+    joystick = new Joystick(port);
+  }
+
+  public double getRawAxis(int axis) {
+    return joystick.getRawAxis(axis);
+  }
+
+  public boolean getRawButton(int button) {
+    return joystick.getRawButton(button);
+  }
+}
@@ -0,0 +1,39 @@
+package frc.team1778.Hardware;
+
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.Threads;
+
+// real WPILib Notifier - the task runs on the notifier's own thread, raised to real-time priority
+// (1-99, 0 leaves it at normal priority) the first time it runs
+public class WPINotifier implements PeriodicTask {
+
+  private final Notifier notifier;
+  private final int realTimePriority;
+  private boolean prioritySet = false; // notifier thread only
+
+  public WPINotifier(final Runnable task, int realTimePriority) {
+    this.realTimePriority = realTimePriority;
+    notifier =
+        new Notifier(
+            new Runnable() {
+              public void run() {
+                if (!prioritySet) {
+                  prioritySet = true;
+                  if ((realTimePriority > 0)
+                      && !Threads.setCurrentThreadPriority(true, realTimePriority)) {
+                    System.out.println("WPINotifier: unable to set real-time priority");
+                  }
+                }
+                task.run();
+              }
+            });
+  }
+
+  public void startPeriodic(double periodSec) {
+    notifier.startPeriodic(periodSec);
+  }
+
+  public void stop() {
+    notifier.stop();
+  }
+}
@@ -0,0 +1,40 @@
+package frc.team1778.Hardware;
+
+import edu.wpi.first.wpilibj.PIDController;
+import edu.wpi.first.wpilibj.PIDOutput;
+import edu.wpi.first.wpilibj.PIDSource;
+
+// real WPILib PID controller (runs on its own Notifier thread)
+public class WPIPIDController implements PIDLoop {
+
+  private final PIDController pidCtrl;
+
+  public WPIPIDController(
+      double kP, double kI, double kD, double kF, PIDSource source, PIDOutput output) {
+    pidCtrl = new PIDController(kP, kI, kD, kF, source, output);
+  }
+
+  public void setInputRange(double minimumInput, double maximumInput) {
+    pidCtrl.setInputRange(minimumInput, maximumInput);
+  }
+
+  public void setOutputRange(double minimumOutput, double maximumOutput) {
+    pidCtrl.setOutputRange(minimumOutput, maximumOutput);
+  }
+
+  public void setContinuous(boolean continuous) {
+    pidCtrl.setContinuous(continuous);
+  }
+
+  public void setSetpoint(double setpoint) {
+    pidCtrl.setSetpoint(setpoint);
+  }
+
+  public void enable() {
+    pidCtrl.enable();
+  }
+
+  public void disable() {
+    pidCtrl.disable();
+  }
+}
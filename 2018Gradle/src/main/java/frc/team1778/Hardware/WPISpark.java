@@ -0,0 +1,25 @@
+package frc.team1778.Hardware;
+
+import edu.wpi.first.wpilibj.Spark;
+
+// real Spark on a roboRIO PWM channel
+public class WPISpark implements PWMMotorController {
+
+  private final Spark spark;
+
+  public WPISpark(int channel) {
+    spark = new Spark(channel);
+  }
+
+  public void set(double speed) {
+    spark.set(speed);
+  }
+
+  public double get() {
+    return spark.get();
+  }
+
+  public void setInverted(boolean isInverted) {
+    spark.setInverted(isInverted);
+  }
+}
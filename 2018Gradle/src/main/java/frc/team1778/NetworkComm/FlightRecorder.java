@@ -0,0 +1,260 @@
+package frc.team1778.NetworkComm;
+
+import frc.team1778.Hardware.HardwareFactory;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// On-robot flight recorder - appends every telemetry sample to a compact binary log on the USB
+// stick, a new log for each enabled period (startLog on enable, stopLog on disable). All file work
+// happens on the TelemetryPublisher thread, the control thread never touches the file. The log is
+// written through a memory-mapped window that slides along the file; pages are only forced to disk
+// when a window is retired or the log is closed.
+//
+// File layout (little endian):
+//   header:   int MAGIC, short VERSION, long start time (FPGA usec)
+//   records:  byte tag, then
+//     TAG_CHANNEL: byte id, byte type, byte log table, short key length, key bytes (UTF-8)
+//     TAG_SAMPLE:  byte id, int time delta (usec since previous record), value
+//                  (double = 8 bytes, int = 4 bytes, boolean = 1 byte,
+//                   string = short length + UTF-8 bytes)
+//   a zero tag marks the end of the log
+public class FlightRecorder {
+
+  public static final int MAGIC = 0x46523738; // "FR78"
+  public static final short VERSION = 1;
+
+  public static final byte TAG_END = 0;
+  public static final byte TAG_CHANNEL = 1;
+  public static final byte TAG_SAMPLE = 2;
+
+  public static final int HEADER_BYTES = 4 + 2 + 8;
+
+  // USB stick mount point on the roboRIO - simulated runs only record if a directory is given
+  // with -Dfrc1778.flightlog.dir=<dir>
+  private static final String LOG_DIR = "/U/flightlogs";
+  private static final String LOG_DIR_PROPERTY = "frc1778.flightlog.dir";
+  private static final String LOG_PREFIX = "flight_";
+  private static final String LOG_SUFFIX = ".bin";
+
+  // mapped window size and max log size (a full match is only a few MB)
+  // samples past the max size are dropped - the log is per enabled period, so only a very long
+  // practice session gets there
+  private static final int WINDOW_BYTES = 1 << 20;
+  private static final long MAX_LOG_BYTES = 64L << 20;
+
+  // room reserved for the largest record (channel definition or string sample)
+  private static final int MAX_RECORD_BYTES = 1 + 1 + 4 + 2 + 0xFFFF;
+
+  private static boolean enabled = false;
+  private static RandomAccessFile logFile;
+  private static FileChannel logChannel;
+  private static MappedByteBuffer window;
+  private static long windowStart = 0;
+  private static long lastTimeUs = 0;
+  private static long droppedCount = 0;
+
+  private static final boolean[] channelDefined = new boolean[InputOutputComm.MAX_CHANNELS];
+
+  // log wanted by the robot thread - (log number << 1) | 1 while enabled, low bit cleared on
+  // disable
+  private static volatile int logRequest = 0;
+  private static int logServed = 0; // last request seen by the publisher thread
+  private static boolean openPending = false;
+
+  // start a new log (robot thread, on enable) - it is opened with the next sample
+  public static void startLog() {
+    logRequest = ((logRequest >> 1) + 1) << 1 | 1;
+  }
+
+  // close the current log, pushing it out to the USB stick (robot thread, on disable)
+  public static void stopLog() {
+    logRequest &= ~1;
+  }
+
+  // opens a new log file - called on the publisher thread with the first sample's timestamp
+  static void open(long startTimeUs) {
+    openPending = false;
+    Arrays.fill(channelDefined, false);
+
+    String logDir = System.getProperty(LOG_DIR_PROPERTY);
+    if (logDir == null) {
+      if (HardwareFactory.isSimulated()) return;
+      logDir = LOG_DIR;
+    }
+
+    File dir = new File(logDir);
+    if (!dir.isDirectory() && !dir.mkdirs()) {
+      System.out.println("FlightRecorder: no USB stick at " + logDir + " - recording disabled");
+      return;
+    }
+
+    // pick the next free log number
+    int logNum = 0;
+    while (new File(dir, LOG_PREFIX + logNum + LOG_SUFFIX).exists()) logNum++;
+    File file = new File(dir, LOG_PREFIX + logNum + LOG_SUFFIX);
+
+    try {
+      logFile = new RandomAccessFile(file, "rw");
+      logChannel = logFile.getChannel();
+      mapWindow(0);
+
+      window.putInt(MAGIC);
+      window.putShort(VERSION);
+      window.putLong(startTimeUs);
+      lastTimeUs = startTimeUs;
+
+      enabled = true;
+      System.out.println("FlightRecorder: logging to " + file.getPath());
+    } catch (IOException e) {
+      System.out.println("FlightRecorder: unable to open " + file.getPath() + " - " + e);
+      close();
+    }
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  // samples dropped because a log was full (all logs since power-on)
+  public static long getDroppedCount() {
+    return droppedCount;
+  }
+
+  // called on the publisher thread before each drain - closes the log on a stop or start request
+  static void service() {
+    int request = logRequest;
+    if (request == logServed) return;
+
+    logServed = request;
+    if (enabled) close();
+    openPending = (request & 1) != 0;
+  }
+
+  // true if a new log should be opened with the next sample
+  static boolean isOpenPending() {
+    return openPending;
+  }
+
+  // append a sample (publisher thread only)
+  static void record(int id, long timeUs, long valueBits, String valueStr) {
+    if (!enabled) return;
+
+    if (!channelDefined[id]) {
+      if (!ensureSpace(MAX_RECORD_BYTES)) return;
+      writeChannel(id);
+      channelDefined[id] = true;
+    }
+
+    int type = InputOutputComm.getChannelType(id);
+    byte[] strBytes = null;
+    int valueBytes;
+    switch (type) {
+      case InputOutputComm.TYPE_DOUBLE:
+        valueBytes = 8;
+        break;
+      case InputOutputComm.TYPE_INT:
+        valueBytes = 4;
+        break;
+      case InputOutputComm.TYPE_BOOLEAN:
+        valueBytes = 1;
+        break;
+      default:
+        strBytes = (valueStr != null) ? valueStr.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (strBytes.length > 0xFFFF) return;
+        valueBytes = 2 + strBytes.length;
+    }
+
+    if (!ensureSpace(1 + 1 + 4 + valueBytes)) return;
+
+    // clamp to keep deltas positive if the cycle timestamp was never set
+    long deltaUs = timeUs - lastTimeUs;
+    if (deltaUs < 0) deltaUs = 0;
+    lastTimeUs += deltaUs;
+
+    window.put(TAG_SAMPLE);
+    window.put((byte) id);
+    window.putInt((int) deltaUs);
+
+    switch (type) {
+      case InputOutputComm.TYPE_DOUBLE:
+        window.putLong(valueBits);
+        break;
+      case InputOutputComm.TYPE_INT:
+        window.putInt((int) valueBits);
+        break;
+      case InputOutputComm.TYPE_BOOLEAN:
+        window.put((byte) valueBits);
+        break;
+      default:
+        window.putShort((short) strBytes.length);
+        window.put(strBytes);
+    }
+  }
+
+  private static void writeChannel(int id) {
+    byte[] keyBytes = InputOutputComm.getChannelKey(id).getBytes(StandardCharsets.UTF_8);
+
+    window.put(TAG_CHANNEL);
+    window.put((byte) id);
+    window.put((byte) InputOutputComm.getChannelType(id));
+    window.put((byte) InputOutputComm.getChannelLog(id).ordinal());
+    window.putShort((short) keyBytes.length);
+    window.put(keyBytes);
+  }
+
+  // make sure the current window can take the next record, sliding it along the file if needed
+  private static boolean ensureSpace(int bytes) {
+    if (window.remaining() >= bytes + 1) return true;
+
+    long nextStart = windowStart + window.position();
+    if (nextStart + WINDOW_BYTES > MAX_LOG_BYTES) {
+      droppedCount++;
+      return false;
+    }
+
+    try {
+      // retire the full window - this is the only regular write-back to the stick
+      window.put(window.position(), TAG_END);
+      window.force();
+      mapWindow(nextStart);
+      return true;
+    } catch (IOException e) {
+      System.out.println("FlightRecorder: write failed - " + e);
+      close();
+      return false;
+    }
+  }
+
+  private static void mapWindow(long start) throws IOException {
+    window = logChannel.map(FileChannel.MapMode.READ_WRITE, start, WINDOW_BYTES);
+    window.order(ByteOrder.LITTLE_ENDIAN);
+    windowStart = start;
+  }
+
+  // flush and trim the log to its used length
+  static void close() {
+    enabled = false;
+
+    try {
+      if (window != null) {
+        long used = windowStart + window.position();
+        window.put(window.position(), TAG_END);
+        window.force();
+        window = null;
+        logChannel.truncate(used + 1);
+      }
+      if (logFile != null) logFile.close();
+    } catch (IOException e) {
+      System.out.println("FlightRecorder: close failed - " + e);
+    }
+
+    logFile = null;
+    logChannel = null;
+  }
+}
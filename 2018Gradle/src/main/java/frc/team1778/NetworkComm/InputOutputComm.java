@@ -3,7 +3,11 @@ package frc.team1778.NetworkComm;
 // import edu.wpi.first.wpilibj.networktables.NetworkTable;  // deprecated in 2018
 
 import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableEntry;
 import edu.wpi.first.networktables.NetworkTableInstance;
+import frc.team1778.Hardware.HardwareFactory;
+import java.util.HashMap;
+import java.util.HashSet;
 
 public class InputOutputComm {
 
@@ -14,6 +18,13 @@ public class InputOutputComm {
   public static void initialize() {
     if (initialized) return;
 
+    // headless when running with simulated hardware - channels are still recorded, not published
+    if (HardwareFactory.isSimulated()) {
+      TelemetryPublisher.initialize(null);
+      initialized = true;
+      return;
+    }
+
     // get default local network table
     tableInstance = NetworkTableInstance.getDefault();
     table = tableInstance.getTable("InputOutput1778/DataTable");
@@ -24,6 +35,9 @@ public class InputOutputComm {
         .setStringArray(
             new String[] {"mjpeg:http://" + PI_ADDRESS + ":" + PORT + "/?action=stream"});
 
+    // telemetry is pushed to the table from a background thread
+    TelemetryPublisher.initialize(table);
+
     initialized = true;
   }
 
@@ -37,25 +51,214 @@ public class InputOutputComm {
   private static NetworkTableInstance tableInstance;
   private static NetworkTable table;
 
-  public static void putBoolean(LogTable log, String key, boolean value) {
+  // registered telemetry channels (indexed by channel id)
+  // channels are registered once at robotInit, periodic code publishes through the handles
+  // all publishing must happen on the main robot thread (single producer for TelemetryPublisher)
+  public static final int MAX_CHANNELS = 256;
 
-    if (table != null) table.getEntry(key).setBoolean(value);
-    else System.out.println("No network table to write to!!");
+  static final int TYPE_DOUBLE = 0;
+  static final int TYPE_INT = 1;
+  static final int TYPE_BOOLEAN = 2;
+  static final int TYPE_STRING = 3;
+
+  private static int numChannels = 0;
+  private static final HashMap<String, Integer> channelIds = new HashMap<String, Integer>();
+  private static final HashSet<String> failedKeys = new HashSet<String>(); // reported once each
+  private static final String[] channelKeys = new String[MAX_CHANNELS];
+  private static final LogTable[] channelLogs = new LogTable[MAX_CHANNELS];
+  private static final int[] channelTypes = new int[MAX_CHANNELS];
+  private static final NetworkTableEntry[] channelEntries = new NetworkTableEntry[MAX_CHANNELS];
+
+  // last value written on each channel (numeric values stored as raw double bits)
+  private static final long[] lastValueBits = new long[MAX_CHANNELS];
+  private static final String[] lastStrings = new String[MAX_CHANNELS];
+  private static final boolean[] channelWritten = new boolean[MAX_CHANNELS];
+
+  // looks up (or creates) the channel id for a key (-1 if it cannot be registered)
+  // the keyed puts call this on every write, so a failure is only reported the first time
+  private static int registerChannel(LogTable log, String key, int type) {
+    initialize();
+
+    Integer existingId = channelIds.get(key);
+    if (existingId != null) {
+      if (channelTypes[existingId] != type) {
+        if (failedKeys.add(key))
+          System.out.println("Telemetry channel " + key + " already registered as another type!!");
+        return -1;
+      }
+      return existingId;
+    }
+
+    if (numChannels >= MAX_CHANNELS) {
+      if (failedKeys.add(key))
+        System.out.println("Telemetry channel limit reached - " + key + " not registered!!");
+      return -1;
+    }
+
+    int id = numChannels;
+    channelKeys[id] = key;
+    channelLogs[id] = log;
+    channelTypes[id] = type;
+    channelEntries[id] = (table != null) ? table.getEntry(key) : null;
+    channelWritten[id] = false;
+    channelIds.put(key, id);
+    numChannels++;
+    return id;
+  }
+
+  public static DoubleHandle registerDouble(LogTable log, String key) {
+    return new DoubleHandle(registerChannel(log, key, TYPE_DOUBLE));
+  }
+
+  public static IntHandle registerInt(LogTable log, String key) {
+    return new IntHandle(registerChannel(log, key, TYPE_INT));
+  }
+
+  public static BooleanHandle registerBoolean(LogTable log, String key) {
+    return new BooleanHandle(registerChannel(log, key, TYPE_BOOLEAN));
+  }
+
+  public static StringHandle registerString(LogTable log, String key) {
+    return new StringHandle(registerChannel(log, key, TYPE_STRING));
+  }
+
+  // marks the start of a robot cycle - samples published until the next call carry this FPGA
+  // timestamp (usec) in the flight recorder
+  public static void startCycle(long fpgaTimeUs) {
+    TelemetryPublisher.setCycleTime(fpgaTimeUs);
+  }
+
+  public static int getNumChannels() {
+    return numChannels;
+  }
+
+  public static String getChannelKey(int id) {
+    return channelKeys[id];
+  }
+
+  public static LogTable getChannelLog(int id) {
+    return channelLogs[id];
+  }
+
+  static int getChannelType(int id) {
+    return channelTypes[id];
+  }
+
+  static NetworkTableEntry getChannelEntry(int id) {
+    return channelEntries[id];
+  }
+
+  // queue a numeric value (as raw bits) for publishing, skipping it if unchanged
+  // the last value is only updated once queued, so a sample dropped by a full ring is sent again
+  private static void publishBits(int id, long valueBits) {
+    if (id < 0) return;
+    if (channelWritten[id] && (lastValueBits[id] == valueBits)) return;
+
+    if (!TelemetryPublisher.offer(id, valueBits, null)) return;
+    lastValueBits[id] = valueBits;
+    channelWritten[id] = true;
+  }
+
+  // queue a string for publishing, skipping it if equal to the last one
+  private static void publishString(int id, String value) {
+    if (id < 0) return;
+    if (channelWritten[id]
+        && ((value == null) ? (lastStrings[id] == null) : value.equals(lastStrings[id]))) return;
+
+    if (!TelemetryPublisher.offer(id, 0, value)) return;
+    lastStrings[id] = value;
+    channelWritten[id] = true;
+  }
+
+  // typed channel handles - no hashing, formatting or allocation when publishing
+  public static class DoubleHandle {
+    private final int id;
+
+    DoubleHandle(int id) {
+      this.id = id;
+    }
+
+    public int getId() {
+      return id;
+    }
+
+    public void set(double value) {
+      publishBits(id, Double.doubleToRawLongBits(value));
+    }
+  }
+
+  public static class IntHandle {
+    private final int id;
+
+    IntHandle(int id) {
+      this.id = id;
+    }
+
+    public int getId() {
+      return id;
+    }
+
+    public void set(int value) {
+      publishBits(id, value);
+    }
+  }
+
+  public static class BooleanHandle {
+    private final int id;
+
+    BooleanHandle(int id) {
+      this.id = id;
+    }
+
+    public int getId() {
+      return id;
+    }
+
+    public void set(boolean value) {
+      publishBits(id, value ? 1 : 0);
+    }
+  }
+
+  public static class StringHandle {
+    private final int id;
+
+    StringHandle(int id) {
+      this.id = id;
+    }
+
+    public int getId() {
+      return id;
+    }
+
+    // intended for constant or pre-built strings (e.g. state names)
+    public void set(String value) {
+      publishString(id, value);
+    }
+  }
+
+  // keyed writes - look the channel up by name on every call, so keep these out of periodic code
+  public static void putBoolean(LogTable log, String key, boolean value) {
+    publishBits(registerChannel(log, key, TYPE_BOOLEAN), value ? 1 : 0);
   }
 
   public static void putDouble(LogTable log, String key, double value) {
-    if (table != null) table.getEntry(key).setDouble(value);
-    else System.out.println("No network table to write to!!");
+    publishBits(registerChannel(log, key, TYPE_DOUBLE), Double.doubleToRawLongBits(value));
   }
 
   public static void putInt(LogTable log, String key, int value) {
-    if (table != null) table.getEntry(key).setNumber(value);
-    else System.out.println("No network table to write to!!");
+    publishBits(registerChannel(log, key, TYPE_INT), value);
   }
 
   public static void putString(LogTable log, String key, String outputStr) {
-    if (table != null) table.getEntry(key).setString(outputStr);
-    else System.out.println("No network table to write to!!");
+    publishString(registerChannel(log, key, TYPE_STRING), outputStr);
+  }
+
+  // direct NetworkTables entry for threads other than the main robot thread (e.g. a notifier),
+  // which must not publish through the channels - entries are thread-safe, but these values are
+  // not recorded by the telemetry publisher. null when there are no network tables (simulated)
+  public static NetworkTableEntry getDirectEntry(String key) {
+    if (table == null) return null;
+    return table.getEntry(key);
   }
 
   public static void deleteKey(String key) {
@@ -2,6 +2,7 @@ package frc.team1778.NetworkComm;
 
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.networktables.NetworkTableInstance;
+import frc.team1778.Hardware.HardwareFactory;
 
 public class RPIComm {
 
@@ -21,6 +22,12 @@ public class RPIComm {
 
     InputOutputComm.initialize();
 
+    // no Raspberry Pi when running with simulated hardware
+    if (HardwareFactory.isSimulated()) {
+      initialized = true;
+      return;
+    }
+
     // if using Roborio-hosted network table
     // tableInstance = NetworkTableInstance.getDefault();
 
@@ -49,10 +56,10 @@ public class RPIComm {
   public static void reset() {}
 
   public static void setBoolean(String key, boolean value) {
-    table.getEntry(key).setBoolean(value);
+    if (table != null) table.getEntry(key).setBoolean(value);
   }
 
   public static void setDouble(String key, double value) {
-    table.getEntry(key).setDouble(value);
+    if (table != null) table.getEntry(key).setDouble(value);
   }
 }
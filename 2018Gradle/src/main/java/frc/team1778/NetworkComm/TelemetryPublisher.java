@@ -0,0 +1,232 @@
+package frc.team1778.NetworkComm;
+
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableEntry;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Background publisher for InputOutputComm telemetry.
+// The control thread (the only producer) drops samples into a lock-free ring buffer and returns
+// immediately. The publisher thread drains the ring, keeps only the latest value of each channel
+// (last value wins) and pushes changed channels into NetworkTables at each LogTable's own rate.
+// Every sample (before coalescing) is also handed to the FlightRecorder.
+public class TelemetryPublisher {
+
+  private static boolean initialized = false;
+
+  // ring buffer of pending samples (size must be a power of two)
+  private static final int RING_SIZE = 4096;
+  private static final int RING_MASK = RING_SIZE - 1;
+  private static final int[] ringChannels = new int[RING_SIZE];
+  private static final long[] ringBits = new long[RING_SIZE];
+  private static final long[] ringTimes = new long[RING_SIZE];
+  private static final String[] ringStrings = new String[RING_SIZE];
+
+  // ring positions - head is only written by the producer, tail only by the publisher thread
+  private static final AtomicLong head = new AtomicLong(0);
+  private static final AtomicLong tail = new AtomicLong(0);
+  private static long producerHead = 0;
+  private static long producerTail = 0; // producer's cached copy of tail
+
+  // FPGA timestamp (usec) stamped on samples queued during the current robot cycle
+  private static long cycleTimeUs = 0;
+
+  // publish rate for each log table (Hz), indexed by LogTable ordinal
+  private static final InputOutputComm.LogTable[] logTables = InputOutputComm.LogTable.values();
+  private static final long[] publishPeriodNs = new long[logTables.length];
+  private static final long[] nextPublishNs = new long[logTables.length];
+
+  // publisher thread wakes up this often to drain the ring
+  private static final long TICK_MS = 5;
+  private static final long STATS_PERIOD_NS = 1000000000L;
+
+  // latest (coalesced) value of each channel, owned by the publisher thread - kept after it is
+  // published, to start each new flight log with
+  private static final long[] latestBits = new long[InputOutputComm.MAX_CHANNELS];
+  private static final String[] latestStrings = new String[InputOutputComm.MAX_CHANNELS];
+  private static final boolean[] seen = new boolean[InputOutputComm.MAX_CHANNELS];
+  private static final boolean[] dirty = new boolean[InputOutputComm.MAX_CHANNELS];
+  private static final int[][] dirtyChannels =
+      new int[logTables.length][InputOutputComm.MAX_CHANNELS];
+  private static final int[] numDirty = new int[logTables.length];
+
+  // statistics
+  private static volatile long droppedCount = 0; // written by the producer only
+  private static long coalescedCount = 0;
+  private static long publishedCount = 0;
+
+  private static NetworkTableEntry droppedEntry, coalescedEntry, publishedEntry;
+  private static NetworkTableEntry recorderDroppedEntry;
+  private static Thread publisherThread;
+
+  static {
+    setPublishRate(InputOutputComm.LogTable.kMainLog, 10.0);
+    setPublishRate(InputOutputComm.LogTable.kRPICommLog, 10.0);
+    setPublishRate(InputOutputComm.LogTable.kDriveLog, 50.0);
+  }
+
+  // starts the publisher thread - called from InputOutputComm.initialize()
+  static void initialize(NetworkTable table) {
+    if (initialized) return;
+
+    // no table when running headless
+    if (table != null) {
+      droppedEntry = table.getEntry("Telemetry/DroppedSamples");
+      coalescedEntry = table.getEntry("Telemetry/CoalescedSamples");
+      publishedEntry = table.getEntry("Telemetry/PublishedSamples");
+      recorderDroppedEntry = table.getEntry("Telemetry/RecorderDroppedSamples");
+    }
+
+    publisherThread =
+        new Thread("TelemetryPublisher") {
+          public void run() {
+            publishLoop();
+          }
+        };
+    publisherThread.setDaemon(true);
+    publisherThread.setPriority(Thread.MIN_PRIORITY);
+    publisherThread.start();
+
+    initialized = true;
+  }
+
+  // sets how often a log table's channels are pushed to NetworkTables (set during robotInit)
+  public static void setPublishRate(InputOutputComm.LogTable log, double rateHz) {
+    publishPeriodNs[log.ordinal()] = (long) (1e9 / rateHz);
+  }
+
+  public static long getDroppedCount() {
+    return droppedCount;
+  }
+
+  // control thread only - sets the timestamp for the samples that follow
+  static void setCycleTime(long fpgaTimeUs) {
+    cycleTimeUs = fpgaTimeUs;
+  }
+
+  // queue a sample - control thread only, never blocks or allocates
+  // returns false if the ring is full and the sample was dropped
+  static boolean offer(int channel, long valueBits, String valueStr) {
+    long h = producerHead;
+
+    if (h - producerTail >= RING_SIZE) {
+      // ring looks full - refresh our copy of the publisher position and check again
+      producerTail = tail.get();
+      if (h - producerTail >= RING_SIZE) {
+        droppedCount++;
+        return false;
+      }
+    }
+
+    int slot = (int) h & RING_MASK;
+    ringChannels[slot] = channel;
+    ringBits[slot] = valueBits;
+    ringTimes[slot] = cycleTimeUs;
+    ringStrings[slot] = valueStr;
+
+    producerHead = h + 1;
+    head.lazySet(producerHead);
+    return true;
+  }
+
+  private static void publishLoop() {
+    long nextStatsNs = System.nanoTime();
+
+    while (true) {
+      drain();
+
+      long nowNs = System.nanoTime();
+      for (int log = 0; log < logTables.length; log++) {
+        if (nowNs - nextPublishNs[log] >= 0) {
+          flush(log);
+          nextPublishNs[log] = nowNs + publishPeriodNs[log];
+        }
+      }
+
+      if ((nowNs - nextStatsNs >= 0) && (droppedEntry != null)) {
+        droppedEntry.setDouble(droppedCount);
+        coalescedEntry.setDouble(coalescedCount);
+        publishedEntry.setDouble(publishedCount);
+        recorderDroppedEntry.setDouble(FlightRecorder.getDroppedCount());
+        nextStatsNs = nowNs + STATS_PERIOD_NS;
+      }
+
+      try {
+        Thread.sleep(TICK_MS);
+      } catch (InterruptedException e) {
+        return;
+      }
+    }
+  }
+
+  // move all pending samples into the latest-value table (and the flight recorder)
+  private static void drain() {
+    FlightRecorder.service();
+
+    long t = tail.get();
+    long h = head.get();
+
+    if ((t < h) && FlightRecorder.isOpenPending()) {
+      // a new log starts with the current value of every channel
+      long timeUs = ringTimes[(int) t & RING_MASK];
+      FlightRecorder.open(timeUs);
+      for (int id = 0; id < InputOutputComm.MAX_CHANNELS; id++) {
+        if (seen[id]) FlightRecorder.record(id, timeUs, latestBits[id], latestStrings[id]);
+      }
+    }
+
+    while (t < h) {
+      int slot = (int) t & RING_MASK;
+      int id = ringChannels[slot];
+
+      FlightRecorder.record(id, ringTimes[slot], ringBits[slot], ringStrings[slot]);
+
+      latestBits[id] = ringBits[slot];
+      latestStrings[id] = ringStrings[slot];
+      ringStrings[slot] = null;
+      seen[id] = true;
+
+      if (dirty[id]) {
+        // previous value never made it out - overwritten by this one
+        coalescedCount++;
+      } else {
+        int log = InputOutputComm.getChannelLog(id).ordinal();
+        dirty[id] = true;
+        dirtyChannels[log][numDirty[log]++] = id;
+      }
+
+      t++;
+    }
+
+    tail.lazySet(t);
+  }
+
+  // push the changed channels of one log table into NetworkTables
+  private static void flush(int log) {
+    int[] channels = dirtyChannels[log];
+
+    for (int i = 0; i < numDirty[log]; i++) {
+      int id = channels[i];
+      NetworkTableEntry entry = InputOutputComm.getChannelEntry(id);
+
+      dirty[id] = false;
+      if (entry == null) continue;
+      publishedCount++;
+
+      switch (InputOutputComm.getChannelType(id)) {
+        case InputOutputComm.TYPE_DOUBLE:
+          entry.setDouble(Double.longBitsToDouble(latestBits[id]));
+          break;
+        case InputOutputComm.TYPE_INT:
+          entry.setDouble((double) latestBits[id]);
+          break;
+        case InputOutputComm.TYPE_BOOLEAN:
+          entry.setBoolean(latestBits[id] != 0);
+          break;
+        default:
+          entry.setString(latestStrings[id]);
+      }
+    }
+
+    numDirty[log] = 0;
+  }
+}
@@ -0,0 +1,31 @@
+package frc.team1778.Paths;
+
+// Binary layout of generated trajectories, shared by the path compiler (desktop, src/tools) and the
+// store on the robot (PathStore).
+//
+// File layout (little endian):
+//   header:   int MAGIC, short VERSION, short path count
+//   paths (in path index order): short name length, UTF-8 name bytes, double time step (sec),
+//     int segment count, then NUM_COLUMNS columns of segment count floats each (column-major, so
+//     each column is one bulk read)
+//   trailer:  int CRC32 of everything before it
+//
+// Columns: the robot center (x, y, heading) and the left and right wheels (distance travelled,
+// velocity, acceleration). Units are inches and seconds; heading is in degrees, counter-clockwise
+// positive from the start direction and continuous (a full circle ends at 360, not 0).
+public class PathFormat {
+
+  public static final int MAGIC = 0x50543738; // "PT78"
+  public static final short VERSION = 1;
+
+  public static final int COLUMN_X = 0;
+  public static final int COLUMN_Y = 1;
+  public static final int COLUMN_HEADING = 2;
+  public static final int COLUMN_LEFT_POSITION = 3;
+  public static final int COLUMN_LEFT_VELOCITY = 4;
+  public static final int COLUMN_LEFT_ACCELERATION = 5;
+  public static final int COLUMN_RIGHT_POSITION = 6;
+  public static final int COLUMN_RIGHT_VELOCITY = 7;
+  public static final int COLUMN_RIGHT_ACCELERATION = 8;
+  public static final int NUM_COLUMNS = 9;
+}
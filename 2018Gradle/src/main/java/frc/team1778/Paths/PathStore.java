@@ -0,0 +1,142 @@
+package frc.team1778.Paths;
+
+import frc.team1778.Hardware.HardwareFactory;
+import frc.team1778.NetworkComm.InputOutputComm;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+// The trajectories the robot can follow, generated on the desktop (see PathFormat) - the path
+// source is src/main/paths/paths.txt, "gradlew compilePaths" turns it into paths.bin and deploy
+// copies that to the robot's deploy directory.
+// initialize() memory-maps the file and copies each column out with one bulk read, so robotInit
+// spends no time fitting splines. With no valid file there are no paths (getTrajectory returns
+// null) - the rest of the robot runs as normal.
+public class PathStore {
+
+  public static final String PATH_FILE = "paths.bin";
+
+  // deploy directory on the roboRIO - simulated runs only load paths if a directory is given
+  // with -Dfrc1778.paths.dir=<dir> (e.g. build/deploy)
+  private static final String DEPLOY_DIR = "/home/lvuser/deploy";
+  private static final String PATHS_DIR_PROPERTY = "frc1778.paths.dir";
+
+  private static boolean initialized = false;
+
+  private static Trajectory[] trajectories = new Trajectory[0];
+
+  public static void initialize() {
+    if (initialized) return;
+
+    InputOutputComm.initialize();
+
+    File file = getPathFile();
+    long startUs = System.nanoTime() / 1000;
+    Trajectory[] loaded = load(file);
+    if (loaded != null) {
+      trajectories = loaded;
+      System.out.println(
+          "PathStore: "
+              + trajectories.length
+              + " paths from "
+              + file.getPath()
+              + " in "
+              + (System.nanoTime() / 1000 - startUs)
+              + " us");
+    }
+    InputOutputComm.putString(
+        InputOutputComm.LogTable.kMainLog,
+        "Paths/Source",
+        (loaded != null) ? file.getPath() : "none");
+    InputOutputComm.putInt(InputOutputComm.LogTable.kMainLog, "Paths/Count", trajectories.length);
+
+    initialized = true;
+  }
+
+  // path file on this robot (null if there is none to look for)
+  public static File getPathFile() {
+    String pathsDir = System.getProperty(PATHS_DIR_PROPERTY);
+    if (pathsDir == null) {
+      if (HardwareFactory.isSimulated()) return null;
+      pathsDir = DEPLOY_DIR;
+    }
+    return new File(pathsDir, PATH_FILE);
+  }
+
+  public static int getNumPaths() {
+    return trajectories.length;
+  }
+
+  // null if there is no path with this index
+  public static Trajectory getTrajectory(int index) {
+    if ((index < 0) || (index >= trajectories.length)) return null;
+
+    return trajectories[index];
+  }
+
+  // returns null if the file is missing or invalid
+  public static Trajectory[] load(File file) {
+    if ((file == null) || !file.isFile()) return null;
+
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return read(map);
+    } catch (IOException | IllegalArgumentException e) {
+      System.out.println("PathStore: unable to load " + file.getPath() + " - " + e);
+      return null;
+    }
+  }
+
+  // check and read a path file (throws IllegalArgumentException if it is not valid)
+  public static Trajectory[] read(ByteBuffer bytes) {
+    ByteBuffer buf = bytes.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    int size = buf.remaining();
+    if (size < 4 + 2 + 2 + 4) throw new IllegalArgumentException("file too short");
+
+    // check the trailer first - catches a file that is still being copied
+    ByteBuffer body = buf.duplicate();
+    body.limit(size - 4);
+    CRC32 crc = new CRC32();
+    crc.update(body);
+    if ((int) crc.getValue() != buf.getInt(size - 4))
+      throw new IllegalArgumentException("bad checksum");
+    buf.limit(size - 4);
+
+    try {
+      if (buf.getInt() != PathFormat.MAGIC) throw new IllegalArgumentException("not a path file");
+      short version = buf.getShort();
+      if (version != PathFormat.VERSION)
+        throw new IllegalArgumentException("unsupported version " + version);
+
+      Trajectory[] paths = new Trajectory[buf.getShort() & 0xFFFF];
+      for (int i = 0; i < paths.length; i++) {
+        byte[] nameBytes = new byte[buf.getShort() & 0xFFFF];
+        buf.get(nameBytes);
+        double dtSec = buf.getDouble();
+        int length = buf.getInt();
+        if (!(dtSec > 0.0)) throw new IllegalArgumentException("bad time step " + dtSec);
+        if ((length <= 0) || (length > buf.remaining() / (4 * PathFormat.NUM_COLUMNS)))
+          throw new IllegalArgumentException("bad segment count " + length);
+
+        float[][] columns = new float[PathFormat.NUM_COLUMNS][length];
+        for (float[] column : columns) {
+          buf.asFloatBuffer().get(column);
+          buf.position(buf.position() + 4 * length);
+        }
+        paths[i] = new Trajectory(new String(nameBytes, StandardCharsets.UTF_8), dtSec, columns);
+      }
+
+      if (buf.hasRemaining()) throw new IllegalArgumentException("trailing data");
+      return paths;
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("truncated path file");
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package frc.team1778.Paths;
+
+// One generated path: a segment every time step, for the robot center and for each side of the
+// drivetrain (see PathFormat for units). Built by PathStore from the path file (or by the path
+// compiler) and never changed - the columns can be read from any thread.
+public class Trajectory {
+
+  public final String name;
+
+  private final double dtSec;
+  private final int length;
+  private final float[][] columns;
+
+  // columns: PathFormat.NUM_COLUMNS arrays of length floats
+  Trajectory(String name, double dtSec, float[][] columns) {
+    this.name = name;
+    this.dtSec = dtSec;
+    this.columns = columns;
+    length = columns[PathFormat.COLUMN_X].length;
+  }
+
+  public double getTimeStepSec() {
+    return dtSec;
+  }
+
+  // number of segments
+  public int length() {
+    return length;
+  }
+
+  public double getDurationSec() {
+    return length * dtSec;
+  }
+
+  // value of a PathFormat.COLUMN_* at a segment
+  public double get(int column, int segment) {
+    return columns[column][segment];
+  }
+
+  public double getX(int segment) {
+    return columns[PathFormat.COLUMN_X][segment];
+  }
+
+  public double getY(int segment) {
+    return columns[PathFormat.COLUMN_Y][segment];
+  }
+
+  public double getHeadingDeg(int segment) {
+    return columns[PathFormat.COLUMN_HEADING][segment];
+  }
+
+  public double getLeftPosition(int segment) {
+    return columns[PathFormat.COLUMN_LEFT_POSITION][segment];
+  }
+
+  public double getLeftVelocity(int segment) {
+    return columns[PathFormat.COLUMN_LEFT_VELOCITY][segment];
+  }
+
+  public double getLeftAcceleration(int segment) {
+    return columns[PathFormat.COLUMN_LEFT_ACCELERATION][segment];
+  }
+
+  public double getRightPosition(int segment) {
+    return columns[PathFormat.COLUMN_RIGHT_POSITION][segment];
+  }
+
+  public double getRightVelocity(int segment) {
+    return columns[PathFormat.COLUMN_RIGHT_VELOCITY][segment];
+  }
+
+  public double getRightAcceleration(int segment) {
+    return columns[PathFormat.COLUMN_RIGHT_ACCELERATION][segment];
+  }
+}
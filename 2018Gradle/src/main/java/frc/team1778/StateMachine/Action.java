@@ -1,21 +1,57 @@
 package frc.team1778.StateMachine;
 
+import frc.team1778.Hardware.HardwareFactory;
+import frc.team1778.Systems.SensorFrame;
+import frc.team1778.Utility.LoopProfiler;
 import java.util.prefs.Preferences;
 
 public class Action {
 
   public String name;
 
+  // loop profiler stage - shared by all actions of the same class
+  protected final int timingStage;
+
+  // timed sub-steps - an action that has to wait (e.g. for a brake to release) moves to a new step
+  // and checks on later cycles whether it has lasted long enough, instead of delaying the loop
+  private int step = 0;
+  private long stepStartUs = 0;
+
   public Action() {
     name = "<Generic Action>";
+    timingStage = LoopProfiler.registerStage("Action/" + getClass().getSimpleName());
+  }
+
+  // for actions that run other timed actions and events (their stage is a group stage)
+  protected Action(boolean enclosesStages) {
+    name = "<Generic Action>";
+    timingStage =
+        enclosesStages
+            ? LoopProfiler.registerGroupStage("Action/" + getClass().getSimpleName())
+            : LoopProfiler.registerStage("Action/" + getClass().getSimpleName());
   }
 
   public void initialize() {}
 
-  public void process() {}
+  // called periodically with the sensor frame captured at the top of the loop
+  public void process(SensorFrame sensors) {}
 
   public void cleanup() {}
 
+  protected void setStep(int step) {
+    this.step = step;
+    stepStartUs = HardwareFactory.getFPGATime();
+  }
+
+  protected int getStep() {
+    return step;
+  }
+
+  // true once the current step has lasted at least durationSec (as of the frame's capture time)
+  protected boolean stepElapsed(SensorFrame sensors, double durationSec) {
+    return (sensors.getTimestampUs() - stepStartUs) >= (long) (durationSec * 1e6);
+  }
+
   public void persistWrite(int counter, Preferences prefs) {
 
     // create node for action
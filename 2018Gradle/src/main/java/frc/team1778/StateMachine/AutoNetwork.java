@@ -1,6 +1,7 @@
 package frc.team1778.StateMachine;
 
 import frc.team1778.NetworkComm.InputOutputComm;
+import frc.team1778.Systems.SensorFrame;
 import java.util.ArrayList;
 import java.util.prefs.Preferences;
 
@@ -10,25 +11,38 @@ public class AutoNetwork {
 
   private AutoState currentState;
 
+  // telemetry channels
+  private static InputOutputComm.StringHandle currentStateHandle;
+
   public AutoNetwork() {
     name = "<Generic Auto Network>";
     states = new ArrayList<AutoState>();
     currentState = null;
+    registerTelemetry();
   }
 
   public AutoNetwork(String name) {
     this.name = name;
     states = new ArrayList<AutoState>();
     currentState = null;
+    registerTelemetry();
+  }
+
+  private static void registerTelemetry() {
+    if (currentStateHandle == null)
+      currentStateHandle =
+          InputOutputComm.registerString(
+              InputOutputComm.LogTable.kMainLog, "Auto/AutoSM_currentState");
   }
 
   public void addState(AutoState state) {
     states.add(state);
   }
 
+  // build time only (linear search by name)
   public AutoState getState(String name) {
     for (AutoState state : states) {
-      if (state.name == name) return state;
+      if (state.name.equals(name)) return state;
     }
 
     return null;
@@ -46,17 +60,19 @@ public class AutoNetwork {
     }
   }
 
-  public void process() {
+  public void process(SensorFrame sensors) {
     if (currentState != null) {
-      String myString = new String("State = " + currentState.name);
-      // System.out.println(myString);
-      InputOutputComm.putString(
-          InputOutputComm.LogTable.kMainLog, "Auto/AutoSM_currentState", myString);
+      // System.out.println("State = " + currentState.name);
+      currentStateHandle.set(currentState.name);
 
-      AutoState nextState = currentState.process();
+      AutoState nextState = currentState.process(sensors);
 
-      // if the returned next state is non-null and not the current state, time to change state
-      if ((nextState != null) && (nextState != currentState)) {
+      if (nextState == null) {
+        // last state done - the network is finished (same as CompiledAutoNetwork)
+        currentState.exit();
+        currentState = null;
+      } else if (nextState != currentState) {
+        // the returned next state is not the current state, time to change state
         // clean up current state
         currentState.exit();
 
@@ -0,0 +1,142 @@
+package frc.team1778.StateMachine;
+
+// Binary layout of compiled auto routes, shared by the route compiler (desktop, src/tools) and the
+// loader on the robot (AutoRouteLoader).
+//
+// File layout (little endian):
+//   header:   int MAGIC, short VERSION
+//   strings:  short count, then per string: short length, UTF-8 bytes
+//   sub-networks: short count, then per sub-network (networks run inside a state):
+//     same as a network below
+//   networks: short count, then per network (in network index order):
+//     short name (string index), short state count, then per state (the first is the start state):
+//       short name, short next state (index in the network, NO_STATE if none),
+//       double watchdog timeout (sec, 0 if none), short timeout state (NO_STATE - the next state),
+//       byte flags (FLAG_ALL_EVENTS), byte action count, byte event count, byte transition count,
+//       actions: byte type, short name, parameters
+//       events:  byte type, parameters
+//       transitions (in priority order): short priority, short target state, event (as above),
+//         byte guard sensor (NO_GUARD if none), if guarded: byte comparison, double value
+//   trailer:  int CRC32 of everything before it
+//
+// Parameters are written in the order of the type's signature: PARAM_DOUBLE = 8 bytes,
+// PARAM_INT = 4 bytes, PARAM_BOOLEAN = 1 byte, PARAM_POLARITY = 1 byte (GyroAngleEvent polarity),
+// PARAM_SUB_NETWORK = short (sub-network index), PARAM_ACTION = 1 byte (index of a SubNetwork
+// action in the same state).
+// A sub-network only runs sub-networks with a higher index, so sub-networks can never run
+// themselves.
+public class AutoRouteFormat {
+
+  public static final int MAGIC = 0x41523738; // "AR78"
+  public static final short VERSION = 7;
+
+  public static final int NO_STATE = -1;
+  public static final int FLAG_ALL_EVENTS = 0x01;
+  public static final int NO_GUARD = -1;
+
+  public static final char PARAM_DOUBLE = 'D';
+  public static final char PARAM_INT = 'I';
+  public static final char PARAM_BOOLEAN = 'B';
+  public static final char PARAM_POLARITY = 'P';
+  public static final char PARAM_SUB_NETWORK = 'N';
+  public static final char PARAM_ACTION = 'A';
+
+  // action types - the index into ACTION_NAMES/ACTION_PARAMS is the type code
+  public static final int ACTION_IDLE = 0;
+  public static final int ACTION_DRIVE_FORWARD = 1;
+  public static final int ACTION_DRIVE_FORWARD_MAGIC = 2;
+  public static final int ACTION_TURN = 3;
+  public static final int ACTION_TURN_PID = 4;
+  public static final int ACTION_TURN_MAGIC = 5;
+  public static final int ACTION_COLLECT_CUBE = 6;
+  public static final int ACTION_DEPOSIT_CUBE = 7;
+  public static final int ACTION_FLIPPER = 8;
+  public static final int ACTION_LIFT = 9;
+  public static final int ACTION_LIFT_BRAKE = 10;
+  public static final int ACTION_SUB_NETWORK = 11;
+  public static final int ACTION_FOLLOW_PATH = 12;
+  public static final int ACTION_STREAM_PATH = 13;
+
+  // names used in the route file
+  public static final String[] ACTION_NAMES = {
+    "Idle",
+    "DriveForward",
+    "DriveForwardMagic",
+    "Turn",
+    "TurnPID",
+    "TurnMagic",
+    "CollectCube",
+    "DepositCube",
+    "Flipper",
+    "Lift",
+    "LiftBrake",
+    "SubNetwork",
+    "FollowPath",
+    "StreamPath"
+  };
+
+  // constructor parameters after the name
+  public static final String[] ACTION_PARAMS = {
+    "", // Idle
+    "DBD", // DriveForward: speed, reset gyro, heading (deg)
+    "DIIBDB", // DriveForwardMagic: distance (in), vel (rpm), accel (rpm), reset gyro, heading,
+    // chain
+    "DDB", // Turn: angle (deg), speed, reset gyro
+    "DDBB", // TurnPID: angle (deg), speed, reset gyro, chain
+    "DDII", // TurnMagic: left (in), right (in), vel (rpm), accel (rpm)
+    "D", // CollectCube: strength
+    "", // DepositCube
+    "", // Flipper
+    "D", // Lift: strength
+    "B", // LiftBrake: brake on
+    "N", // SubNetwork: sub-network to run
+    "I", // FollowPath: path index (PathStore)
+    "I" // StreamPath: path index (PathStore)
+  };
+
+  // event types - the index into EVENT_NAMES/EVENT_PARAMS is the type code
+  public static final int EVENT_TIME = 0;
+  public static final int EVENT_DISTANCE = 1;
+  public static final int EVENT_CLOSED_LOOP_POSITION = 2;
+  public static final int EVENT_CLOSED_LOOP_ANGLE = 3;
+  public static final int EVENT_GYRO_ANGLE = 4;
+  public static final int EVENT_SUB_NETWORK_DONE = 5;
+  public static final int EVENT_PATH_COMPLETE = 6;
+
+  public static final String[] EVENT_NAMES = {
+    "Time",
+    "Distance",
+    "ClosedLoopPosition",
+    "ClosedLoopAngle",
+    "GyroAngle",
+    "SubNetworkDone",
+    "PathComplete"
+  };
+
+  public static final String[] EVENT_PARAMS = {
+    "D", // Time: duration (sec)
+    "D", // Distance: distance (in)
+    "DDD", // ClosedLoopPosition: target (in), error (in), duration in range (sec)
+    "DDD", // ClosedLoopAngle: target (deg), error (deg), duration in range (sec)
+    "DBP", // GyroAngle: angle (deg), reset gyro, polarity
+    "A", // SubNetworkDone: the state's SubNetwork action to wait for
+    "" // PathComplete
+  };
+
+  // names of the GyroAngleEvent polarities and guard comparisons in the route file
+  // (index = AnglePolarity / Guard.Comparison ordinal)
+  public static final String[] POLARITY_NAMES = {"greater", "less"};
+
+  // names of the guard sensors in the route file (index = Guard.Sensor ordinal)
+  public static final String[] GUARD_SENSOR_NAMES = {
+    "Distance", "GyroAngle", "LiftUpperLimit", "LiftLowerLimit", "ImuConnected", "BatteryVoltage"
+  };
+
+  // type code for a route file name (-1 if unknown)
+  public static int typeOf(String[] names, String name) {
+    for (int i = 0; i < names.length; i++) {
+      if (names[i].equals(name)) return i;
+    }
+    return -1;
+  }
+}
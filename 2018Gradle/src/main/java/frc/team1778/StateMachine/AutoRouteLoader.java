@@ -0,0 +1,358 @@
+package frc.team1778.StateMachine;
+
+import frc.team1778.Hardware.HardwareFactory;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+// Loads the auto networks from the compiled route file (see AutoRouteFormat) - the route source is
+// src/main/routes/autoroutes.txt, "gradlew compileAutoRoutes" turns it into autoroutes.bin and
+// deploy copies that to the robot's deploy directory.
+// load() checks the whole file and notes where each network starts, but builds nothing - a
+// network's actions and events are only created when buildNetwork() is asked for it, with a switch
+// on their type codes (no reflection). Sub-networks run by a network's states are built with it,
+// a new copy for each state that runs one.
+public class AutoRouteLoader {
+
+  public static final String ROUTE_FILE = "autoroutes.bin";
+
+  // deploy directory on the roboRIO - simulated runs only load routes if a directory is given
+  // with -Dfrc1778.routes.dir=<dir> (e.g. build/deploy)
+  private static final String DEPLOY_DIR = "/home/lvuser/deploy";
+  private static final String ROUTES_DIR_PROPERTY = "frc1778.routes.dir";
+
+  private final ByteBuffer buf;
+  private final String[] strings;
+  private final int[] subNetworkOffsets;
+  private final int[] networkOffsets;
+
+  // compiled route file on this robot (null if there is none to look for)
+  public static File getRouteFile() {
+    String routesDir = System.getProperty(ROUTES_DIR_PROPERTY);
+    if (routesDir == null) {
+      if (HardwareFactory.isSimulated()) return null;
+      routesDir = DEPLOY_DIR;
+    }
+    return new File(routesDir, ROUTE_FILE);
+  }
+
+  // returns null if the file is missing or invalid - the caller falls back to doing nothing
+  public static AutoRouteLoader load(File file) {
+    if ((file == null) || !file.isFile()) return null;
+
+    try {
+      return new AutoRouteLoader(Files.readAllBytes(file.toPath()));
+    } catch (IOException | IllegalArgumentException e) {
+      System.out.println("AutoRouteLoader: unable to load " + file.getPath() + " - " + e);
+      return null;
+    }
+  }
+
+  // check a compiled route file (throws IllegalArgumentException if it is not valid)
+  public AutoRouteLoader(byte[] bytes) {
+    if (bytes.length < 4 + 2 + 4) throw new IllegalArgumentException("file too short");
+
+    buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+
+    // check the trailer first - catches a file that is still being copied
+    CRC32 crc = new CRC32();
+    crc.update(bytes, 0, bytes.length - 4);
+    if ((int) crc.getValue() != buf.getInt(bytes.length - 4))
+      throw new IllegalArgumentException("bad checksum");
+    buf.limit(bytes.length - 4);
+
+    try {
+      if (buf.getInt() != AutoRouteFormat.MAGIC)
+        throw new IllegalArgumentException("not a route file");
+      short version = buf.getShort();
+      if (version != AutoRouteFormat.VERSION)
+        throw new IllegalArgumentException("unsupported version " + version);
+
+      strings = new String[buf.getShort() & 0xFFFF];
+      for (int i = 0; i < strings.length; i++) {
+        byte[] strBytes = new byte[buf.getShort() & 0xFFFF];
+        buf.get(strBytes);
+        strings[i] = new String(strBytes, StandardCharsets.UTF_8);
+      }
+
+      subNetworkOffsets = new int[buf.getShort() & 0xFFFF];
+      for (int i = 0; i < subNetworkOffsets.length; i++) {
+        subNetworkOffsets[i] = buf.position();
+        checkNetwork(i + 1);
+      }
+
+      networkOffsets = new int[buf.getShort() & 0xFFFF];
+      for (int i = 0; i < networkOffsets.length; i++) {
+        networkOffsets[i] = buf.position();
+        checkNetwork(0);
+      }
+
+      if (buf.hasRemaining()) throw new IllegalArgumentException("trailing data");
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("truncated route file");
+    }
+  }
+
+  public int getNumNetworks() {
+    return networkOffsets.length;
+  }
+
+  // build one network (null if the file has no network with this index)
+  public AutoNetwork buildNetwork(int index) {
+    if ((index < 0) || (index >= networkOffsets.length)) return null;
+
+    return readNetwork(networkOffsets[index]);
+  }
+
+  private AutoNetwork buildSubNetwork(int index) {
+    return readNetwork(subNetworkOffsets[index]);
+  }
+
+  // walk over one network checking every reference and type code, so building it cannot fail -
+  // the network may only run sub-networks from firstSubNetwork on (keeps sub-networks from running
+  // themselves)
+  private void checkNetwork(int firstSubNetwork) {
+    checkString(buf.getShort());
+    int numStates = buf.getShort() & 0xFFFF;
+
+    for (int i = 0; i < numStates; i++) {
+      checkString(buf.getShort());
+      short nextState = buf.getShort();
+      if ((nextState != AutoRouteFormat.NO_STATE) && ((nextState < 0) || (nextState >= numStates)))
+        throw new IllegalArgumentException("bad next state " + nextState);
+      double timeoutSec = buf.getDouble();
+      if (!(timeoutSec >= 0.0)) throw new IllegalArgumentException("bad timeout " + timeoutSec);
+      short timeoutState = buf.getShort();
+      if ((timeoutState != AutoRouteFormat.NO_STATE)
+          && ((timeoutState < 0) || (timeoutState >= numStates)))
+        throw new IllegalArgumentException("bad timeout state " + timeoutState);
+      buf.get(); // flags
+
+      int numActions = buf.get() & 0xFF;
+      int numEvents = buf.get() & 0xFF;
+      int numTransitions = buf.get() & 0xFF;
+      int[] actionTypes = new int[numActions];
+      for (int j = 0; j < numActions; j++) {
+        int type = buf.get();
+        if ((type < 0) || (type >= AutoRouteFormat.ACTION_PARAMS.length))
+          throw new IllegalArgumentException("unknown action type " + type);
+        checkString(buf.getShort());
+        checkParams(AutoRouteFormat.ACTION_PARAMS[type], firstSubNetwork, actionTypes);
+        actionTypes[j] = type;
+      }
+      for (int j = 0; j < numEvents; j++) {
+        int type = buf.get();
+        if ((type < 0) || (type >= AutoRouteFormat.EVENT_PARAMS.length))
+          throw new IllegalArgumentException("unknown event type " + type);
+        checkParams(AutoRouteFormat.EVENT_PARAMS[type], firstSubNetwork, actionTypes);
+      }
+      for (int j = 0; j < numTransitions; j++) {
+        buf.getShort(); // priority
+        short target = buf.getShort();
+        if ((target < 0) || (target >= numStates))
+          throw new IllegalArgumentException("bad transition target " + target);
+        int type = buf.get();
+        if ((type < 0) || (type >= AutoRouteFormat.EVENT_PARAMS.length))
+          throw new IllegalArgumentException("unknown event type " + type);
+        checkParams(AutoRouteFormat.EVENT_PARAMS[type], firstSubNetwork, actionTypes);
+        int sensor = buf.get();
+        if (sensor == AutoRouteFormat.NO_GUARD) continue;
+        if ((sensor < 0) || (sensor >= Guard.Sensor.values().length))
+          throw new IllegalArgumentException("unknown guard sensor " + sensor);
+        int comparison = buf.get();
+        if ((comparison < 0) || (comparison >= Guard.Comparison.values().length))
+          throw new IllegalArgumentException("bad guard comparison " + comparison);
+        buf.getDouble();
+      }
+    }
+  }
+
+  private void checkString(short index) {
+    if ((index & 0xFFFF) >= strings.length)
+      throw new IllegalArgumentException("bad string index " + (index & 0xFFFF));
+  }
+
+  // actionTypes holds the types of the state's actions read so far
+  private void checkParams(String signature, int firstSubNetwork, int[] actionTypes) {
+    for (int i = 0; i < signature.length(); i++) {
+      switch (signature.charAt(i)) {
+        case AutoRouteFormat.PARAM_DOUBLE:
+          buf.getDouble();
+          break;
+        case AutoRouteFormat.PARAM_INT:
+          buf.getInt();
+          break;
+        case AutoRouteFormat.PARAM_POLARITY:
+          int polarity = buf.get();
+          if ((polarity < 0) || (polarity >= GyroAngleEvent.AnglePolarity.values().length))
+            throw new IllegalArgumentException("bad polarity " + polarity);
+          break;
+        case AutoRouteFormat.PARAM_SUB_NETWORK:
+          int subNetwork = buf.getShort() & 0xFFFF;
+          if ((subNetwork < firstSubNetwork) || (subNetwork >= subNetworkOffsets.length))
+            throw new IllegalArgumentException("bad sub-network " + subNetwork);
+          break;
+        case AutoRouteFormat.PARAM_ACTION:
+          int action = buf.get() & 0xFF;
+          if ((action >= actionTypes.length)
+              || (actionTypes[action] != AutoRouteFormat.ACTION_SUB_NETWORK))
+            throw new IllegalArgumentException("bad sub-network action " + action);
+          break;
+        default:
+          buf.get();
+      }
+    }
+  }
+
+  private AutoNetwork readNetwork(int offset) {
+    ByteBuffer buf = this.buf.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    buf.position(offset);
+
+    AutoNetwork network = new AutoNetwork(strings[buf.getShort() & 0xFFFF]);
+
+    int numStates = buf.getShort() & 0xFFFF;
+    AutoState[] states = new AutoState[numStates];
+    int[] nextStates = new int[numStates];
+    double[] timeouts = new double[numStates];
+    int[] timeoutStates = new int[numStates];
+    int[] transitionStart = new int[numStates + 1];
+    List<Transition> transitions = new ArrayList<Transition>(); // target still to connect
+    List<Integer> transitionTargets = new ArrayList<Integer>();
+
+    for (int i = 0; i < numStates; i++) {
+      AutoState state = new AutoState(strings[buf.getShort() & 0xFFFF]);
+      nextStates[i] = buf.getShort();
+      timeouts[i] = buf.getDouble();
+      timeoutStates[i] = buf.getShort();
+      state.setAllEventsTrigger((buf.get() & AutoRouteFormat.FLAG_ALL_EVENTS) != 0);
+
+      int numActions = buf.get() & 0xFF;
+      int numEvents = buf.get() & 0xFF;
+      int numTransitions = buf.get() & 0xFF;
+      for (int j = 0; j < numActions; j++) state.addAction(readAction(buf));
+      for (int j = 0; j < numEvents; j++) state.addEvent(readEvent(buf, state));
+      transitionStart[i] = transitions.size();
+      for (int j = 0; j < numTransitions; j++) {
+        int priority = buf.getShort();
+        transitionTargets.add((int) buf.getShort());
+        transitions.add(new Transition(priority, readEvent(buf, state), readGuard(buf), null));
+      }
+
+      states[i] = state;
+      network.addState(state);
+    }
+
+    transitionStart[numStates] = transitions.size();
+
+    // next states, watchdogs and transitions can point forward, so they are connected once all
+    // states exist
+    for (int i = 0; i < numStates; i++) {
+      if (nextStates[i] != AutoRouteFormat.NO_STATE)
+        states[i].associateNextState(states[nextStates[i]]);
+      if (timeouts[i] > 0.0) {
+        states[i].setTimeout(
+            timeouts[i],
+            (timeoutStates[i] != AutoRouteFormat.NO_STATE) ? states[timeoutStates[i]] : null);
+      }
+
+      for (int j = transitionStart[i]; j < transitionStart[i + 1]; j++) {
+        Transition t = transitions.get(j);
+        states[i].addTransition(t.priority, t.event, t.guard, states[transitionTargets.get(j)]);
+      }
+    }
+
+    return network;
+  }
+
+  private Action readAction(ByteBuffer buf) {
+    int type = buf.get();
+    String name = strings[buf.getShort() & 0xFFFF];
+
+    switch (type) {
+      case AutoRouteFormat.ACTION_IDLE:
+        return new IdleAction(name);
+      case AutoRouteFormat.ACTION_DRIVE_FORWARD:
+        return new DriveForwardAction(name, buf.getDouble(), readBoolean(buf), buf.getDouble());
+      case AutoRouteFormat.ACTION_DRIVE_FORWARD_MAGIC:
+        return new DriveForwardMagicAction(
+            name,
+            buf.getDouble(),
+            buf.getInt(),
+            buf.getInt(),
+            readBoolean(buf),
+            buf.getDouble(),
+            readBoolean(buf));
+      case AutoRouteFormat.ACTION_TURN:
+        return new TurnAction(name, buf.getDouble(), buf.getDouble(), readBoolean(buf));
+      case AutoRouteFormat.ACTION_TURN_PID:
+        return new TurnPIDAction(
+            name, buf.getDouble(), buf.getDouble(), readBoolean(buf), readBoolean(buf));
+      case AutoRouteFormat.ACTION_TURN_MAGIC:
+        return new TurnMagicAction(
+            name, buf.getDouble(), buf.getDouble(), buf.getInt(), buf.getInt());
+      case AutoRouteFormat.ACTION_COLLECT_CUBE:
+        return new CollectCubeAction(name, buf.getDouble());
+      case AutoRouteFormat.ACTION_DEPOSIT_CUBE:
+        return new DepositCubeAction(name);
+      case AutoRouteFormat.ACTION_FLIPPER:
+        return new FlipperAction(name);
+      case AutoRouteFormat.ACTION_LIFT:
+        return new LiftAction(name, buf.getDouble());
+      case AutoRouteFormat.ACTION_LIFT_BRAKE:
+        return new LiftBrakeAction(name, readBoolean(buf));
+      case AutoRouteFormat.ACTION_SUB_NETWORK:
+        return new SubNetworkAction(name, buildSubNetwork(buf.getShort() & 0xFFFF));
+      case AutoRouteFormat.ACTION_FOLLOW_PATH:
+        return new FollowPathAction(name, buf.getInt());
+      case AutoRouteFormat.ACTION_STREAM_PATH:
+        return new StreamPathAction(name, buf.getInt());
+      default:
+        throw new IllegalArgumentException("unknown action type " + type);
+    }
+  }
+
+  // state is the state being read (its actions are already added)
+  private static Event readEvent(ByteBuffer buf, AutoState state) {
+    int type = buf.get();
+
+    switch (type) {
+      case AutoRouteFormat.EVENT_TIME:
+        return new TimeEvent(buf.getDouble());
+      case AutoRouteFormat.EVENT_DISTANCE:
+        return new DistanceEvent(buf.getDouble());
+      case AutoRouteFormat.EVENT_CLOSED_LOOP_POSITION:
+        return new ClosedLoopPositionEvent(buf.getDouble(), buf.getDouble(), buf.getDouble());
+      case AutoRouteFormat.EVENT_CLOSED_LOOP_ANGLE:
+        return new ClosedLoopAngleEvent(buf.getDouble(), buf.getDouble(), buf.getDouble());
+      case AutoRouteFormat.EVENT_GYRO_ANGLE:
+        return new GyroAngleEvent(
+            buf.getDouble(), readBoolean(buf), GyroAngleEvent.AnglePolarity.values()[buf.get()]);
+      case AutoRouteFormat.EVENT_SUB_NETWORK_DONE:
+        return new SubNetworkDoneEvent((SubNetworkAction) state.actionList.get(buf.get() & 0xFF));
+      case AutoRouteFormat.EVENT_PATH_COMPLETE:
+        return new PathCompleteEvent();
+      default:
+        throw new IllegalArgumentException("unknown event type " + type);
+    }
+  }
+
+  // guard of a transition (null if none)
+  private static Guard readGuard(ByteBuffer buf) {
+    int sensor = buf.get();
+    if (sensor == AutoRouteFormat.NO_GUARD) return null;
+
+    return new Guard(
+        Guard.Sensor.values()[sensor], Guard.Comparison.values()[buf.get()], buf.getDouble());
+  }
+
+  private static boolean readBoolean(ByteBuffer buf) {
+    return buf.get() != 0;
+  }
+}
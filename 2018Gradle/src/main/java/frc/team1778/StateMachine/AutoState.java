@@ -1,5 +1,8 @@
 package frc.team1778.StateMachine;
 
+import frc.team1778.Hardware.HardwareFactory;
+import frc.team1778.Systems.SensorFrame;
+import frc.team1778.Utility.LoopProfiler;
 import java.util.ArrayList;
 import java.util.prefs.Preferences;
 
@@ -7,16 +10,23 @@ public class AutoState {
 
   protected ArrayList<Action> actionList;
   protected ArrayList<Event> eventList;
+  protected ArrayList<Transition> transitionList; // in priority order
   public String name;
   protected AutoState nextState;
   protected Preferences statePrefs;
   protected boolean allEventsTrigger = false; // default is any event triggers
 
+  // watchdog - longest the state may run before moving on anyway (0 if none)
+  protected double timeoutSec = 0.0;
+  protected AutoState timeoutState; // where it moves on to (null - the next state)
+  private long enteredUs = 0;
+
   public AutoState() {
     this.name = "AutoState";
 
     actionList = new ArrayList<Action>();
     eventList = new ArrayList<Event>();
+    transitionList = new ArrayList<Transition>();
     this.nextState = null;
     this.allEventsTrigger = false;
   }
@@ -25,6 +35,7 @@ public class AutoState {
     this.name = name;
     actionList = new ArrayList<Action>();
     eventList = new ArrayList<Event>();
+    transitionList = new ArrayList<Transition>();
     this.nextState = null;
     this.allEventsTrigger = false;
   }
@@ -35,6 +46,7 @@ public class AutoState {
 
     actionList = new ArrayList<Action>();
     eventList = new ArrayList<Event>();
+    transitionList = new ArrayList<Transition>();
 
     this.nextState = null;
   }
@@ -47,6 +59,40 @@ public class AutoState {
     eventList.add(newEvent);
   }
 
+  // run a network inside this state (along with any other sub-networks and actions) - the state
+  // can be left once it has finished (with setAllEventsTrigger(true), once all have finished)
+  public void addSubNetwork(AutoNetwork network) {
+    SubNetworkAction subNetwork = new SubNetworkAction(network.name, network);
+    addAction(subNetwork);
+    addEvent(new SubNetworkDoneEvent(subNetwork));
+  }
+
+  // go to target (instead of the next state) when event triggers - transitions are checked before
+  // the state's own events, lowest priority number first (equal priorities in the order added), and
+  // the first one taken wins
+  public void addTransition(int priority, Event event, AutoState target) {
+    addTransition(priority, event, null, target);
+  }
+
+  // same, but only taken if guard also holds for the current sensor frame
+  public void addTransition(int priority, Event event, Guard guard, AutoState target) {
+    int index = transitionList.size();
+    while ((index > 0) && (transitionList.get(index - 1).priority > priority)) index--;
+    transitionList.add(index, new Transition(priority, event, guard, target));
+  }
+
+  // watchdog - leave the state for its next state after maxDwellSec, even if none of its events
+  // or transitions have triggered (e.g. a drive that is bumped and never gets within its error)
+  public void setTimeout(double maxDwellSec) {
+    setTimeout(maxDwellSec, null);
+  }
+
+  // same, but leave for fallbackState
+  public void setTimeout(double maxDwellSec, AutoState fallbackState) {
+    timeoutSec = maxDwellSec;
+    timeoutState = fallbackState;
+  }
+
   public void setAllEventsTrigger(boolean value) {
     allEventsTrigger = value;
   }
@@ -57,6 +103,8 @@ public class AutoState {
 
   // enter into state first time
   public void enter() {
+    enteredUs = HardwareFactory.getFPGATime();
+
     for (Action a : actionList) {
       // initialize each action
       a.initialize();
@@ -66,24 +114,45 @@ public class AutoState {
       // initialize each event for monitoring
       e.initialize();
     }
+
+    for (Transition t : transitionList) {
+      t.event.initialize();
+    }
   }
 
   // called periodically
-  public AutoState process() {
+  public AutoState process(SensorFrame sensors) {
     // debug only - say who we are
     // System.out.println("Current state is " + name);
 
+    // each action and event is timed by the loop profiler (end time of one starts the next)
+    long timeUs = LoopProfiler.now();
+
     // for all the actions this state has, process each
     for (Action a : actionList) {
-      a.process();
+      a.process(sensors);
+      timeUs = LoopProfiler.record(a.timingStage, timeUs);
+    }
+
+    // the first transition taken picks the next state
+    for (Transition t : transitionList) {
+      boolean triggered = t.event.isTriggered(sensors);
+      timeUs = LoopProfiler.record(t.event.timingStage, timeUs);
+
+      if (triggered && ((t.guard == null) || t.guard.isTrue(sensors))) {
+        return t.target;
+      }
     }
 
     if (allEventsTrigger) {
       // all events must trigger to move to next state
       for (Event e : eventList) {
+        boolean triggered = e.isTriggered(sensors);
+        timeUs = LoopProfiler.record(e.timingStage, timeUs);
+
         // if any event is NOT triggered, return this state
-        if (!e.isTriggered()) {
-          return this;
+        if (!triggered) {
+          return checkTimeout(sensors);
         }
       }
 
@@ -92,9 +161,11 @@ public class AutoState {
     } else {
       // for all the events this state has, check each
       for (Event e : eventList) {
+        boolean triggered = e.isTriggered(sensors);
+        timeUs = LoopProfiler.record(e.timingStage, timeUs);
 
         // if any event is triggered
-        if (e.isTriggered()) {
+        if (triggered) {
 
           // move to next state
           return this.nextState;
@@ -103,6 +174,15 @@ public class AutoState {
     }
 
     // if we reach the end and nothing has triggered, return this state
+    return checkTimeout(sensors);
+  }
+
+  // this state, or where its watchdog moves on to if it has run too long
+  private AutoState checkTimeout(SensorFrame sensors) {
+    if ((timeoutSec > 0.0) && ((sensors.getTimestampUs() - enteredUs) / 1e6 > timeoutSec)) {
+      System.out.println("AutoState: " + name + " timed out!!");
+      return (timeoutState != null) ? timeoutState : nextState;
+    }
     return this;
   }
 
@@ -1,27 +1,68 @@
 package frc.team1778.StateMachine;
 
 import edu.wpi.first.wpilibj.DriverStation;
+import frc.team1778.Hardware.HardwareFactory;
 import frc.team1778.NetworkComm.InputOutputComm;
+import frc.team1778.Systems.CubeManagement;
 import frc.team1778.Systems.DriveAssembly;
 import frc.team1778.Systems.NavXSensor;
-import java.util.ArrayList;
+import frc.team1778.Systems.SensorFrame;
+import java.io.File;
 
 public class AutoStateMachine {
 
   private boolean autoNetworkEnable = false;
 
-  private ArrayList<AutoNetwork> autoNetworks;
-
-  private final int SWITCH = 0;
-  private final int SCALE = 1;
-
-  private final int UNDEFINED = 0;
-  private final int LEFT = 1;
-  private final int RIGHT = 2;
+  // networks are built one at a time, only the one selected to run - while disabled, as soon as
+  // the chooser (and FMS data, if the network depends on it) are known, so autonomousInit only has
+  // to start it
+  private int preparedIndex = NO_NETWORK;
+  private CompiledAutoNetwork preparedNetwork;
+
+  private static final int NO_NETWORK = -1;
+
+  // compiled route file (null - none to look for), and the version loaded (routes null - none
+  // loaded yet, every network is AutoNetworkBuilder's do-nothing network)
+  private File routeFile;
+  private AutoRouteLoader routes;
+  private long routeFileModified = 0;
+  private long routeFileLength = 0;
+
+  // how often the selection and the route file are checked while disabled
+  private static final long PREPARE_INTERVAL_USEC = 200000;
+  private static final long ROUTE_CHECK_INTERVAL_USEC = 1000000;
+  private long lastPrepareUs = 0;
+  private long lastRouteCheckUs = 0;
+
+  // pre-arm - the sensors are zeroed while disabled, once the network is prepared, so
+  // autonomousInit does not have to. They are zeroed again if the robot is moved after that
+  // (e.g. lined up by hand) by more than these.
+  private static final double ARM_DRIFT_INCHES = 0.5;
+  private static final double ARM_DRIFT_DEG = 1.0;
+  private boolean armed = false;
+  private boolean fieldKnown = false;
+
+  // pre-arm happens at most once before autonomous runs - once started, the robot is not zeroed
+  // again while disabled (the gap before teleop) until a teleop period has ended or the driver
+  // station reports another match (without the FMS the match number stays the same)
+  private boolean autoStarted = false;
+  private boolean teleopStarted = false;
+  private int startedMatchType = 0;
+  private int startedMatchNumber = 0;
+  private int startedReplayNumber = 0;
+
+  private InputOutputComm.BooleanHandle armedHandle, routesLoadedHandle;
+
+  private static final int SWITCH = 0;
+  private static final int SCALE = 1;
+
+  private static final int UNDEFINED = 0;
+  private static final int LEFT = 1;
+  private static final int RIGHT = 2;
 
   private int[] fieldAllianceColors = {UNDEFINED, UNDEFINED, UNDEFINED};
 
-  private AutoNetwork currentNetwork;
+  private CompiledAutoNetwork currentNetwork;
   private AutoChooser autoChooser;
 
   public AutoStateMachine() {
@@ -29,17 +70,162 @@ public class AutoStateMachine {
     InputOutputComm.initialize();
     NavXSensor.initialize();
 
-    // create list of autonomous networks
-    autoNetworks = AutoNetworkBuilder.readInNetworks();
+    // networks come from the compiled route file - without a valid one every selection runs the
+    // do-nothing network, which is reported to the driver station and flagged on the dashboard
+    // until a good file is deployed
+    routesLoadedHandle =
+        InputOutputComm.registerBoolean(InputOutputComm.LogTable.kMainLog, "Auto/RoutesLoaded");
+    routeFile = AutoRouteLoader.getRouteFile();
+    if (!loadRouteFile()) {
+      String path = (routeFile != null) ? routeFile.getPath() : "(no route directory)";
+      DriverStation.reportError(
+          "AutoStateMachine: no valid route file " + path + " - autonomous will do nothing", false);
+      routesLoadedHandle.set(false);
+      InputOutputComm.putString(
+          InputOutputComm.LogTable.kMainLog, "Auto/RouteSource", "NONE - Do Nothing");
+    }
 
     // create the smart dashboard chooser
     autoChooser = new AutoChooser();
+
+    armedHandle = InputOutputComm.registerBoolean(InputOutputComm.LogTable.kMainLog, "Auto/Armed");
+    armedHandle.set(false);
+  }
+
+  // returns false (routes unchanged) if the route file is missing or invalid
+  private boolean loadRouteFile() {
+    if (routeFile == null) return false;
+
+    // note the version first, so a file replaced while loading is picked up on the next check
+    routeFileModified = routeFile.lastModified();
+    routeFileLength = routeFile.length();
+
+    AutoRouteLoader loaded = AutoRouteLoader.load(routeFile);
+    if (loaded == null) return false;
+
+    routes = loaded;
+    preparedIndex = NO_NETWORK;
+    preparedNetwork = null;
+
+    System.out.println(
+        "AutoStateMachine: " + routes.getNumNetworks() + " networks from " + routeFile.getPath());
+    routesLoadedHandle.set(true);
+    InputOutputComm.putString(
+        InputOutputComm.LogTable.kMainLog, "Auto/RouteSource", routeFile.getPath());
+    return true;
+  }
+
+  private CompiledAutoNetwork buildNetwork(int index) {
+    AutoNetwork network =
+        (routes != null) ? routes.buildNetwork(index) : AutoNetworkBuilder.buildNetwork(index);
+    if (network == null) {
+      System.out.println("AutoStateMachine: no network " + index + "!!");
+      return null;
+    }
+    return new CompiledAutoNetwork(network);
+  }
+
+  // builds the network if it is not the one already prepared
+  private void prepareNetwork(int index) {
+    if (index == preparedIndex) return;
+
+    preparedNetwork = buildNetwork(index);
+    preparedIndex = index;
+
+    String name = (preparedNetwork != null) ? preparedNetwork.name : "none";
+    InputOutputComm.putString(InputOutputComm.LogTable.kMainLog, "Auto/PreparedNetwork", name);
+  }
+
+  // call periodically while disabled - builds the selected network ahead of autonomous and zeroes
+  // the sensors for it (pre-arm), and reloads the routes if a new route file was deployed (a bad
+  // file is reported and the current routes are kept)
+  public void disabledPeriodic(long timeUs) {
+    if ((routeFile != null) && (timeUs - lastRouteCheckUs >= ROUTE_CHECK_INTERVAL_USEC)) {
+      lastRouteCheckUs = timeUs;
+
+      if ((routeFile.lastModified() != routeFileModified)
+          || (routeFile.length() != routeFileLength)) {
+        System.out.println("AutoStateMachine: route file changed - reloading");
+        loadRouteFile();
+      }
+    }
+
+    // cube ops networks depend on the field configuration, which the FMS only sends just before
+    // autonomous - look for it every cycle until it is here
+    boolean waitingForField = !fieldKnown && (autoChooser.getAction() == AutoChooser.CUBE_OPS);
+
+    if (waitingForField || (timeUs - lastPrepareUs >= PREPARE_INTERVAL_USEC)) {
+      lastPrepareUs = timeUs;
+
+      if (autoStarted && isNewMatch()) autoStarted = false;
+
+      fieldKnown = getFieldColorConfig();
+      int networkIndex = getNetworkIndex();
+      if (autoNetworkEnable && (fieldKnown || (autoChooser.getAction() != AutoChooser.CUBE_OPS))) {
+        prepareNetwork(networkIndex);
+        if ((preparedNetwork != null) && !autoStarted && !isArmed()) arm();
+      }
+    }
+  }
+
+  // zero the gyro and encoders for the start of autonomous (the lift encoder only with the lift
+  // down on its lower limit switch)
+  private void arm() {
+    NavXSensor.reset();
+    DriveAssembly.resetPos();
+    if (CubeManagement.isLiftAtBase()) CubeManagement.resetPos();
+
+    armed = true;
+    armedHandle.set(true);
+  }
+
+  private void disarm() {
+    armed = false;
+    armedHandle.set(false);
+  }
+
+  // sensors still zeroed from arm() - the robot has not been moved since. Reading the angle lets
+  // the gyro's pending zero settle (nothing else reads it while disabled), and it is only checked
+  // once that has happened.
+  private boolean isArmed() {
+    if (!armed) return false;
+
+    if (Math.abs(DriveAssembly.getDistanceInches()) > ARM_DRIFT_INCHES) return false;
+    double angleDeg = NavXSensor.getAngle();
+    if (!NavXSensor.isZeroPending() && (Math.abs(angleDeg) > ARM_DRIFT_DEG)) return false;
+    return true;
+  }
+
+  // the driver station reports a different match from the one autonomous last ran in
+  private boolean isNewMatch() {
+    DriverStation ds = DriverStation.getInstance();
+    return (ds.getMatchType().ordinal() != startedMatchType)
+        || (ds.getMatchNumber() != startedMatchNumber)
+        || (ds.getReplayNumber() != startedReplayNumber);
   }
 
+  // call at teleopInit - ends autonomous (if it was running)
+  public void teleopInit() {
+    stop();
+    teleopStarted = true;
+  }
+
+  // call at disabledInit - ends autonomous (if it was running), and after teleop lets the robot
+  // pre-arm again for the next autonomous run
+  public void disabledInit() {
+    stop();
+    if (teleopStarted) autoStarted = false;
+    teleopStarted = false;
+  }
+
+  // normally only checks the selection and starts the network built and armed while disabled
   public void start() {
 
     // check switch and scale lighting combination
-    getFieldColorConfig();
+    fieldKnown = getFieldColorConfig();
+    if (!fieldKnown) System.out.println("AutoStateMachine: no field configuration!!");
+    if (routes == null)
+      DriverStation.reportError("AutoStateMachine: no route file - doing nothing", false);
 
     // determine if we are running auto or not
     int networkIndex = getNetworkIndex();
@@ -49,36 +235,58 @@ public class AutoStateMachine {
     System.out.println(myString);
     InputOutputComm.putString(InputOutputComm.LogTable.kMainLog, "Auto/AutoSM_network", myString);
 
-    // must initialize the gyro class and reset the angle to our initial rotation
-    NavXSensor.reset();
+    // the gyro and encoders must start from zero - normally done while disabled
+    if (!isArmed()) {
+      System.out.println("AutoStateMachine: not armed - zeroing sensors");
+      arm();
+    }
+    disarm(); // zeroed for this run only
 
-    // reset drive system encoders to zero position
-    DriveAssembly.resetPos();
+    DriverStation ds = DriverStation.getInstance();
+    autoStarted = true;
+    startedMatchType = ds.getMatchType().ordinal();
+    startedMatchNumber = ds.getMatchNumber();
+    startedReplayNumber = ds.getReplayNumber();
 
     if (autoNetworkEnable) {
-      // if we have a state network
-      currentNetwork = autoNetworks.get(networkIndex);
+      // if we have a state network (normally built while disabled)
+      if (networkIndex != preparedIndex) {
+        System.out.println("AutoStateMachine: network " + networkIndex + " not prepared");
+        prepareNetwork(networkIndex);
+      }
+      currentNetwork = preparedNetwork;
 
       if (currentNetwork != null) {
         // System.out.println("State machine starting with " + currentState.name);
+        AutoTracer.start(HardwareFactory.getFPGATime());
         currentNetwork.enter();
       }
     }
   }
 
-  public void process() {
+  public void process(SensorFrame sensors) {
 
     if (autoNetworkEnable) {
       // process the current network
       if (currentNetwork != null) {
-        currentNetwork.process();
+        currentNetwork.process(sensors);
       }
     }
   }
 
+  // end of autonomous - leave the network, report how long its states ran and write out the
+  // timeline of this run
   public void stop() {
+    disarm();
+    fieldKnown = false;
+
     if (currentNetwork != null) {
       currentNetwork.exit();
+      DriveAssembly.autoStop(); // chained drives and turns leave the motors running at exit
+
+      AutoStateStats.report();
+      AutoTracer.dump(currentNetwork.name);
+      currentNetwork = null;
     }
   }
 
@@ -101,22 +309,10 @@ public class AutoStateMachine {
       netIndex = AutoNetworkBuilder.DRIVE_FORWARD;
     } else if (action == AutoChooser.CUBE_OPS) // CUBE OPS, depends on field config and position
     {
-      autoNetworkEnable = true;
-
-      switch (position) {
-        case AutoChooser.LEFT_POSITION:
-          netIndex = leftPositionLogic(right_left_priority, remote_scale_action);
-          break;
-        case AutoChooser.CENTER_POSITION:
-          netIndex = centerPositionLogic();
-          break;
-        case AutoChooser.RIGHT_POSITION:
-          netIndex = rightPositionLogic(right_left_priority, remote_scale_action);
-          break;
-        default:
-          // no position defined - do nothing
-          autoNetworkEnable = false;
-      }
+      netIndex =
+          cubeOpsNetwork(position, right_left_priority, remote_scale_action, fieldAllianceColors);
+      autoNetworkEnable = (netIndex != NO_NETWORK);
+      if (!autoNetworkEnable) netIndex = AutoNetworkBuilder.DO_NOTHING;
     } else if (action == AutoChooser.LIFT_ONCE) {
       // debug network
       autoNetworkEnable = true;
@@ -146,8 +342,33 @@ public class AutoStateMachine {
     return netIndex;
   }
 
+  // cube ops network for a position and field configuration (NO_NETWORK if no position defined)
+  private static int cubeOpsNetwork(
+      int position, int right_left_priority, int remote_scale_action, int[] fieldAllianceColors) {
+    switch (position) {
+      case AutoChooser.LEFT_POSITION:
+        return leftPositionLogic(right_left_priority, remote_scale_action, fieldAllianceColors);
+      case AutoChooser.CENTER_POSITION:
+        return centerPositionLogic(fieldAllianceColors);
+      case AutoChooser.RIGHT_POSITION:
+        return rightPositionLogic(right_left_priority, remote_scale_action, fieldAllianceColors);
+      default:
+        // no position defined - do nothing
+        return NO_NETWORK;
+    }
+  }
+
+  // same, from FMS game data ("LRL") - for desktop tools, which have no driver station
+  static int cubeOpsNetwork(
+      int position, int right_left_priority, int remote_scale_action, String gameData) {
+    int[] fieldAllianceColors = {UNDEFINED, UNDEFINED, UNDEFINED};
+    if (!parseFieldColorConfig(gameData, fieldAllianceColors)) return NO_NETWORK;
+    return cubeOpsNetwork(position, right_left_priority, remote_scale_action, fieldAllianceColors);
+  }
+
   // logic for left position
-  private int leftPositionLogic(int right_left_priority, int remote_scale_action) {
+  private static int leftPositionLogic(
+      int right_left_priority, int remote_scale_action, int[] fieldAllianceColors) {
     int netIndex = AutoNetworkBuilder.DO_NOTHING;
 
     // check local scale priority over local switch
@@ -184,7 +405,7 @@ public class AutoStateMachine {
     return netIndex;
   }
 
-  private int centerPositionLogic() {
+  private static int centerPositionLogic(int[] fieldAllianceColors) {
     int netIndex = AutoNetworkBuilder.DO_NOTHING;
 
     if (fieldAllianceColors[SWITCH] == LEFT) {
@@ -199,7 +420,8 @@ public class AutoStateMachine {
   }
 
   // logic for right position
-  private int rightPositionLogic(int right_left_priority, int remote_scale_action) {
+  private static int rightPositionLogic(
+      int right_left_priority, int remote_scale_action, int[] fieldAllianceColors) {
     int netIndex = AutoNetworkBuilder.DO_NOTHING;
 
     // check local scale priority over local switch
@@ -236,7 +458,7 @@ public class AutoStateMachine {
     return netIndex;
   }
 
-  private int remoteScaleAction(int fromPos, int remote_scale_action) {
+  private static int remoteScaleAction(int fromPos, int remote_scale_action) {
     int netIndex;
 
     if (fromPos == LEFT) {
@@ -261,15 +483,24 @@ public class AutoStateMachine {
     return netIndex;
   }
 
-  // retrieves color configuration of field elements relative to alliance side
-  private void getFieldColorConfig() {
+  // retrieves color configuration of field elements relative to alliance side (false if the FMS
+  // has not sent it yet)
+  private boolean getFieldColorConfig() {
     String gameData;
     gameData = DriverStation.getInstance().getGameSpecificMessage();
+    if (!parseFieldColorConfig(gameData, fieldAllianceColors)) return false;
+
+    InputOutputComm.putString(InputOutputComm.LogTable.kMainLog, "Auto/FieldConfig", gameData);
+    return true;
+  }
+
+  private static boolean parseFieldColorConfig(String gameData, int[] fieldAllianceColors) {
+    if ((gameData == null) || (gameData.length() < 3)) return false;
 
     for (int i = 0; i < 3; i++) {
       if (gameData.charAt(i) == 'L') fieldAllianceColors[i] = LEFT;
       else fieldAllianceColors[i] = RIGHT;
     }
-    InputOutputComm.putString(InputOutputComm.LogTable.kMainLog, "Auto/FieldConfig", gameData);
+    return true;
   }
 }
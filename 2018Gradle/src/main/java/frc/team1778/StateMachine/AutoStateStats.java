@@ -0,0 +1,119 @@
+package frc.team1778.StateMachine;
+
+import frc.team1778.NetworkComm.InputOutputComm;
+import java.util.HashMap;
+
+// Dwell time and watchdog statistics per auto state, kept for as long as the robot code runs so a
+// string of practice runs shows which states routinely run long.
+// States are registered by network and state name when a network is compiled (a rebuilt network
+// shares the entries of the last one). Each time a state is left, its numbers are published on one
+// fixed set of channels (the flight recorder keeps every sample), and report() prints the table at
+// the end of autonomous.
+public class AutoStateStats {
+
+  private static final int MAX_STATES = 192;
+
+  private static boolean initialized = false;
+
+  private static int numStates = 0;
+  private static final HashMap<String, Integer> stateIds = new HashMap<String, Integer>();
+  private static final String[] stateKeys = new String[MAX_STATES]; // "<network>: <state>"
+  private static final long[] timeoutUs = new long[MAX_STATES]; // watchdog (0 if none)
+  private static final int[] runs = new int[MAX_STATES];
+  private static final int[] timeouts = new int[MAX_STATES];
+  private static final long[] totalDwellUs = new long[MAX_STATES];
+  private static final long[] maxDwellUs = new long[MAX_STATES];
+
+  private static int totalTimeouts = 0;
+
+  // telemetry channels - the state just left, and the watchdog totals
+  private static InputOutputComm.StringHandle stateHandle;
+  private static InputOutputComm.DoubleHandle dwellSecHandle, maxDwellSecHandle;
+  private static InputOutputComm.IntHandle runsHandle, timeoutsHandle;
+  private static InputOutputComm.IntHandle totalTimeoutsHandle;
+  private static InputOutputComm.StringHandle lastTimeoutHandle;
+
+  public static void initialize() {
+    if (initialized) return;
+
+    stateHandle =
+        InputOutputComm.registerString(InputOutputComm.LogTable.kMainLog, "Auto/StateStats/State");
+    dwellSecHandle =
+        InputOutputComm.registerDouble(
+            InputOutputComm.LogTable.kMainLog, "Auto/StateStats/DwellSec");
+    maxDwellSecHandle =
+        InputOutputComm.registerDouble(
+            InputOutputComm.LogTable.kMainLog, "Auto/StateStats/MaxDwellSec");
+    runsHandle =
+        InputOutputComm.registerInt(InputOutputComm.LogTable.kMainLog, "Auto/StateStats/Runs");
+    timeoutsHandle =
+        InputOutputComm.registerInt(InputOutputComm.LogTable.kMainLog, "Auto/StateStats/Timeouts");
+    totalTimeoutsHandle =
+        InputOutputComm.registerInt(InputOutputComm.LogTable.kMainLog, "Auto/Watchdog/Timeouts");
+    lastTimeoutHandle =
+        InputOutputComm.registerString(
+            InputOutputComm.LogTable.kMainLog, "Auto/Watchdog/LastTimeout");
+
+    initialized = true;
+  }
+
+  // registration time only (looks the state up by name) - returns -1 if the table is full
+  public static int register(String networkName, String stateName, long stateTimeoutUs) {
+    initialize();
+
+    String key = networkName + ": " + stateName;
+    Integer id = stateIds.get(key);
+    if (id == null) {
+      if (numStates >= MAX_STATES) {
+        System.out.println("AutoStateStats: state limit reached - " + key + " not tracked!!");
+        return -1;
+      }
+      id = numStates++;
+      stateKeys[id] = key;
+      stateIds.put(key, id);
+    }
+
+    timeoutUs[id] = stateTimeoutUs;
+    return id;
+  }
+
+  // a state has been left after dwellUs (timedOut if its watchdog moved it on)
+  public static void recordExit(int id, long dwellUs, boolean timedOut) {
+    if (id < 0) return;
+
+    runs[id]++;
+    totalDwellUs[id] += dwellUs;
+    if (dwellUs > maxDwellUs[id]) maxDwellUs[id] = dwellUs;
+
+    stateHandle.set(stateKeys[id]);
+    dwellSecHandle.set(dwellUs / 1e6);
+    maxDwellSecHandle.set(maxDwellUs[id] / 1e6);
+    runsHandle.set(runs[id]);
+
+    if (timedOut) {
+      timeouts[id]++;
+      totalTimeouts++;
+      totalTimeoutsHandle.set(totalTimeouts);
+      lastTimeoutHandle.set(stateKeys[id]);
+    }
+    timeoutsHandle.set(timeouts[id]);
+  }
+
+  // print every state that has run - end of autonomous only (builds strings)
+  public static void report() {
+    System.out.println("AutoStateStats: " + totalTimeouts + " watchdog timeout(s) so far");
+    for (int id = 0; id < numStates; id++) {
+      if (runs[id] == 0) continue;
+
+      System.out.println(
+          String.format(
+              "  %-70s runs %3d  timeouts %3d  avg %5.2fs  max %5.2fs  limit %s",
+              stateKeys[id],
+              runs[id],
+              timeouts[id],
+              totalDwellUs[id] / 1e6 / runs[id],
+              maxDwellUs[id] / 1e6,
+              (timeoutUs[id] > 0) ? String.format("%.1fs", timeoutUs[id] / 1e6) : "none"));
+    }
+  }
+}
@@ -0,0 +1,209 @@
+package frc.team1778.StateMachine;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import frc.team1778.Hardware.HardwareFactory;
+import frc.team1778.NetworkComm.InputOutputComm;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+// Timeline of one autonomous run: every state entered (sub-network states included) with its
+// enter/exit FPGA times, what ended it, and the min/avg/max cost of its process() calls.
+// Entries go into preallocated tables while auto runs (no allocation, nothing published); dump()
+// writes the timeline to the USB stick next to the flight logs and puts a summary on the
+// dashboard once autonomous is over. A run with more than MAX_ENTRIES states keeps the first ones.
+//
+// Timeline file (text, one line per state, times in sec from the start of autonomous):
+//   # <network> | event <name> match <number> | field <game data> | <entries> states, <dropped>
+//   # network, state, enter, exit, dwell, ended by, event, loops, min us, avg us, max us
+//   "<network>","<state>",0.000,2.340,2.340,event,ClosedLoopPositionEvent,117,12,18,95
+// (names are quoted - some contain commas)
+public class AutoTracer {
+
+  public static final int MAX_ENTRIES = 512;
+
+  // what ended a state (index into END_NAMES)
+  public static final int END_RUNNING = 0; // still running when the trace was dumped
+  public static final int END_EVENT = 1; // its events triggered
+  public static final int END_TRANSITION = 2; // one of its transitions was taken
+  public static final int END_WATCHDOG = 3; // its watchdog timed out
+  public static final int END_STOPPED = 4; // the network was exited (end of autonomous)
+
+  public static final String[] END_NAMES = {
+    "running", "event", "transition", "watchdog", "stopped"
+  };
+
+  // USB stick mount point on the roboRIO - simulated runs only write a trace if a directory is
+  // given with -Dfrc1778.autotrace.dir=<dir>
+  private static final String TRACE_DIR = "/U/autotraces";
+  private static final String TRACE_DIR_PROPERTY = "frc1778.autotrace.dir";
+  private static final String TRACE_PREFIX = "autotrace_";
+  private static final String TRACE_SUFFIX = ".csv";
+
+  private static int numEntries = 0;
+  private static int droppedCount = 0;
+  private static long startUs = 0;
+
+  private static final String[] networkNames = new String[MAX_ENTRIES];
+  private static final String[] stateNames = new String[MAX_ENTRIES];
+  private static final long[] enterUs = new long[MAX_ENTRIES];
+  private static final long[] exitUs = new long[MAX_ENTRIES];
+  private static final int[] endCauses = new int[MAX_ENTRIES];
+  private static final Event[] endEvents = new Event[MAX_ENTRIES]; // null if not ended by one
+  private static final int[] loops = new int[MAX_ENTRIES];
+  private static final long[] minProcessUs = new long[MAX_ENTRIES];
+  private static final long[] maxProcessUs = new long[MAX_ENTRIES];
+  private static final long[] totalProcessUs = new long[MAX_ENTRIES];
+
+  // start of autonomous - clears the last run
+  public static void start(long timeUs) {
+    for (int i = 0; i < numEntries; i++) endEvents[i] = null;
+    numEntries = 0;
+    droppedCount = 0;
+    startUs = timeUs;
+  }
+
+  // a state has been entered - returns its entry (-1 if the trace is full)
+  public static int enter(String networkName, String stateName, long timeUs) {
+    if (numEntries >= MAX_ENTRIES) {
+      droppedCount++;
+      return -1;
+    }
+
+    int entry = numEntries++;
+    networkNames[entry] = networkName;
+    stateNames[entry] = stateName;
+    enterUs[entry] = timeUs;
+    exitUs[entry] = timeUs;
+    endCauses[entry] = END_RUNNING;
+    endEvents[entry] = null;
+    loops[entry] = 0;
+    minProcessUs[entry] = Long.MAX_VALUE;
+    maxProcessUs[entry] = 0;
+    totalProcessUs[entry] = 0;
+    return entry;
+  }
+
+  // one process() call of the state took costUs
+  public static void recordProcess(int entry, long costUs) {
+    if (entry < 0) return;
+
+    loops[entry]++;
+    totalProcessUs[entry] += costUs;
+    if (costUs < minProcessUs[entry]) minProcessUs[entry] = costUs;
+    if (costUs > maxProcessUs[entry]) maxProcessUs[entry] = costUs;
+  }
+
+  // the state has been left (event is the one that ended it, null if none)
+  public static void exit(int entry, long timeUs, int cause, Event event) {
+    if (entry < 0) return;
+
+    exitUs[entry] = timeUs;
+    endCauses[entry] = cause;
+    endEvents[entry] = event;
+  }
+
+  public static int getNumEntries() {
+    return numEntries;
+  }
+
+  // end of autonomous only (builds strings, writes a file) - writes the timeline and publishes the
+  // summary
+  public static void dump(String networkName) {
+    if (numEntries == 0) return;
+
+    // slowest state (dwell) and most expensive process() call of the run
+    int slowest = 0;
+    int costliest = 0;
+    for (int i = 1; i < numEntries; i++) {
+      if (exitUs[i] - enterUs[i] > exitUs[slowest] - enterUs[slowest]) slowest = i;
+      if (maxProcessUs[i] > maxProcessUs[costliest]) costliest = i;
+    }
+
+    InputOutputComm.putInt(InputOutputComm.LogTable.kMainLog, "Auto/Trace/States", numEntries);
+    InputOutputComm.putInt(InputOutputComm.LogTable.kMainLog, "Auto/Trace/Dropped", droppedCount);
+    InputOutputComm.putDouble(
+        InputOutputComm.LogTable.kMainLog,
+        "Auto/Trace/TotalSec",
+        (exitUs[numEntries - 1] - startUs) / 1e6);
+    InputOutputComm.putString(
+        InputOutputComm.LogTable.kMainLog,
+        "Auto/Trace/SlowestState",
+        networkNames[slowest] + ": " + stateNames[slowest]);
+    InputOutputComm.putDouble(
+        InputOutputComm.LogTable.kMainLog,
+        "Auto/Trace/SlowestSec",
+        (exitUs[slowest] - enterUs[slowest]) / 1e6);
+    InputOutputComm.putString(
+        InputOutputComm.LogTable.kMainLog,
+        "Auto/Trace/CostliestState",
+        networkNames[costliest] + ": " + stateNames[costliest]);
+    InputOutputComm.putDouble(
+        InputOutputComm.LogTable.kMainLog, "Auto/Trace/CostliestUs", maxProcessUs[costliest]);
+
+    writeTimeline(networkName);
+  }
+
+  private static void writeTimeline(String networkName) {
+    String traceDir = System.getProperty(TRACE_DIR_PROPERTY);
+    if (traceDir == null) {
+      if (HardwareFactory.isSimulated()) return;
+      traceDir = TRACE_DIR;
+    }
+
+    File dir = new File(traceDir);
+    if (!dir.isDirectory() && !dir.mkdirs()) {
+      System.out.println("AutoTracer: no USB stick at " + traceDir + " - timeline not written");
+      return;
+    }
+
+    // pick the next free trace number
+    int traceNum = 0;
+    while (new File(dir, TRACE_PREFIX + traceNum + TRACE_SUFFIX).exists()) traceNum++;
+    File file = new File(dir, TRACE_PREFIX + traceNum + TRACE_SUFFIX);
+
+    DriverStation ds = DriverStation.getInstance();
+    try (PrintWriter out = new PrintWriter(new FileWriter(file))) {
+      out.println(
+          "# "
+              + networkName
+              + " | event "
+              + ds.getEventName()
+              + " match "
+              + ds.getMatchNumber()
+              + " | field "
+              + ds.getGameSpecificMessage()
+              + " | "
+              + numEntries
+              + " states, "
+              + droppedCount
+              + " dropped");
+      out.println(
+          "# network, state, enter, exit, dwell, ended by, event, loops, min us, avg us, max us");
+
+      for (int i = 0; i < numEntries; i++) {
+        out.println(
+            String.format(
+                "\"%s\",\"%s\",%.3f,%.3f,%.3f,%s,%s,%d,%d,%d,%d",
+                networkNames[i],
+                stateNames[i],
+                (enterUs[i] - startUs) / 1e6,
+                (exitUs[i] - startUs) / 1e6,
+                (exitUs[i] - enterUs[i]) / 1e6,
+                END_NAMES[endCauses[i]],
+                (endEvents[i] != null) ? endEvents[i].getClass().getSimpleName() : "",
+                loops[i],
+                (loops[i] > 0) ? minProcessUs[i] : 0,
+                (loops[i] > 0) ? totalProcessUs[i] / loops[i] : 0,
+                maxProcessUs[i]));
+      }
+
+      System.out.println("AutoTracer: timeline written to " + file.getPath());
+      InputOutputComm.putString(
+          InputOutputComm.LogTable.kMainLog, "Auto/Trace/File", file.getPath());
+    } catch (IOException e) {
+      System.out.println("AutoTracer: unable to write " + file.getPath() + " - " + e);
+    }
+  }
+}
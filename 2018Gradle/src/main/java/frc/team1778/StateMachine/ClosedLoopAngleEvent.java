@@ -1,8 +1,9 @@
 package frc.team1778.StateMachine;
 
-import edu.wpi.first.wpilibj.Utility;
-import frc.team1778.NetworkComm.InputOutputComm;
+import frc.team1778.Hardware.HardwareFactory;
+import frc.team1778.Systems.DriveAssembly;
 import frc.team1778.Systems.NavXSensor;
+import frc.team1778.Systems.SensorFrame;
 import java.util.prefs.Preferences;
 
 // event triggered when closed-loop gyro gets to a certain predetermined angle
@@ -16,9 +17,6 @@ public class ClosedLoopAngleEvent extends Event {
 
   private long startTimeUs = 0;
 
-  private InputOutputComm ioComm;
-  private NavXSensor navX;
-
   public ClosedLoopAngleEvent(double targetAngleDeg, double errorDeg, double durationSec) {
     this.name = "<Gyro Angle Event>";
 
@@ -27,47 +25,31 @@ public class ClosedLoopAngleEvent extends Event {
     this.durationSec = durationSec;
 
     NavXSensor.initialize();
-    InputOutputComm.initialize();
   }
 
   // overloaded initialize method
   public void initialize() {
     // System.out.println("GyroAngleEvent initialized!");
 
-    startTimeUs = Utility.getFPGATime();
+    startTimeUs = HardwareFactory.getFPGATime();
 
     super.initialize();
   }
 
-  private double getGyroAngle() {
-
-    double gyroAngle = NavXSensor.getAngle(); // continuous angle (can be larger than 360 deg)
-
-    // send output data for test & debug
-    InputOutputComm.putBoolean(
-        InputOutputComm.LogTable.kMainLog, "Auto/IMU_Connected", navX.isConnected());
-    InputOutputComm.putBoolean(
-        InputOutputComm.LogTable.kMainLog, "Auto/IMU_Calibrating", navX.isCalibrating());
-
-    // System.out.println("gyroAngle = " + gyroAngle);
-    InputOutputComm.putDouble(InputOutputComm.LogTable.kMainLog, "Auto/GyroAngle", gyroAngle);
-
-    return gyroAngle;
-  }
-
   // overloaded trigger method
-  public boolean isTriggered() {
-    double gyroAngle = getGyroAngle();
+  public boolean isTriggered(SensorFrame sensors) {
+    // measured from where a chained turn started
+    double gyroAngle = sensors.getGyroAngleDeg() - DriveAssembly.getHeadingOriginDeg();
 
     if (Math.abs(gyroAngle - targetAngleDeg) > errorDeg) {
 
       // outside error range...
       // reset timer and return false
-      startTimeUs = Utility.getFPGATime();
+      startTimeUs = sensors.getTimestampUs();
       return false;
     }
 
-    long currentTimeUs = Utility.getFPGATime();
+    long currentTimeUs = sensors.getTimestampUs();
     double delta = (currentTimeUs - startTimeUs) / 1e6;
     // System.out.println("delta = " + delta + " duration = " + durationSec);
 
@@ -1,7 +1,8 @@
 package frc.team1778.StateMachine;
 
-import edu.wpi.first.wpilibj.RobotController;
+import frc.team1778.Hardware.HardwareFactory;
 import frc.team1778.Systems.DriveAssembly;
+import frc.team1778.Systems.SensorFrame;
 
 // event triggered when closed loop position control gets to within an error range of target for a
 // time period
@@ -34,26 +35,26 @@ public class ClosedLoopPositionEvent extends Event {
   public void initialize() {
     // System.out.println("ClosedLoopPositionEvent initialized!");
     // startTimeUs = Utility.getFPGATime();   // deprecated
-    startTimeUs = RobotController.getFPGATime();
+    startTimeUs = HardwareFactory.getFPGATime();
 
     super.initialize();
   }
 
   // overloaded trigger method
-  public boolean isTriggered() {
-    // measure current position error
-    double actualPosInches = DriveAssembly.getDistanceInches();
+  public boolean isTriggered(SensorFrame sensors) {
+    // measure current position error (from where a chained drive started)
+    double actualPosInches = sensors.getDistanceInches() - DriveAssembly.getDistanceOriginInches();
     double errorPosInches = Math.abs(targetPosInches - actualPosInches);
     if (errorPosInches > errorThresholdInches) {
       // outside error range...
       // reset timer
       // startTimeUs = Utility.getFPGATime();    // deprecated
-      startTimeUs = RobotController.getFPGATime();
+      startTimeUs = sensors.getTimestampUs();
       return false;
     }
 
     // long currentTimeUs = Utility.getFPGATime();    // deprecated
-    long currentTimeUs = RobotController.getFPGATime();
+    long currentTimeUs = sensors.getTimestampUs();
     double delta = (currentTimeUs - startTimeUs) / 1e6;
     // System.out.println("delta = " + delta + " duration = " + durationSec);
 
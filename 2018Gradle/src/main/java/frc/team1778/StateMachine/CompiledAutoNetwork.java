@@ -0,0 +1,321 @@
+package frc.team1778.StateMachine;
+
+import frc.team1778.Hardware.HardwareFactory;
+import frc.team1778.NetworkComm.InputOutputComm;
+import frc.team1778.Systems.SensorFrame;
+import frc.team1778.Utility.LoopProfiler;
+
+// An AutoNetwork flattened into indexed tables for running on the robot.
+// Built once (at robotInit) from a fully wired network: every state becomes an index, the actions
+// and events of all states are packed into two arrays (state i owns actions[actionStart[i]] up to
+// actions[actionStart[i + 1]], same for events and transitions), and each state's next state and
+// transition targets are stored as indexes.
+// Running it only walks arrays - no iterators, no name lookups, no allocation - and the current
+// state is published only when it changes. Every state left is timed into AutoStateStats, and a
+// state with a watchdog (AutoState.setTimeout) moves on once it has run too long. Each state run
+// is also added to the AutoTracer timeline, with what ended it and the cost of its processing.
+// The network's Action and Event objects are shared, not copied - run either the network or its
+// compiled form, not both at once.
+// A network finishes when a state with no next state has its events trigger: that state is exited
+// and the network stops (isFinished). This is how a sub-network run by a state (SubNetworkAction)
+// tells its parent it is done. A state with no next state and no events (idle) runs until exit().
+public class CompiledAutoNetwork {
+
+  // next state index meaning "no next state"
+  public static final int NO_STATE = -1;
+
+  // processState() result when the state carries on
+  private static final int STAY = -2;
+
+  public final String name;
+
+  private final int numStates;
+  private final String[] stateNames;
+  private final int[] nextStates;
+  private final boolean[] allEventsTrigger;
+  private final long[] timeoutUs; // 0 if no watchdog
+  private final int[] timeoutStates;
+  private final int[] statsIds;
+
+  private final Action[] actions;
+  private final int[] actionStart;
+  private final Event[] events;
+  private final int[] eventStart;
+
+  // transitions in priority order
+  private final Event[] transitionEvents;
+  private final Guard[] transitionGuards;
+  private final int[] transitionTargets;
+  private final int[] transitionStart;
+
+  private int currentState = NO_STATE;
+  private long stateEnteredUs = 0;
+  private boolean finished = false;
+
+  // AutoTracer entry of the current state, and what ended it (set by processState)
+  private int traceEntry = -1;
+  private int endCause = AutoTracer.END_EVENT;
+  private Event endEvent;
+
+  // only the top-level network publishes its current state (sub-networks run inside one of its
+  // states)
+  private final boolean publishState;
+
+  // telemetry channels
+  private static InputOutputComm.IntHandle currentStateIndexHandle;
+  private static InputOutputComm.StringHandle currentStateHandle;
+
+  public CompiledAutoNetwork(AutoNetwork network) {
+    this(network, true);
+  }
+
+  public CompiledAutoNetwork(AutoNetwork network, boolean publishState) {
+    name = network.name;
+    this.publishState = publishState;
+
+    numStates = network.states.size();
+    stateNames = new String[numStates];
+    nextStates = new int[numStates];
+    allEventsTrigger = new boolean[numStates];
+    timeoutUs = new long[numStates];
+    timeoutStates = new int[numStates];
+    statsIds = new int[numStates];
+    actionStart = new int[numStates + 1];
+    eventStart = new int[numStates + 1];
+    transitionStart = new int[numStates + 1];
+
+    // count actions, events and transitions so they can be packed
+    int numActions = 0;
+    int numEvents = 0;
+    int numTransitions = 0;
+    for (AutoState state : network.states) {
+      numActions += state.actionList.size();
+      numEvents += state.eventList.size();
+      numTransitions += state.transitionList.size();
+    }
+    actions = new Action[numActions];
+    events = new Event[numEvents];
+    transitionEvents = new Event[numTransitions];
+    transitionGuards = new Guard[numTransitions];
+    transitionTargets = new int[numTransitions];
+
+    int actionIndex = 0;
+    int eventIndex = 0;
+    int transitionIndex = 0;
+    for (int i = 0; i < numStates; i++) {
+      AutoState state = network.states.get(i);
+
+      stateNames[i] = state.name;
+      allEventsTrigger[i] = state.allEventsTrigger;
+      nextStates[i] = indexOf(network, state.nextState);
+      timeoutUs[i] = (long) (state.timeoutSec * 1e6);
+      timeoutStates[i] =
+          (state.timeoutState != null) ? indexOf(network, state.timeoutState) : nextStates[i];
+      statsIds[i] = AutoStateStats.register(network.name, state.name, timeoutUs[i]);
+
+      actionStart[i] = actionIndex;
+      for (Action a : state.actionList) actions[actionIndex++] = a;
+
+      eventStart[i] = eventIndex;
+      for (Event e : state.eventList) events[eventIndex++] = e;
+
+      transitionStart[i] = transitionIndex;
+      for (Transition t : state.transitionList) {
+        transitionEvents[transitionIndex] = t.event;
+        transitionGuards[transitionIndex] = t.guard;
+        transitionTargets[transitionIndex] = indexOf(network, t.target);
+        transitionIndex++;
+      }
+    }
+    actionStart[numStates] = actionIndex;
+    eventStart[numStates] = eventIndex;
+    transitionStart[numStates] = transitionIndex;
+
+    registerTelemetry();
+  }
+
+  private static void registerTelemetry() {
+    if (currentStateHandle != null) return;
+
+    currentStateIndexHandle =
+        InputOutputComm.registerInt(
+            InputOutputComm.LogTable.kMainLog, "Auto/AutoSM_currentStateIndex");
+    currentStateHandle =
+        InputOutputComm.registerString(
+            InputOutputComm.LogTable.kMainLog, "Auto/AutoSM_currentState");
+  }
+
+  // index of a state in the network (NO_STATE if null or not part of the network)
+  private static int indexOf(AutoNetwork network, AutoState state) {
+    if (state == null) return NO_STATE;
+
+    int index = network.states.indexOf(state);
+    if (index < 0) {
+      System.out.println(
+          "CompiledAutoNetwork: " + state.name + " is not in " + network.name + " - ignored!!");
+    }
+    return index;
+  }
+
+  public int getNumStates() {
+    return numStates;
+  }
+
+  public int getCurrentStateIndex() {
+    return currentState;
+  }
+
+  public String getStateName(int state) {
+    return stateNames[state];
+  }
+
+  public boolean isFinished() {
+    return finished;
+  }
+
+  // nothing left to do - finished, or in a state that can never be left (idle: no next state,
+  // events, transitions or watchdog)
+  public boolean isAtRest() {
+    if (finished) return true;
+    if (currentState == NO_STATE) return false;
+
+    int state = currentState;
+    return (nextStates[state] == NO_STATE)
+        && (eventStart[state] == eventStart[state + 1])
+        && (transitionStart[state] == transitionStart[state + 1])
+        && (timeoutUs[state] == 0);
+  }
+
+  public void enter() {
+    finished = false;
+
+    // start in the first state
+    if (numStates > 0) enterState(0);
+  }
+
+  public void process(SensorFrame sensors) {
+    if (currentState == NO_STATE) return;
+
+    long startUs = LoopProfiler.now();
+    int nextState = processState(currentState, sensors);
+    AutoTracer.recordProcess(traceEntry, LoopProfiler.now() - startUs);
+
+    long timeUs = sensors.getTimestampUs();
+    boolean timedOut = false;
+
+    if ((nextState == STAY)
+        && (timeoutUs[currentState] > 0)
+        && ((timeUs - stateEnteredUs) > timeoutUs[currentState])) {
+      // watchdog - the state has run too long
+      nextState = timeoutStates[currentState];
+      timedOut = true;
+      endCause = AutoTracer.END_WATCHDOG;
+      endEvent = null;
+    }
+    if (nextState == STAY) return;
+
+    if (nextState == NO_STATE) {
+      // last state done - the network is finished
+      exitState(currentState, timeUs, timedOut);
+      currentState = NO_STATE;
+      finished = true;
+    } else if (nextState != currentState) {
+      // time to change state
+      exitState(currentState, timeUs, timedOut);
+      enterState(nextState);
+    }
+  }
+
+  public void exit() {
+    if (currentState != NO_STATE) {
+      endCause = AutoTracer.END_STOPPED;
+      endEvent = null;
+      exitState(currentState, HardwareFactory.getFPGATime(), false);
+    }
+    currentState = NO_STATE;
+  }
+
+  // same rules as AutoState.process() - returns the state to move on to (NO_STATE to finish) or
+  // STAY, noting what ended the state
+  private int processState(int state, SensorFrame sensors) {
+    // each action and event is timed by the loop profiler (end time of one starts the next)
+    long timeUs = LoopProfiler.now();
+
+    for (int i = actionStart[state]; i < actionStart[state + 1]; i++) {
+      Action a = actions[i];
+      a.process(sensors);
+      timeUs = LoopProfiler.record(a.timingStage, timeUs);
+    }
+
+    // the first transition taken picks the next state
+    for (int i = transitionStart[state]; i < transitionStart[state + 1]; i++) {
+      Event e = transitionEvents[i];
+      boolean triggered = e.isTriggered(sensors);
+      timeUs = LoopProfiler.record(e.timingStage, timeUs);
+
+      if (triggered && ((transitionGuards[i] == null) || transitionGuards[i].isTrue(sensors))) {
+        endCause = AutoTracer.END_TRANSITION;
+        endEvent = e;
+        return transitionTargets[i];
+      }
+    }
+
+    int firstEvent = eventStart[state];
+    int lastEvent = eventStart[state + 1];
+
+    if (allEventsTrigger[state]) {
+      // all events must trigger to move to next state
+      for (int i = firstEvent; i < lastEvent; i++) {
+        Event e = events[i];
+        boolean triggered = e.isTriggered(sensors);
+        timeUs = LoopProfiler.record(e.timingStage, timeUs);
+
+        if (!triggered) return STAY;
+      }
+
+      // the last event completes the set
+      endCause = AutoTracer.END_EVENT;
+      endEvent = (lastEvent > firstEvent) ? events[lastEvent - 1] : null;
+      return nextStates[state];
+    }
+
+    // any event triggers the move to next state
+    for (int i = firstEvent; i < lastEvent; i++) {
+      Event e = events[i];
+      boolean triggered = e.isTriggered(sensors);
+      timeUs = LoopProfiler.record(e.timingStage, timeUs);
+
+      if (triggered) {
+        endCause = AutoTracer.END_EVENT;
+        endEvent = e;
+        return nextStates[state];
+      }
+    }
+
+    return STAY;
+  }
+
+  private void enterState(int state) {
+    currentState = state;
+    stateEnteredUs = HardwareFactory.getFPGATime();
+    traceEntry = AutoTracer.enter(name, stateNames[state], stateEnteredUs);
+
+    for (int i = actionStart[state]; i < actionStart[state + 1]; i++) actions[i].initialize();
+    for (int i = eventStart[state]; i < eventStart[state + 1]; i++) events[i].initialize();
+    for (int i = transitionStart[state]; i < transitionStart[state + 1]; i++)
+      transitionEvents[i].initialize();
+
+    if (publishState) {
+      currentStateIndexHandle.set(state);
+      currentStateHandle.set(stateNames[state]);
+    }
+  }
+
+  private void exitState(int state, long timeUs, boolean timedOut) {
+    for (int i = actionStart[state]; i < actionStart[state + 1]; i++) actions[i].cleanup();
+
+    AutoStateStats.recordExit(statsIds[state], timeUs - stateEnteredUs, timedOut);
+    AutoTracer.exit(traceEntry, timeUs, endCause, endEvent);
+    traceEntry = -1;
+  }
+}
@@ -2,6 +2,7 @@ package frc.team1778.StateMachine;
 
 import frc.team1778.NetworkComm.InputOutputComm;
 import frc.team1778.Systems.CubeManagement;
+import frc.team1778.Systems.SensorFrame;
 
 public class DepositCubeAction extends Action {
 
@@ -31,10 +32,10 @@ public class DepositCubeAction extends Action {
   }
 
   // called periodically
-  public void process() {
+  public void process(SensorFrame sensors) {
 
     // do some stuff - nothing specific required for flipper
-    super.process();
+    super.process(sensors);
   }
 
   // state cleanup and exit
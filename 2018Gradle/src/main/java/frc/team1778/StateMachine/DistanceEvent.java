@@ -2,16 +2,21 @@ package frc.team1778.StateMachine;
 
 import frc.team1778.NetworkComm.InputOutputComm;
 import frc.team1778.Systems.DriveAssembly;
+import frc.team1778.Systems.SensorFrame;
 
 public class DistanceEvent extends Event {
   private String name;
   private double desiredDistanceInches;
 
+  // telemetry channels
+  private static InputOutputComm.DoubleHandle currentDistanceHandle;
+
   public DistanceEvent() {
     this.name = "<Distance Event>";
     this.desiredDistanceInches = 0.0;
     DriveAssembly.initialize();
     InputOutputComm.initialize();
+    registerTelemetry();
   }
 
   public DistanceEvent(double distanceInches) {
@@ -19,6 +24,12 @@ public class DistanceEvent extends Event {
     this.desiredDistanceInches = distanceInches;
     DriveAssembly.initialize();
     InputOutputComm.initialize();
+    registerTelemetry();
+  }
+
+  private static void registerTelemetry() {
+    currentDistanceHandle =
+        InputOutputComm.registerDouble(InputOutputComm.LogTable.kMainLog, "Auto/CurrentDistance");
   }
 
   // overloaded initialize method
@@ -32,23 +43,21 @@ public class DistanceEvent extends Event {
     this.desiredDistanceInches = distanceInches;
   }
 
-  public double getDistance() {
+  public double getDistance(SensorFrame sensors) {
 
-    double currentDistanceInches = DriveAssembly.getDistanceInches();
+    double currentDistanceInches = sensors.getDistanceInches();
 
-    String distStr = String.format("%.2f", currentDistanceInches);
-    String myString = new String("currentDistanceInches = " + distStr);
-    // System.out.println(myString);
-    InputOutputComm.putString(InputOutputComm.LogTable.kMainLog, "Auto/CurrentDistance", myString);
+    // System.out.println("currentDistanceInches = " + currentDistanceInches);
+    currentDistanceHandle.set(currentDistanceInches);
 
     return currentDistanceInches;
   }
 
   // overloaded trigger method
-  public boolean isTriggered() {
+  public boolean isTriggered(SensorFrame sensors) {
     // System.out.println("currentRangeInInches = " + currentRangeInches);
 
-    if (getDistance() >= desiredDistanceInches) {
+    if (getDistance(sensors) >= desiredDistanceInches) {
       System.out.println("DistanceEvent triggered!");
       return true;
     }
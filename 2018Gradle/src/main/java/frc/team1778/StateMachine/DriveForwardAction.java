@@ -1,8 +1,8 @@
 package frc.team1778.StateMachine;
 
-import frc.team1778.NetworkComm.InputOutputComm;
 import frc.team1778.Systems.DriveAssembly;
 import frc.team1778.Systems.NavXSensor;
+import frc.team1778.Systems.SensorFrame;
 import java.util.prefs.Preferences;
 
 public class DriveForwardAction extends Action {
@@ -20,7 +20,6 @@ public class DriveForwardAction extends Action {
 
     DriveAssembly.initialize();
     NavXSensor.initialize();
-    InputOutputComm.initialize();
   }
 
   public DriveForwardAction(String name, double speed, boolean resetGyro, double headingDeg) {
@@ -31,26 +30,6 @@ public class DriveForwardAction extends Action {
 
     DriveAssembly.initialize();
     NavXSensor.initialize();
-    InputOutputComm.initialize();
-  }
-
-  private double getGyroAngle() {
-    // double gyroAngle = 0.0;
-    // double gyroAngle = NavXSensor.getYaw();  // -180 deg to +180 deg
-    double gyroAngle = NavXSensor.getAngle(); // continuous angle (can be larger than 360 deg)
-
-    // System.out.println("autoPeriodicStraight:  Gyro angle = " + gyroAngle);
-
-    // send output data for test & debug
-    InputOutputComm.putBoolean(
-        InputOutputComm.LogTable.kMainLog, "Auto/IMU_Connected", NavXSensor.isConnected());
-    InputOutputComm.putBoolean(
-        InputOutputComm.LogTable.kMainLog, "Auto/IMU_Calibrating", NavXSensor.isCalibrating());
-
-    // System.out.println("gyroAngle = " + gyroAngle);
-    InputOutputComm.putDouble(InputOutputComm.LogTable.kMainLog, "Auto/GyroAngle", gyroAngle);
-
-    return gyroAngle;
   }
 
   // action entry
@@ -63,17 +42,13 @@ public class DriveForwardAction extends Action {
   }
 
   // called periodically
-  public void process() {
+  public void process(SensorFrame sensors) {
 
     // do some drivey stuff
 
-    DriveAssembly.autoGyroStraight(speed);
-
-    // get gyro angle
-    // (not used for anything else here except reporting to driver)
-    getGyroAngle();
+    DriveAssembly.autoGyroStraight(speed, sensors.getGyroAngleDeg());
 
-    super.process();
+    super.process(sensors);
   }
 
   // state cleanup and exit
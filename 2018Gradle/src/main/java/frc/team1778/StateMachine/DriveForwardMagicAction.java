@@ -1,6 +1,7 @@
 package frc.team1778.StateMachine;
 
 import frc.team1778.Systems.DriveAssembly;
+import frc.team1778.Systems.SensorFrame;
 import java.util.prefs.Preferences;
 
 public class DriveForwardMagicAction extends Action {
@@ -12,6 +13,7 @@ public class DriveForwardMagicAction extends Action {
   private int accelRpm = 0;
   private boolean resetGyro = false;
   private double headingDeg = 0.0; // angle to use if gyro not reset
+  private boolean chain = false; // carry on from the last drive's target without stopping
 
   public DriveForwardMagicAction(
       double targetPosInches, int speedRpm, int accelRpm, boolean resetGyro, double headingDeg) {
@@ -44,29 +46,49 @@ public class DriveForwardMagicAction extends Action {
     DriveAssembly.initialize();
   }
 
+  // chained drive - the encoders are not zeroed and the motors are not stopped on exit, so the
+  // robot rolls straight into the next drive or turn (targetPosInches is relative to the end of the
+  // last drive; resetGyro and headingDeg are not used)
+  public DriveForwardMagicAction(
+      String name,
+      double targetPosInches,
+      int speedRpm,
+      int accelRpm,
+      boolean resetGyro,
+      double headingDeg,
+      boolean chain) {
+    this(name, targetPosInches, speedRpm, accelRpm, resetGyro, headingDeg);
+    this.chain = chain;
+  }
+
   // action entry
   public void initialize() {
     // do some drivey initialization
 
-    DriveAssembly.autoInit(resetGyro, headingDeg, true);
-    DriveAssembly.autoMagicStraight(targetPosInches, speedRpm, accelRpm);
+    if (chain) {
+      DriveAssembly.autoMagicStraightChained(targetPosInches, speedRpm, accelRpm);
+    } else {
+      DriveAssembly.autoInit(resetGyro, headingDeg, true);
+      DriveAssembly.autoMagicStraight(targetPosInches, speedRpm, accelRpm);
+    }
 
     super.initialize();
   }
 
   // called periodically
-  public void process() {
+  public void process(SensorFrame sensors) {
 
     // do some drivey stuff
 
-    super.process();
+    super.process(sensors);
   }
 
   // state cleanup and exit
   public void cleanup() {
     // do some drivey cleanup
 
-    DriveAssembly.autoStop();
+    // a chained drive leaves the motors on their target for whatever comes next
+    if (!chain) DriveAssembly.autoStop();
 
     // cleanup base class
     super.cleanup();
@@ -1,5 +1,7 @@
 package frc.team1778.StateMachine;
 
+import frc.team1778.Systems.SensorFrame;
+import frc.team1778.Utility.LoopProfiler;
 import java.util.prefs.Preferences;
 
 public class Event {
@@ -7,13 +9,18 @@ public class Event {
   public String name;
   protected boolean triggered = false;
 
+  // loop profiler stage - shared by all events of the same class
+  protected final int timingStage;
+
   public Event() {
     name = "<Generic Event>";
+    timingStage = LoopProfiler.registerStage("Event/" + getClass().getSimpleName());
   }
 
   public void initialize() {}
 
-  public boolean isTriggered() {
+  // called periodically with the sensor frame captured at the top of the loop
+  public boolean isTriggered(SensorFrame sensors) {
     return triggered;
   }
 
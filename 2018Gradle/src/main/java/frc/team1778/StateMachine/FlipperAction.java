@@ -2,6 +2,7 @@ package frc.team1778.StateMachine;
 
 import frc.team1778.NetworkComm.InputOutputComm;
 import frc.team1778.Systems.CubeManagement;
+import frc.team1778.Systems.SensorFrame;
 
 public class FlipperAction extends Action {
 
@@ -30,10 +31,10 @@ public class FlipperAction extends Action {
   }
 
   // called periodically
-  public void process() {
+  public void process(SensorFrame sensors) {
 
     // do some stuff - nothing specific required for flipper
-    super.process();
+    super.process(sensors);
   }
 
   // state cleanup and exit
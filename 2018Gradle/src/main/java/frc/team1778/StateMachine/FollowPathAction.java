@@ -0,0 +1,44 @@
+package frc.team1778.StateMachine;
+
+import frc.team1778.Paths.PathStore;
+import frc.team1778.Systems.PathFollower;
+import frc.team1778.Systems.SensorFrame;
+
+// follows one of the generated paths (PathStore index) on the path follower's own thread - the
+// state only waits for PathCompleteEvent (a missing path completes at once)
+public class FollowPathAction extends Action {
+
+  private int pathIndex = 0;
+
+  public FollowPathAction(String name, int pathIndex) {
+    this.name = name;
+    this.pathIndex = pathIndex;
+
+    PathStore.initialize();
+    PathFollower.initialize();
+  }
+
+  // action entry
+  public void initialize() {
+
+    PathFollower.start(PathStore.getTrajectory(pathIndex));
+
+    super.initialize();
+  }
+
+  // called periodically
+  public void process(SensorFrame sensors) {
+
+    // nothing to do - the follower drives the robot between robot loops
+    super.process(sensors);
+  }
+
+  // action cleanup and exit
+  public void cleanup() {
+
+    PathFollower.stop();
+
+    // cleanup base class
+    super.cleanup();
+  }
+}
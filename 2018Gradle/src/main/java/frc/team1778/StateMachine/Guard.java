@@ -0,0 +1,60 @@
+package frc.team1778.StateMachine;
+
+import frc.team1778.Systems.SensorFrame;
+
+// condition on the sensor frame that a transition must also meet when its event triggers (see
+// AutoState.addTransition) - e.g. only carry on after a turn times out if the gyro is close enough
+// to the target. Switches read as 1.0 when on, 0.0 when off.
+public class Guard {
+
+  public enum Sensor {
+    kDistance, // inches (drive distance used by auto)
+    kGyroAngle, // degrees
+    kLiftUpperLimit,
+    kLiftLowerLimit,
+    kImuConnected,
+    kBatteryVoltage
+  };
+
+  // which side of the value meets the guard
+  public enum Comparison {
+    kGreaterThan,
+    kLessThan
+  };
+
+  public final Sensor sensor;
+  public final Comparison comparison;
+  public final double value;
+
+  public Guard(Sensor sensor, Comparison comparison, double value) {
+    this.sensor = sensor;
+    this.comparison = comparison;
+    this.value = value;
+  }
+
+  public boolean isTrue(SensorFrame sensors) {
+    double reading;
+    switch (sensor) {
+      case kDistance:
+        reading = sensors.getDistanceInches();
+        break;
+      case kGyroAngle:
+        reading = sensors.getGyroAngleDeg();
+        break;
+      case kLiftUpperLimit:
+        reading = sensors.isLiftUpperLimit() ? 1.0 : 0.0;
+        break;
+      case kLiftLowerLimit:
+        reading = sensors.isLiftLowerLimit() ? 1.0 : 0.0;
+        break;
+      case kImuConnected:
+        reading = sensors.isImuConnected() ? 1.0 : 0.0;
+        break;
+      default:
+        reading = sensors.getBatteryVoltage();
+    }
+
+    if (comparison == Comparison.kGreaterThan) return reading > value;
+    return reading < value;
+  }
+}
@@ -1,7 +1,7 @@
 package frc.team1778.StateMachine;
 
-import frc.team1778.NetworkComm.InputOutputComm;
 import frc.team1778.Systems.NavXSensor;
+import frc.team1778.Systems.SensorFrame;
 import java.util.prefs.Preferences;
 
 // event triggered when gyro gets to a certain predetermined angle
@@ -28,7 +28,6 @@ public class GyroAngleEvent extends Event {
     this.polarity = polarity;
 
     NavXSensor.initialize();
-    InputOutputComm.initialize();
   }
 
   // overloaded initialize method
@@ -39,29 +38,10 @@ public class GyroAngleEvent extends Event {
     super.initialize();
   }
 
-  private double getGyroAngle() {
-    // double gyroAngle = 0.0;
-    // double gyroAngle = navX.getYaw();  // -180 deg to +180 deg
-    double gyroAngle = NavXSensor.getAngle(); // continuous angle (can be larger than 360 deg)
-
-    // System.out.println("autoPeriodicStraight:  Gyro angle = " + gyroAngle);
-
-    // send output data for test & debug
-    InputOutputComm.putBoolean(
-        InputOutputComm.LogTable.kMainLog, "Auto/IMU_Connected", NavXSensor.isConnected());
-    InputOutputComm.putBoolean(
-        InputOutputComm.LogTable.kMainLog, "Auto/IMU_Calibrating", NavXSensor.isCalibrating());
-
-    // System.out.println("gyroAngle = " + gyroAngle);
-    InputOutputComm.putDouble(InputOutputComm.LogTable.kMainLog, "Auto/GyroAngle", gyroAngle);
-
-    return gyroAngle;
-  }
-
   // overloaded trigger method
-  public boolean isTriggered() {
+  public boolean isTriggered(SensorFrame sensors) {
 
-    double gyroAngle = getGyroAngle();
+    double gyroAngle = sensors.getGyroAngleDeg();
 
     if (polarity == AnglePolarity.kGreaterThan) {
       // trigger only if angle is greater than target
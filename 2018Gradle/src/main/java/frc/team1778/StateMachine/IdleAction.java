@@ -1,7 +1,7 @@
 package frc.team1778.StateMachine;
 
-import frc.team1778.NetworkComm.InputOutputComm;
 import frc.team1778.Systems.NavXSensor;
+import frc.team1778.Systems.SensorFrame;
 import java.util.prefs.Preferences;
 
 public class IdleAction extends Action {
@@ -9,36 +9,14 @@ public class IdleAction extends Action {
   public IdleAction() {
     this.name = "<Idle Action>";
     NavXSensor.initialize();
-    InputOutputComm.initialize();
-  }
-
-  private double getGyroAngle() {
-    // double gyroAngle = 0.0;
-    // double gyroAngle = NavXSensor.getYaw();  // -180 deg to +180 deg
-    double gyroAngle = NavXSensor.getAngle(); // continuous angle (can be larger than 360 deg)
-
-    // System.out.println("autoPeriodicStraight:  Gyro angle = " + gyroAngle);
-
-    // send output data for test & debug
-    InputOutputComm.putBoolean(
-        InputOutputComm.LogTable.kMainLog, "Auto/IMU_Connected", NavXSensor.isConnected());
-    InputOutputComm.putBoolean(
-        InputOutputComm.LogTable.kMainLog, "Auto/IMU_Calibrating", NavXSensor.isCalibrating());
-
-    // System.out.println("gyroAngle = " + gyroAngle);
-    InputOutputComm.putDouble(InputOutputComm.LogTable.kMainLog, "Auto/GyroAngle", gyroAngle);
-
-    return gyroAngle;
   }
 
   public void initialize() {
     super.initialize();
   }
 
-  public void process() {
-    getGyroAngle();
-
-    super.process();
+  public void process(SensorFrame sensors) {
+    super.process(sensors);
   }
 
   public void cleanup() {
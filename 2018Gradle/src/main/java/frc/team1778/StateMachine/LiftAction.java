@@ -1,11 +1,18 @@
 package frc.team1778.StateMachine;
 
-import edu.wpi.first.wpilibj.Timer;
 import frc.team1778.NetworkComm.InputOutputComm;
 import frc.team1778.Systems.CubeManagement;
+import frc.team1778.Systems.SensorFrame;
 
 public class LiftAction extends Action {
 
+  // time for the brake to disengage before the lift is started (sec)
+  public static final double BRAKE_RELEASE_SEC = 0.2;
+
+  // sub-steps
+  private static final int STEP_RELEASE_BRAKE = 0;
+  private static final int STEP_RUN_LIFT = 1;
+
   private String name;
   private double liftStrength = 0;
 
@@ -31,20 +38,22 @@ public class LiftAction extends Action {
     // First turn off brake
     CubeManagement.liftBrakeOff();
 
-    // Wait a fraction of a second for brake to disengage
-    Timer.delay(0.2);
-
-    // do some lift initialization, start the lift
-    CubeManagement.runLift(liftStrength);
-
     super.initialize();
+
+    // Wait a fraction of a second for brake to disengage (lift is started in process)
+    setStep(STEP_RELEASE_BRAKE);
   }
 
   // called periodically
-  public void process() {
+  public void process(SensorFrame sensors) {
+
+    // start the lift once the brake is off
+    if ((getStep() == STEP_RELEASE_BRAKE) && stepElapsed(sensors, BRAKE_RELEASE_SEC)) {
+      CubeManagement.runLift(liftStrength);
+      setStep(STEP_RUN_LIFT);
+    }
 
-    // do some lift stuff
-    super.process();
+    super.process(sensors);
   }
 
   // state cleanup and exit
@@ -53,12 +62,9 @@ public class LiftAction extends Action {
     // turn off lift motors
     CubeManagement.runLift(0);
 
-    // turn brake back on
+    // turn brake back on - it engages on its own, no need to hold up the next state
     CubeManagement.liftBrakeOn();
 
-    // Wait a fraction of a second for brake to engage
-    Timer.delay(0.2);
-
     // cleanup base class
     super.cleanup();
   }
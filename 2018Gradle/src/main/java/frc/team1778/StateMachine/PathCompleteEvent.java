@@ -0,0 +1,21 @@
+package frc.team1778.StateMachine;
+
+import frc.team1778.Systems.PathFollower;
+import frc.team1778.Systems.ProfileStreamer;
+import frc.team1778.Systems.SensorFrame;
+
+// event triggered when the path started by a FollowPathAction or StreamPathAction has been driven
+// to its end
+public class PathCompleteEvent extends Event {
+
+  public PathCompleteEvent() {
+    this.name = "<Path Complete Event>";
+
+    PathFollower.initialize();
+  }
+
+  // overloaded trigger method
+  public boolean isTriggered(SensorFrame sensors) {
+    return PathFollower.isFinished() && ProfileStreamer.isFinished();
+  }
+}
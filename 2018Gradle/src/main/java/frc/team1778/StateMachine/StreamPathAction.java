@@ -0,0 +1,46 @@
+package frc.team1778.StateMachine;
+
+import frc.team1778.Paths.PathStore;
+import frc.team1778.Systems.ProfileStreamer;
+import frc.team1778.Systems.SensorFrame;
+
+// follows one of the generated paths (PathStore index) as motion profiles run by the front drive
+// Talons - the state waits for PathCompleteEvent (a missing path completes at once)
+public class StreamPathAction extends Action {
+
+  private int pathIndex = 0;
+
+  public StreamPathAction(String name, int pathIndex) {
+    this.name = name;
+    this.pathIndex = pathIndex;
+
+    PathStore.initialize();
+    ProfileStreamer.initialize();
+  }
+
+  // action entry
+  public void initialize() {
+
+    ProfileStreamer.start(PathStore.getTrajectory(pathIndex));
+
+    super.initialize();
+  }
+
+  // called periodically
+  public void process(SensorFrame sensors) {
+
+    // keep the Talons' buffers topped up
+    ProfileStreamer.process();
+
+    super.process(sensors);
+  }
+
+  // action cleanup and exit
+  public void cleanup() {
+
+    ProfileStreamer.stop();
+
+    // cleanup base class
+    super.cleanup();
+  }
+}
@@ -0,0 +1,43 @@
+package frc.team1778.StateMachine;
+
+import frc.team1778.Systems.SensorFrame;
+
+// runs a whole network inside a state - the sub-network is entered with the state, steps along
+// with it each cycle and is exited with it (wherever it has got to). A state running several
+// sub-networks runs them side by side, e.g. the lift sequence while the drive sequence turns and
+// approaches. SubNetworkDoneEvent triggers once the sub-network has finished.
+public class SubNetworkAction extends Action {
+
+  private final CompiledAutoNetwork network;
+
+  public SubNetworkAction(String name, AutoNetwork network) {
+    super(true); // sub-network actions and events are timed on their own
+    this.name = name;
+    this.network = new CompiledAutoNetwork(network, false);
+  }
+
+  public boolean isFinished() {
+    return network.isFinished();
+  }
+
+  // action entry
+  public void initialize() {
+    network.enter();
+
+    super.initialize();
+  }
+
+  // called periodically
+  public void process(SensorFrame sensors) {
+    network.process(sensors);
+
+    super.process(sensors);
+  }
+
+  // state cleanup and exit
+  public void cleanup() {
+    network.exit();
+
+    super.cleanup();
+  }
+}
@@ -0,0 +1,19 @@
+package frc.team1778.StateMachine;
+
+import frc.team1778.Systems.SensorFrame;
+
+// event triggered when a sub-network run by the same state has finished
+public class SubNetworkDoneEvent extends Event {
+
+  private final SubNetworkAction subNetwork;
+
+  public SubNetworkDoneEvent(SubNetworkAction subNetwork) {
+    this.name = "<Sub-Network Done Event>";
+    this.subNetwork = subNetwork;
+  }
+
+  // overloaded trigger method
+  public boolean isTriggered(SensorFrame sensors) {
+    return subNetwork.isFinished();
+  }
+}
@@ -1,6 +1,7 @@
 package frc.team1778.StateMachine;
 
-import edu.wpi.first.wpilibj.Utility;
+import frc.team1778.Hardware.HardwareFactory;
+import frc.team1778.Systems.SensorFrame;
 import java.util.prefs.Preferences;
 
 // event triggered when timer gets to a certain predetermined angle
@@ -23,14 +24,14 @@ public class TimeEvent extends Event {
   // overloaded initialize method
   public void initialize() {
     // System.out.println("TimeEvent initialized!");
-    startTimeUs = Utility.getFPGATime();
+    startTimeUs = HardwareFactory.getFPGATime();
 
     super.initialize();
   }
 
   // overloaded trigger method
-  public boolean isTriggered() {
-    long currentTimeUs = Utility.getFPGATime();
+  public boolean isTriggered(SensorFrame sensors) {
+    long currentTimeUs = sensors.getTimestampUs();
     double delta = (currentTimeUs - startTimeUs) / 1e6;
     // System.out.println("delta = " + delta + " duration = " + durationSec);
 
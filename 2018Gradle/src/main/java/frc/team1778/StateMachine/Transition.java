@@ -0,0 +1,18 @@
+package frc.team1778.StateMachine;
+
+// a state's way out to a particular next state: taken when its event triggers and its guard (if
+// any) holds. A state checks its transitions lowest priority number first, before its own events.
+public class Transition {
+
+  public final int priority;
+  public final Event event;
+  public final Guard guard; // null if none
+  public final AutoState target;
+
+  public Transition(int priority, Event event, Guard guard, AutoState target) {
+    this.priority = priority;
+    this.event = event;
+    this.guard = guard;
+    this.target = target;
+  }
+}
@@ -2,6 +2,7 @@ package frc.team1778.StateMachine;
 
 import frc.team1778.Systems.DriveAssembly;
 import frc.team1778.Systems.NavXSensor;
+import frc.team1778.Systems.SensorFrame;
 import java.util.prefs.Preferences;
 
 public class TurnAction extends Action {
@@ -48,7 +49,7 @@ public class TurnAction extends Action {
   }
 
   // called periodically
-  public void process() {
+  public void process(SensorFrame sensors) {
 
     // check the difference from our initial angle
     double angleDiff = angleToTurn - initialAngle;
@@ -57,7 +58,7 @@ public class TurnAction extends Action {
     if (angleDiff > 0.0) DriveAssembly.rotateRight(speedToTurn);
     else DriveAssembly.rotateLeft(speedToTurn);
 
-    super.process();
+    super.process(sensors);
   }
 
   // action cleanup and exit
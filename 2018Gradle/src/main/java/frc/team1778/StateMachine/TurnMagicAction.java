@@ -1,6 +1,7 @@
 package frc.team1778.StateMachine;
 
 import frc.team1778.Systems.DriveAssembly;
+import frc.team1778.Systems.SensorFrame;
 import java.util.prefs.Preferences;
 
 public class TurnMagicAction extends Action {
@@ -47,10 +48,10 @@ public class TurnMagicAction extends Action {
   }
 
   // called periodically
-  public void process() {
+  public void process(SensorFrame sensors) {
 
     // PID motors driving toward target here - no action required
-    super.process();
+    super.process(sensors);
   }
 
   // action cleanup and exit
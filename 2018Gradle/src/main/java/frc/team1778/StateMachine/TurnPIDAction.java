@@ -2,6 +2,7 @@ package frc.team1778.StateMachine;
 
 import frc.team1778.Systems.DriveAssembly;
 import frc.team1778.Systems.NavXSensor;
+import frc.team1778.Systems.SensorFrame;
 import java.util.prefs.Preferences;
 
 public class TurnPIDAction extends Action {
@@ -9,6 +10,7 @@ public class TurnPIDAction extends Action {
   private double angleToTurn = 0.0;
   private double speedToTurn = 0.3;
   private boolean resetGyro = true;
+  private boolean chain = false; // turn relative to the last turn's target, not the gyro
 
   public TurnPIDAction(double angleToTurn, double speed, boolean resetGyro) {
     this.name = "<Turn Action>";
@@ -30,31 +32,45 @@ public class TurnPIDAction extends Action {
     NavXSensor.initialize();
   }
 
+  // chained turn - the gyro is not zeroed (a zero takes several loops to land), the turn is
+  // angleToTurn on from where the last turn was aimed instead (resetGyro is not used)
+  public TurnPIDAction(
+      String name, double angleToTurn, double speed, boolean resetGyro, boolean chain) {
+    this(name, angleToTurn, speed, resetGyro);
+    this.chain = chain;
+  }
+
   // action entry
   public void initialize() {
 
-    // if we're not resetting the gyro, we'll want to see what angle it is to start
-    if (resetGyro) NavXSensor.reset();
+    if (chain) {
+      DriveAssembly.autoPidTurnStartChained(angleToTurn, speedToTurn);
+    } else {
+      // if we're not resetting the gyro, we'll want to see what angle it is to start
+      if (resetGyro) NavXSensor.reset();
 
-    // initialize motor assembly for auto
-    DriveAssembly.autoPidTurnStart(angleToTurn, speedToTurn);
+      // initialize motor assembly for auto
+      DriveAssembly.autoPidTurnStart(angleToTurn, speedToTurn);
+    }
 
     super.initialize();
   }
 
   // called periodically
-  public void process() {
+  public void process(SensorFrame sensors) {
 
     DriveAssembly.autoPidTurnProcess();
 
-    super.process();
+    super.process(sensors);
   }
 
   // action cleanup and exit
   public void cleanup() {
     // do some drivey cleanup
 
-    DriveAssembly.autoPidTurnStop();
+    // a chained turn hands the motors straight on to the drive after it
+    if (chain) DriveAssembly.autoPidTurnStopChained();
+    else DriveAssembly.autoPidTurnStop();
 
     // cleanup base class
     super.cleanup();
@@ -4,10 +4,11 @@ import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.LimitSwitchNormal;
 import com.ctre.phoenix.motorcontrol.LimitSwitchSource;
 import com.ctre.phoenix.motorcontrol.NeutralMode;
-import com.ctre.phoenix.motorcontrol.can.TalonSRX;
-import edu.wpi.first.wpilibj.Joystick;
-import edu.wpi.first.wpilibj.RobotController;
-import edu.wpi.first.wpilibj.Spark;
+import frc.team1778.Hardware.CANMotorController;
+import frc.team1778.Hardware.HardwareFactory;
+import frc.team1778.Hardware.JoystickInput;
+import frc.team1778.Hardware.PWMMotorController;
+import frc.team1778.Hardware.TimedCommandScheduler;
 import frc.team1778.NetworkComm.InputOutputComm;
 import frc.team1778.NetworkComm.RPIComm;
 import frc.team1778.Utility.HardwareIDs;
@@ -46,21 +47,33 @@ public class CubeManagement {
   private static final double BRAKE_OFF_STRENGTH = -0.5;
 
   // collector intake motors
-  private static Spark leftCollectorMotor, rightCollectorMotor;
+  private static PWMMotorController leftCollectorMotor, rightCollectorMotor;
 
   // lift motors
-  private static TalonSRX upperLiftMotor, lowerLiftMotor;
+  private static CANMotorController upperLiftMotor, lowerLiftMotor;
   private static final boolean UPPER_REVERSE_MOTOR = true;
   private static final boolean LOWER_REVERSE_MOTOR = true;
 
   // brake motor
   private static boolean liftBrakeOn = false;
   private static final boolean BRAKE_MOTOR_INVERTED = false;
-  private static Spark brakeMotor;
+  private static PWMMotorController brakeMotor;
   private static double brakeStartTimer = 0;
   private static final double BRAKE_LIMIT_USEC = 500000;
 
-  private static Joystick gamepad;
+  // turns the brake motor off once the brake has moved (run by the TimedCommandScheduler)
+  private static final Runnable brakeMotorOff =
+      new Runnable() {
+        public void run() {
+          brakeMotor.set(0.0);
+        }
+      };
+
+  private static JoystickInput gamepad;
+
+  // telemetry channels
+  private static InputOutputComm.BooleanHandle liftBrakeHandle;
+  private static InputOutputComm.DoubleHandle collectorStrengthHandle, liftStrengthHandle;
 
   // wait 0.25 s between button pushes
   private static final int TRIGGER_CYCLE_WAIT_US = 250000;
@@ -72,18 +85,27 @@ public class CubeManagement {
 
     InputOutputComm.initialize();
 
+    // register telemetry channels
+    liftBrakeHandle =
+        InputOutputComm.registerBoolean(InputOutputComm.LogTable.kMainLog, "CubeMgmt/LiftBrake");
+    collectorStrengthHandle =
+        InputOutputComm.registerDouble(
+            InputOutputComm.LogTable.kMainLog, "CubeMgmt/CollectorStrength");
+    liftStrengthHandle =
+        InputOutputComm.registerDouble(InputOutputComm.LogTable.kMainLog, "CubeMgmt/LiftStrength");
+
     // reset timers
     initTriggerTime = 0;
     brakeStartTimer = 0;
 
     // create and initialize collector motors (open-loop)
-    leftCollectorMotor = new Spark(HardwareIDs.LEFT_COLLECTOR_PWM_ID);
+    leftCollectorMotor = HardwareFactory.createSpark(HardwareIDs.LEFT_COLLECTOR_PWM_ID);
     leftCollectorMotor.setInverted(LEFT_COLLECTOR_INVERTED);
-    rightCollectorMotor = new Spark(HardwareIDs.RIGHT_COLLECTOR_PWM_ID);
+    rightCollectorMotor = HardwareFactory.createSpark(HardwareIDs.RIGHT_COLLECTOR_PWM_ID);
     rightCollectorMotor.setInverted(RIGHT_COLLECTOR_INVERTED);
 
     // create and initialize brake motor (open-loop)
-    brakeMotor = new Spark(HardwareIDs.BRAKE_MOTOR_PWM_ID);
+    brakeMotor = HardwareFactory.createSpark(HardwareIDs.BRAKE_MOTOR_PWM_ID);
     brakeMotor.setInverted(BRAKE_MOTOR_INVERTED);
 
     // create and initialize upper lift motor
@@ -103,7 +125,7 @@ public class CubeManagement {
     // turn on brake
     liftBrakeOn();
 
-    gamepad = new Joystick(HardwareIDs.GAMEPAD_ID);
+    gamepad = HardwareFactory.createJoystick(HardwareIDs.GAMEPAD_ID);
 
     initialized = true;
   }
@@ -131,16 +153,32 @@ public class CubeManagement {
   }
 
   // resets the position encoders on lift motors
-  // should be called once only, during power up  (when lift is in base state)
+  // should be called once only, during power up  (when lift is in base state) - or later only if
+  // isLiftAtBase
   public static void resetPos() {
     // reset upper lift motor encoder pulses to zero
     upperLiftMotor.setSelectedSensorPosition(0, PIDLOOP_IDX, TIMEOUT_MS);
   }
 
+  // true with the lift down on its lower limit switch (read from the Talon, not a sensor frame)
+  public static boolean isLiftAtBase() {
+    return upperLiftMotor.isRevLimitSwitchClosed();
+  }
+
+  // fill in the lift part of a sensor frame
+  static void readSensors(SensorFrame frame) {
+    if (!initialized) return;
+
+    // forward limit switch is at the top of the lift, reverse at the bottom
+    frame.liftUpperLimit = upperLiftMotor.isFwdLimitSwitchClosed();
+    frame.liftLowerLimit = upperLiftMotor.isRevLimitSwitchClosed();
+  }
+
   // slave motor configuration
-  private static TalonSRX configureMotor(int talonID, boolean revMotor, int talonIDToFollow) {
-    TalonSRX _talon;
-    _talon = new TalonSRX(talonID);
+  private static CANMotorController configureMotor(
+      int talonID, boolean revMotor, int talonIDToFollow) {
+    CANMotorController _talon;
+    _talon = HardwareFactory.createTalonSRX(talonID);
     _talon.setInverted(revMotor);
 
     if (talonIDToFollow > 0) _talon.set(ControlMode.Follower, (double) talonIDToFollow);
@@ -151,9 +189,9 @@ public class CubeManagement {
   }
 
   // master motor configuration
-  private static TalonSRX configureMotor(int talonID, boolean revMotor) {
-    TalonSRX _talon;
-    _talon = new TalonSRX(talonID);
+  private static CANMotorController configureMotor(int talonID, boolean revMotor) {
+    CANMotorController _talon;
+    _talon = HardwareFactory.createTalonSRX(talonID);
     _talon.setInverted(revMotor);
 
     // forward limit switch is for up motion
@@ -178,10 +216,10 @@ public class CubeManagement {
     liftBrakeOn = true;
     brakeMotor.set(BRAKE_ON_STRENGTH);
 
-    spawnBrakeMotorOffThread(); // turn brake motor off after a time period
+    // turn brake motor off after a time period (replaces any pending brake motor off)
+    TimedCommandScheduler.schedule(brakeMotorOff, BRAKE_LIMIT_USEC / 1e6);
 
-    InputOutputComm.putBoolean(
-        InputOutputComm.LogTable.kMainLog, "CubeMgmt/LiftBrake", liftBrakeOn);
+    liftBrakeHandle.set(liftBrakeOn);
     RPIComm.setBoolean("brakeOn", liftBrakeOn);
   }
 
@@ -191,47 +229,28 @@ public class CubeManagement {
     liftBrakeOn = false;
     brakeMotor.set(BRAKE_OFF_STRENGTH);
 
-    spawnBrakeMotorOffThread(); // turn brake motor off after a time period
+    // turn brake motor off after a time period (replaces any pending brake motor off)
+    TimedCommandScheduler.schedule(brakeMotorOff, BRAKE_LIMIT_USEC / 1e6);
 
-    InputOutputComm.putBoolean(
-        InputOutputComm.LogTable.kMainLog, "CubeMgmt/LiftBrake", liftBrakeOn);
+    liftBrakeHandle.set(liftBrakeOn);
     RPIComm.setBoolean("brakeOn", liftBrakeOn);
   }
 
-  private static void spawnBrakeMotorOffThread() {
-    // spawn a wait thread to ensure brake motor turned off only AFTER a certain period
-    new Thread() {
-      public void run() {
-        try {
-          Thread.sleep(500); // wait half second before disengaging brake motor
-          brakeMotor.set(0.0); // turn off brake motor
-        } catch (Exception e) {
-          e.printStackTrace();
-        }
-      }
-    }.start();
-  }
-
   public static void depositCube() {
-    InputOutputComm.putDouble(
-        InputOutputComm.LogTable.kMainLog,
-        "CubeMgmt/CollectorStrength",
-        COLLECTOR_OUT_AUTOEXPEL_STRENGTH);
+    collectorStrengthHandle.set(COLLECTOR_OUT_AUTOEXPEL_STRENGTH);
     leftCollectorMotor.set(COLLECTOR_OUT_AUTOEXPEL_STRENGTH);
     rightCollectorMotor.set(COLLECTOR_OUT_AUTOEXPEL_STRENGTH);
   }
 
   public static void collectCube(double strength) {
-    InputOutputComm.putDouble(
-        InputOutputComm.LogTable.kMainLog, "CubeMgmt/CollectorStrength", strength);
+    collectorStrengthHandle.set(strength);
     leftCollectorMotor.set(strength);
     rightCollectorMotor.set(strength);
   }
 
   /** *********************** lift control functions ********************************* */
   public static void runLift(double liftStrength) {
-    InputOutputComm.putDouble(
-        InputOutputComm.LogTable.kMainLog, "CubeMgmt/LiftStrength", liftStrength);
+    liftStrengthHandle.set(liftStrength);
     upperLiftMotor.set(ControlMode.PercentOutput, liftStrength);
   }
 
@@ -266,8 +285,7 @@ public class CubeManagement {
       collectorMotorStrength =
           COLLECTOR_IN_AUTO_STRENGTH; // default auto motor rate in (for cube retention)
 
-    InputOutputComm.putDouble(
-        InputOutputComm.LogTable.kMainLog, "CubeMgmt/CollectorStrength", collectorMotorStrength);
+    collectorStrengthHandle.set(collectorMotorStrength);
     RPIComm.setDouble("collectorStrength", collectorMotorStrength);
 
     leftCollectorMotor.set(collectorMotorStrength);
@@ -279,12 +297,12 @@ public class CubeManagement {
     if (gamepad.getRawButton(HardwareIDs.BRAKE_TOGGLE_BUTTON)) {
 
       // only act if enough time has passed between brake control events
-      if ((RobotController.getFPGATime() - brakeStartTimer) > BRAKE_LIMIT_USEC) {
+      if ((HardwareFactory.getFPGATime() - brakeStartTimer) > BRAKE_LIMIT_USEC) {
         if (liftBrakeOn) liftBrakeOff();
         else liftBrakeOn();
 
         // reset brake timer
-        brakeStartTimer = RobotController.getFPGATime();
+        brakeStartTimer = HardwareFactory.getFPGATime();
       }
     }
   }
@@ -309,9 +327,9 @@ public class CubeManagement {
     runLift(liftStrength);
   }
 
+  // the lift encoder is zeroed by the auto state machine (normally while disabled)
   public static void autoInit() {
     resetMotors();
-    resetPos();
     liftBrakeOn();
   }
 
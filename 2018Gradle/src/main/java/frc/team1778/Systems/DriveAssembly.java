@@ -2,8 +2,10 @@ package frc.team1778.Systems;
 
 import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.FeedbackDevice;
-import com.ctre.phoenix.motorcontrol.can.TalonSRX;
-import frc.team1778.NetworkComm.InputOutputComm;
+import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
+import frc.team1778.Hardware.CANMotorController;
+import frc.team1778.Hardware.HardwareFactory;
+import frc.team1778.Hardware.MotorCommandCache;
 import frc.team1778.Utility.HardwareIDs;
 
 // Chill Out 1778 class for controlling the drivetrain
@@ -15,6 +17,9 @@ public class DriveAssembly {
   private static final int PIDLOOP_IDX = 0; // set to zero if primary loop
   private static final int PROFILE_SLOT = 0;
 
+  // encoder feedback frame period (default 20 ms) - every odometry update gets a new reading
+  private static final int FEEDBACK_FRAME_MS = 10;
+
   private static final double AUTO_DRIVE_ANGLE_CORRECT_COEFF = 0.02;
   private static final double GYRO_CORRECT_COEFF = 0.03;
 
@@ -23,12 +28,31 @@ public class DriveAssembly {
   private static boolean ENABLE_CURRENT_LIMIT = true;
 
   // smart controllers (motion profiling)
-  private static TalonSRX mFrontLeft, mFrontRight;
-  private static TalonSRX mBackLeft, mBackRight;
+  private static CANMotorController mFrontLeft, mFrontRight;
+  private static CANMotorController mBackLeft, mBackRight;
+
+  // the front controllers behind their command caches, for the path follower thread
+  private static CANMotorController mFrontLeftDirect, mFrontRightDirect;
 
   // used as angle baseline (if we don't reset gyro)
   private static double initialAngle = 0.0;
 
+  // number of encoder resets so far - lets the odometry thread tell a reset from motion
+  private static volatile int encoderResets = 0;
+
+  // motion chaining - a chained drive or turn follows on from the target of the move before it,
+  // instead of zeroing the encoders or gyro and starting from rest. What a chained move has not
+  // quite reached when it hands over is made up by the next one, and a chained drive's Motion
+  // Magic profile carries its velocity into the next drive.
+  // Each drive's distance and turn's angle are measured from its origin (zero after a reset).
+  private static double chainLeftInches = 0.0; // drive targets the next chained drive follows
+  private static double chainRightInches = 0.0;
+  private static boolean chainDriveValid = true; // false once a turn has moved the wheels
+  private static double chainHeadingDeg = 0.0; // turn target the next chained turn follows
+  private static int chainGyroResets = 0; // NavXSensor reset count the heading belongs to
+  private static double distanceOriginInches = 0.0;
+  private static double headingOriginDeg = 0.0;
+
   // motor polarity
   public static final boolean RIGHT_REVERSE_MOTOR = true; // comp-bot motor polarity - right
   public static final boolean LEFT_REVERSE_MOTOR = false; // comp-bot motor polarity - left
@@ -43,6 +67,12 @@ public class DriveAssembly {
   private static final double kD = 0.0;
   private static final double kF = 0.0; // Feedforward not used for closed loop position control
 
+  // motion profile streaming (ProfileStreamer) - own slot: kF for the drive's free speed of about
+  // 800 units/100 ms at full output, kP about 0.05 output per inch of error
+  static final int MOTION_PROFILE_SLOT = 1;
+  private static final double kP_PROFILE = 1.0;
+  private static final double kF_PROFILE = 1023.0 / 800.0;
+
   public static void initialize() {
 
     if (initialized) return;
@@ -70,6 +100,8 @@ public class DriveAssembly {
             kI,
             kD,
             kF);
+    mFrontLeftDirect = HardwareFactory.getUncached(mFrontLeft);
+    mFrontRightDirect = HardwareFactory.getUncached(mFrontRight);
     mBackLeft =
         configureMotor(
             HardwareIDs.LEFT_REAR_TALON_ID, LEFT_REVERSE_MOTOR, HardwareIDs.LEFT_FRONT_TALON_ID);
@@ -91,13 +123,21 @@ public class DriveAssembly {
   }
 
   public static void resetPos() {
-    // reset front left and right encoder pulses to zero
+    // reset front left and right encoder pulses to zero (counted first, so the odometry thread
+    // never sees the reset land unannounced)
+    encoderResets++;
     mFrontLeft.setSelectedSensorPosition(0, PIDLOOP_IDX, TIMEOUT_MS);
     mFrontRight.setSelectedSensorPosition(0, PIDLOOP_IDX, TIMEOUT_MS);
+
+    // chained drives start again from here
+    chainLeftInches = 0.0;
+    chainRightInches = 0.0;
+    chainDriveValid = true;
+    distanceOriginInches = 0.0;
   }
 
   // closed-loop motor configuration
-  private static TalonSRX configureMotor(
+  private static CANMotorController configureMotor(
       int talonID,
       boolean revMotor,
       boolean alignSensor,
@@ -105,12 +145,14 @@ public class DriveAssembly {
       double iCoeff,
       double dCoeff,
       double fCoeff) {
-    TalonSRX _talon;
-    _talon = new TalonSRX(talonID);
+    CANMotorController _talon;
+    _talon = HardwareFactory.createTalonSRX(talonID);
     _talon.setInverted(revMotor);
 
     _talon.configSelectedFeedbackSensor(FeedbackDevice.QuadEncoder, PIDLOOP_IDX, TIMEOUT_MS);
     _talon.setSensorPhase(alignSensor);
+    _talon.setStatusFramePeriod(
+        StatusFrameEnhanced.Status_2_Feedback0, FEEDBACK_FRAME_MS, TIMEOUT_MS);
 
     // _talon.configContinuousCurrentLimit(CONTINUOUS_CURRENT_LIMIT, TIMEOUT_MS);
     // _talon.configPeakCurrentLimit(PEAK_CURRENT_LIMIT, TIMEOUT_MS);
@@ -121,6 +163,8 @@ public class DriveAssembly {
     _talon.config_kI(PROFILE_SLOT, iCoeff, TIMEOUT_MS);
     _talon.config_kD(PROFILE_SLOT, dCoeff, TIMEOUT_MS);
     _talon.config_kF(PROFILE_SLOT, fCoeff, TIMEOUT_MS);
+    _talon.config_kP(MOTION_PROFILE_SLOT, kP_PROFILE, TIMEOUT_MS);
+    _talon.config_kF(MOTION_PROFILE_SLOT, kF_PROFILE, TIMEOUT_MS);
     _talon.configMotionCruiseVelocity(0, TIMEOUT_MS);
     _talon.configMotionAcceleration(0, TIMEOUT_MS);
     _talon.setSelectedSensorPosition(0, PIDLOOP_IDX, TIMEOUT_MS);
@@ -131,9 +175,10 @@ public class DriveAssembly {
   }
 
   // open-loop motor configuration (and possibly follower)
-  private static TalonSRX configureMotor(int talonID, boolean revMotor, int talonIDToFollow) {
-    TalonSRX _talon;
-    _talon = new TalonSRX(talonID);
+  private static CANMotorController configureMotor(
+      int talonID, boolean revMotor, int talonIDToFollow) {
+    CANMotorController _talon;
+    _talon = HardwareFactory.createTalonSRX(talonID);
     _talon.setInverted(revMotor);
 
     if (talonIDToFollow > 0) _talon.set(ControlMode.Follower, (double) talonIDToFollow);
@@ -145,19 +190,57 @@ public class DriveAssembly {
     return _talon;
   }
 
+  // periodic code should use the distance in the cycle's SensorFrame instead
   public static double getDistanceInches() {
 
     // Encoders now read only raw encoder values - convert raw to inches directly
-    double rightPos =
+    return mFrontRight.getSelectedSensorPosition(0) * HardwareIDs.INCHES_PER_ENCODER_PULSE;
+  }
+
+  // direct encoder reads for the path follower, which runs on its own thread between sensor frames
+  static double getLeftInches() {
+    return mFrontLeft.getSelectedSensorPosition(0) * HardwareIDs.INCHES_PER_ENCODER_PULSE;
+  }
+
+  static double getRightInches() {
+    return mFrontRight.getSelectedSensorPosition(0) * HardwareIDs.INCHES_PER_ENCODER_PULSE;
+  }
+
+  static int getEncoderResetCount() {
+    return encoderResets;
+  }
+
+  // front (closed-loop) controllers, for streaming motion profiles to them
+  static CANMotorController getFrontLeft() {
+    return mFrontLeft;
+  }
+
+  static CANMotorController getFrontRight() {
+    return mFrontRight;
+  }
+
+  // a followed path moves the wheels from wherever they are - the next chained drive starts over
+  static void autoPathStart() {
+    chainDriveValid = false;
+  }
+
+  // fill in the drivetrain part of a sensor frame
+  static void readSensors(SensorFrame frame) {
+    if (!initialized) return;
+
+    frame.leftPositionInches =
+        mFrontLeft.getSelectedSensorPosition(0) * HardwareIDs.INCHES_PER_ENCODER_PULSE;
+    frame.rightPositionInches =
         mFrontRight.getSelectedSensorPosition(0) * HardwareIDs.INCHES_PER_ENCODER_PULSE;
-    double leftPos = mFrontLeft.getSelectedSensorPosition(0) * HardwareIDs.INCHES_PER_ENCODER_PULSE;
 
-    String posStr = String.format("%.2f", rightPos);
-    InputOutputComm.putString(InputOutputComm.LogTable.kMainLog, "Auto/EncoderRight", posStr);
-    posStr = String.format("%.2f", leftPos);
-    InputOutputComm.putString(InputOutputComm.LogTable.kMainLog, "Auto/EncoderLeft", posStr);
+    // velocities are reported per 100 ms
+    frame.leftVelocityInchesPerSec =
+        mFrontLeft.getSelectedSensorVelocity(0) * HardwareIDs.INCHES_PER_ENCODER_PULSE * 10.0;
+    frame.rightVelocityInchesPerSec =
+        mFrontRight.getSelectedSensorVelocity(0) * HardwareIDs.INCHES_PER_ENCODER_PULSE * 10.0;
 
-    return rightPos;
+    // battery voltage as seen by the drive controllers
+    frame.batteryVoltage = mFrontRight.getBusVoltage();
   }
 
   public static void autoInit(boolean resetGyro, double headingDeg, boolean magicMotion) {
@@ -173,10 +256,8 @@ public class DriveAssembly {
     resetPos();
   }
 
-  public static void autoGyroStraight(double speed) {
-    // autonomous operation of drive straight - uses gyro
-
-    double gyroAngle = NavXSensor.getAngle();
+  public static void autoGyroStraight(double speed, double gyroAngle) {
+    // autonomous operation of drive straight - uses gyro (angle from the cycle's sensor frame)
 
     // subtract the initial angle offset, if any
     gyroAngle -= initialAngle;
@@ -189,6 +270,7 @@ public class DriveAssembly {
 
     // adjust speed of left and right sides
     drive(leftSpeed, rightSpeed);
+    chainDriveValid = false;
   }
 
   public static void autoMagicStraight(double targetPosInches, int speedRpm, int accelRpm) {
@@ -196,6 +278,7 @@ public class DriveAssembly {
     int nativeUnitsPer100ms = (int) ((double) speedRpm * HardwareIDs.RPM_TO_UNIT_PER_100MS);
     int accelNativeUnits = (int) ((double) accelRpm * HardwareIDs.RPM_TO_UNIT_PER_100MS);
 
+    // cruise/accel writes are dropped by the motor command cache when unchanged
     // left front drive straight - uses motion magic
     mFrontLeft.configMotionCruiseVelocity(nativeUnitsPer100ms, TIMEOUT_MS);
     mFrontLeft.configMotionAcceleration(accelNativeUnits, TIMEOUT_MS);
@@ -208,14 +291,51 @@ public class DriveAssembly {
         ControlMode.MotionMagic, targetPosInches / HardwareIDs.INCHES_PER_ENCODER_PULSE);
 
     // left and right back motors are following front motors
+
+    // a chained drive after this one follows on from its target (encoders zeroed by autoInit)
+    chainLeftInches = targetPosInches;
+    chainRightInches = targetPosInches;
+    chainDriveValid = true;
+    distanceOriginInches = 0.0;
+  }
+
+  // chained Motion Magic drive - targetPosInches on from the last chained drive's target (or from
+  // where the wheels are, after a turn), without zeroing the encoders
+  public static void autoMagicStraightChained(double targetPosInches, int speedRpm, int accelRpm) {
+    if (!chainDriveValid) {
+      SensorFrame frame = SensorFrame.getCurrent();
+      chainLeftInches = frame.leftPositionInches;
+      chainRightInches = frame.rightPositionInches;
+      chainDriveValid = true;
+    }
+
+    distanceOriginInches = chainRightInches;
+    chainLeftInches += targetPosInches;
+    chainRightInches += targetPosInches;
+
+    // each side to its own target (they differ after a turn)
+    magicMove(chainLeftInches, chainRightInches, speedRpm, accelRpm);
+  }
+
+  // encoder distance the current drive is measured from - ClosedLoopPositionEvent subtracts it from
+  // the sensor frame's (raw) distance
+  public static double getDistanceOriginInches() {
+    return distanceOriginInches;
   }
 
   public static void autoMagicTurn(
       double targetPosInchesLeft, double targetPosInchesRight, int speedRpm, int accelRpm) {
+    magicMove(targetPosInchesLeft, targetPosInchesRight, speedRpm, accelRpm);
+    chainDriveValid = false;
+  }
+
+  private static void magicMove(
+      double targetPosInchesLeft, double targetPosInchesRight, int speedRpm, int accelRpm) {
 
     int nativeUnitsPer100ms = (int) ((double) speedRpm * HardwareIDs.RPM_TO_UNIT_PER_100MS);
     int accelNativeUnits = (int) ((double) accelRpm * HardwareIDs.RPM_TO_UNIT_PER_100MS);
 
+    // cruise/accel writes are dropped by the motor command cache when unchanged
     // left front drive straight - uses motion magic
     mFrontLeft.configMotionCruiseVelocity(nativeUnitsPer100ms, TIMEOUT_MS);
     mFrontLeft.configMotionAcceleration(accelNativeUnits, TIMEOUT_MS);
@@ -237,11 +357,47 @@ public class DriveAssembly {
 
   // auto PID turn methods
   public static void autoPidTurnStart(double angleDeg, double speed) {
+    // angleDeg is a heading - a chained turn after this one follows on from it
+    chainHeadingDeg = angleDeg;
+    chainGyroResets = NavXSensor.getResetCount();
+    headingOriginDeg = 0.0;
+    chainDriveValid = false;
+
     resetMotors();
     TurnController.setAngle(angleDeg, speed);
     TurnController.enable();
   }
 
+  // chained PID turn - angleDeg on from the last turn's target heading, without zeroing the gyro.
+  // The motors are not stopped first - the turn controller takes over from the last drive's
+  // Motion Magic move, and at the end (autoPidTurnStopChained) hands the motors on to the next
+  // drive the same way, so a chained turn must be followed by a drive
+  public static void autoPidTurnStartChained(double angleDeg, double speed) {
+    if (chainGyroResets != NavXSensor.getResetCount()) {
+      // gyro zeroed since the last turn
+      chainHeadingDeg = 0.0;
+      chainGyroResets = NavXSensor.getResetCount();
+    }
+
+    headingOriginDeg = chainHeadingDeg;
+    chainHeadingDeg += angleDeg;
+    chainDriveValid = false;
+
+    // the turn controller works on yaw (-180 to 180 deg)
+    double heading = chainHeadingDeg % 360.0;
+    if (heading > 180.0) heading -= 360.0;
+    else if (heading < -180.0) heading += 360.0;
+
+    TurnController.setAngle(heading, speed);
+    TurnController.enable();
+  }
+
+  // gyro angle the current turn is measured from - ClosedLoopAngleEvent subtracts it from the
+  // sensor frame's (raw) gyro angle
+  public static double getHeadingOriginDeg() {
+    return (chainGyroResets == NavXSensor.getResetCount()) ? headingOriginDeg : 0.0;
+  }
+
   public static void autoPidTurnProcess() {
     double leftValue = TurnController.getLeft();
     double rightValue = TurnController.getRight();
@@ -253,6 +409,11 @@ public class DriveAssembly {
     resetMotors();
   }
 
+  // end of a chained turn - the motors keep their last output until the next drive commands them
+  public static void autoPidTurnStopChained() {
+    TurnController.disable();
+  }
+
   public static void teleopInit() {}
 
   public static void teleopPeriodic() {}
@@ -291,6 +452,18 @@ public class DriveAssembly {
     // mBackRight.set(ControlMode.PercentOutput, rightValue);
   }
 
+  // drive from a thread other than the main robot thread (the path follower) - straight to the
+  // front Talons, past their command caches (see MotorCommandCache)
+  static void driveDirect(double leftValue, double rightValue) {
+    mFrontLeftDirect.set(ControlMode.PercentOutput, leftValue);
+    mFrontRightDirect.set(ControlMode.PercentOutput, rightValue);
+  }
+
+  // back on the main robot thread after driveDirect - the caches do not know what was sent since
+  static void endDriveDirect() {
+    MotorCommandCache.invalidateAll();
+  }
+
   public static void driveDirection(double angle, double speed) {
     double gyroAngle = NavXSensor.getAngle();
     double driveAngle = (angle - gyroAngle) * GYRO_CORRECT_COEFF;
@@ -1,9 +1,8 @@
 package frc.team1778.Systems;
 
-import com.kauailabs.navx.frc.AHRS;
 import edu.wpi.first.wpilibj.DriverStation;
-import edu.wpi.first.wpilibj.SPI;
-import edu.wpi.first.wpilibj.Timer;
+import frc.team1778.Hardware.HardwareFactory;
+import frc.team1778.Hardware.IMUSensor;
 
 public class NavXSensor {
 
@@ -16,7 +15,7 @@ public class NavXSensor {
     System.out.println("NavXSensor initialize called...");
 
     try {
-      ahrs = new AHRS(SPI.Port.kMXP);
+      ahrs = HardwareFactory.createIMU();
     } catch (RuntimeException ex) {
       DriverStation.reportError("Error instantiating navX MXP:  " + ex.getMessage(), true);
     }
@@ -27,10 +26,19 @@ public class NavXSensor {
   }
 
   // instance data and methods
-  private static AHRS ahrs = null;
+  private static IMUSensor ahrs = null;
 
   private static double yawOffset = 0.0;
 
+  // zeroing takes a moment to settle - the residual yaw is read this long after a reset
+  private static final long ZERO_SETTLE_US = 100000;
+  private static volatile boolean zeroPending = false; // also read by the odometry thread
+  private static long zeroStartUs = 0;
+  private static double preZeroAngle = 0.0; // angle just before the last reset
+
+  // number of resets so far - lets users of an angle tell whether it was zeroed since
+  private static int resetCount = 0;
+
   public static class Angles {
     float roll = 0f;
     float pitch = 0f;
@@ -39,23 +47,64 @@ public class NavXSensor {
 
   public static void reset() {
     System.out.println("NavXSensor::reset called!");
+    resetCount++;
 
     if (ahrs != null) {
+      // allow zeroing to take effect - the offset is picked up by a later loop, not waited for
+      // (marked pending first, so the odometry thread never sees the zero land unannounced)
+      // until then angles are reported as if zeroed already (see zeroedAngle)
+      preZeroAngle = ahrs.getAngle();
+      yawOffset = 0.0;
+      zeroStartUs = HardwareFactory.getFPGATime();
+      zeroPending = true;
+
       ahrs.reset();
       ahrs.resetDisplacement();
       ahrs.zeroYaw();
+    }
+  }
+
+  // once zeroing has settled, record the residual angle
+  private static void updateYawOffset() {
+    if (!zeroPending || (HardwareFactory.getFPGATime() - zeroStartUs < ZERO_SETTLE_US)) return;
+
+    // get the absolute angle after reset - Not sure why it is non-zero, but we need to record it
+    // to zero it out
+    yawOffset = ahrs.getAngle();
+    zeroPending = false;
+    System.out.println("yawOffset read = " + yawOffset);
+  }
 
-      // allow zeroing to take effect
-      Timer.delay(0.1);
+  // angle since the last reset - while zeroing settles, the raw angle is either still the old one
+  // (relative to the angle at the reset) or already zeroed (only the small residual is left)
+  private static double zeroedAngle(double rawAngle) {
+    if (!zeroPending) return rawAngle - yawOffset;
 
-      // get the absolute angle after reset - Not sure why it is non-zero, but we need to record it
-      // to zero it out
-      yawOffset = ahrs.getAngle();
-      System.out.println("yawOffset read = " + yawOffset);
+    if (Math.abs(rawAngle - preZeroAngle) < Math.abs(rawAngle)) return rawAngle - preZeroAngle;
+    return rawAngle;
+  }
+
+  // fill in the navX part of a sensor frame
+  static void readSensors(SensorFrame frame) {
+    if (ahrs != null) {
+      updateYawOffset();
+      frame.gyroAngleDeg = zeroedAngle(ahrs.getAngle());
+      frame.gyroRateDegPerSec = ahrs.getRate();
+      frame.imuConnected = ahrs.isConnected();
+      frame.imuCalibrating = ahrs.isCalibrating();
     }
   }
 
-  public static AHRS getAHRS() {
+  public static int getResetCount() {
+    return resetCount;
+  }
+
+  // true until a reset has settled (the raw angle may not be zeroed yet)
+  public static boolean isZeroPending() {
+    return zeroPending;
+  }
+
+  public static IMUSensor getIMU() {
     return ahrs;
   }
 
@@ -103,8 +152,8 @@ public class NavXSensor {
     double yaw = 0f;
 
     if (ahrs != null) {
-      yaw = ahrs.getAngle();
-      yaw -= yawOffset; // needed to get to true angle
+      updateYawOffset();
+      yaw = zeroedAngle(ahrs.getAngle()); // needed to get to true angle
     }
 
     return yaw;
@@ -0,0 +1,192 @@
+package frc.team1778.Systems;
+
+import frc.team1778.Hardware.HardwareFactory;
+import frc.team1778.Hardware.IMUSensor;
+import frc.team1778.Hardware.PeriodicTask;
+import frc.team1778.Utility.HardwareIDs;
+import frc.team1778.Utility.TimeSeries;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Field position of the robot from both drive encoders and the navX yaw, updated on its own
+// notifier thread every PERIOD_SEC (the encoder feedback frames and the navX are set up to update
+// at least that often).
+// That thread is the only writer: each update builds a new Pose and publishes it through one
+// volatile reference, so any thread - auto events through the sensor frame, vision alignment,
+// telemetry - gets a consistent pose with a single read, with no locks and no bus reads of its own.
+// Distance comes from the encoders, heading from the gyro. While the gyro is zeroing, calibrating
+// or disconnected the heading comes from the difference between the wheels instead.
+// Every update is also kept in a history (getHistory, getPoseAt), so a measurement that arrives
+// late - a vision frame - can be matched with where the robot was when it was taken.
+public class Odometry {
+
+  private static boolean initialized = false;
+
+  public static void initialize() {
+    if (initialized) return;
+
+    DriveAssembly.initialize();
+    NavXSensor.initialize();
+
+    lastLeftInches = DriveAssembly.getLeftInches();
+    lastRightInches = DriveAssembly.getRightInches();
+    lastEncoderResets = DriveAssembly.getEncoderResetCount();
+    pose = new Pose(0.0, 0.0, 0.0, HardwareFactory.getFPGATime());
+
+    notifier =
+        HardwareFactory.createNotifier(
+            new Runnable() {
+              public void run() {
+                update();
+              }
+            },
+            THREAD_PRIORITY);
+    notifier.startPeriodic(PERIOD_SEC);
+
+    initialized = true;
+  }
+
+  private static final double PERIOD_SEC = 0.01;
+
+  // real-time priority of the odometry thread - below the path follower
+  private static final int THREAD_PRIORITY = 30;
+
+  // an encoder reset (DriveAssembly.resetPos) is applied by the Talons a frame or so later - how
+  // long the odometry watches for it to land
+  private static final long ENCODER_RESET_SETTLE_US = 100000;
+
+  // gyro turn in one update no robot could make - a yaw zero landing after NavXSensor stopped
+  // reporting it pending, not motion (the heading then comes from the wheels for that update)
+  private static final double MAX_TURN_STEP_DEG = 10.0;
+
+  // history channels - the readings each update was made from, and the pose it made
+  public static final int HISTORY_LEFT_INCHES = 0; // encoders as read (they jump at resets)
+  public static final int HISTORY_RIGHT_INCHES = 1;
+  public static final int HISTORY_GYRO_DEG = 2; // navX angle as read (clockwise positive)
+  public static final int HISTORY_X = 3;
+  public static final int HISTORY_Y = 4;
+  public static final int HISTORY_HEADING_DEG = 5;
+  public static final int HISTORY_CHANNELS = 6;
+
+  // updates kept (2.5 sec)
+  private static final int HISTORY_SAMPLES = 256;
+
+  private static final TimeSeries history = new TimeSeries(HISTORY_SAMPLES, HISTORY_CHANNELS);
+  private static final double[] historySample = new double[HISTORY_CHANNELS];
+
+  private static PeriodicTask notifier;
+
+  // latest pose - written by the odometry thread only
+  private static volatile Pose pose;
+
+  // pose to restart from, taken up by the next update
+  private static final AtomicReference<Pose> resetRequest = new AtomicReference<Pose>();
+
+  // odometry thread state
+  private static double x = 0.0;
+  private static double y = 0.0;
+  private static double headingDeg = 0.0;
+  private static double lastLeftInches = 0.0;
+  private static double lastRightInches = 0.0;
+  private static double lastGyroDeg = 0.0;
+  private static boolean lastGyroValid = false;
+  private static int lastEncoderResets = 0;
+  private static long encoderResetEndUs = 0;
+  private static boolean leftResetPending = false;
+  private static boolean rightResetPending = false;
+
+  // latest pose (any thread)
+  public static Pose getPose() {
+    return pose;
+  }
+
+  // recent odometry updates (any thread - lookups only)
+  public static TimeSeries getHistory() {
+    return history;
+  }
+
+  // pose at an earlier time, interpolated between updates (any thread), into sample - the caller's
+  // HISTORY_CHANNELS array, read with the HISTORY_X, HISTORY_Y and HISTORY_HEADING_DEG indexes.
+  // Returns false, leaving sample as it was, if the time is older than the history - the latest
+  // update is used if it is newer. All channels come from one lookup, so x, y and heading are from
+  // the same updates.
+  public static boolean getPoseAt(long timeUs, double[] sample) {
+    return history.get(timeUs, sample);
+  }
+
+  // restart the odometry from a pose (any thread) - applied by the next update, so the odometry
+  // thread stays the only writer
+  public static void reset(double x, double y, double headingDeg) {
+    resetRequest.set(new Pose(x, y, headingDeg, 0));
+  }
+
+  // one update of the odometry thread
+  private static void update() {
+    long nowUs = HardwareFactory.getFPGATime();
+    double left = DriveAssembly.getLeftInches();
+    double right = DriveAssembly.getRightInches();
+
+    IMUSensor imu = NavXSensor.getIMU();
+    boolean gyroValid =
+        (imu != null) && !NavXSensor.isZeroPending() && imu.isConnected() && !imu.isCalibrating();
+    double gyroDeg = (imu != null) ? imu.getAngle() : 0.0;
+
+    // after an encoder reset, each side is watched for its reading to drop to about zero
+    int encoderResets = DriveAssembly.getEncoderResetCount();
+    if (encoderResets != lastEncoderResets) {
+      lastEncoderResets = encoderResets;
+      encoderResetEndUs = nowUs + ENCODER_RESET_SETTLE_US;
+      leftResetPending = true;
+      rightResetPending = true;
+    }
+    if (nowUs > encoderResetEndUs) {
+      leftResetPending = false;
+      rightResetPending = false;
+    }
+
+    double leftStep = left - lastLeftInches;
+    double rightStep = right - lastRightInches;
+    if (leftResetPending && (Math.abs(left) < Math.abs(leftStep))) {
+      // closer to zero than to the last reading - the reset has landed, travel is from zero
+      leftStep = left;
+      leftResetPending = false;
+    }
+    if (rightResetPending && (Math.abs(right) < Math.abs(rightStep))) {
+      rightStep = right;
+      rightResetPending = false;
+    }
+
+    // the navX is clockwise positive
+    double turnDeg = -(gyroDeg - lastGyroDeg);
+    if (!gyroValid || !lastGyroValid || (Math.abs(turnDeg) > MAX_TURN_STEP_DEG))
+      turnDeg = Math.toDegrees((rightStep - leftStep) / HardwareIDs.TRACK_WIDTH_INCHES);
+
+    lastLeftInches = left;
+    lastRightInches = right;
+    lastGyroDeg = gyroDeg;
+    lastGyroValid = gyroValid;
+
+    Pose reset = resetRequest.getAndSet(null);
+    if (reset != null) {
+      x = reset.getX();
+      y = reset.getY();
+      headingDeg = reset.getHeadingDeg();
+    } else {
+      // move along the average heading over the update
+      double distance = (leftStep + rightStep) / 2.0;
+      double midHeading = Math.toRadians(headingDeg + turnDeg / 2.0);
+      x += distance * Math.cos(midHeading);
+      y += distance * Math.sin(midHeading);
+      headingDeg += turnDeg;
+    }
+
+    historySample[HISTORY_LEFT_INCHES] = left;
+    historySample[HISTORY_RIGHT_INCHES] = right;
+    historySample[HISTORY_GYRO_DEG] = gyroDeg;
+    historySample[HISTORY_X] = x;
+    historySample[HISTORY_Y] = y;
+    historySample[HISTORY_HEADING_DEG] = headingDeg;
+    history.add(nowUs, historySample);
+
+    pose = new Pose(x, y, headingDeg, nowUs);
+  }
+}
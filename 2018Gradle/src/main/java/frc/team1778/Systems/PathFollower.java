@@ -0,0 +1,250 @@
+package frc.team1778.Systems;
+
+import edu.wpi.first.networktables.NetworkTableEntry;
+import frc.team1778.Hardware.HardwareFactory;
+import frc.team1778.Hardware.IMUSensor;
+import frc.team1778.Hardware.PeriodicTask;
+import frc.team1778.NetworkComm.InputOutputComm;
+import frc.team1778.Paths.Trajectory;
+import frc.team1778.Utility.LatencyHistogram;
+
+// Follows a generated trajectory (PathStore) on its own real-time notifier thread, one segment per
+// tick at the trajectory's time step (paths are generated at 10 ms - 100 Hz), instead of once per
+// 20 ms robot loop. Each tick drives both sides from their wheel path (PD on position, velocity and
+// acceleration feed-forward) with a heading correction from the gyro - the FreezyPath follower of
+// ChillOutPathfinderTest, run off the main loop.
+// The follower thread reads the encoders and gyro directly and owns the drive motors while a path
+// is running, commanding them past the main thread's command caches (DriveAssembly.driveDirect).
+// Its timing (lateness of each tick against its schedule, time spent in a tick, overruns) is
+// published once a second through direct NetworkTables entries, since the telemetry channels are
+// for the main thread only.
+public class PathFollower {
+
+  private static boolean initialized = false;
+
+  public static void initialize() {
+    if (initialized) return;
+
+    DriveAssembly.initialize();
+    NavXSensor.initialize();
+    InputOutputComm.initialize();
+
+    jitterP50Entry = InputOutputComm.getDirectEntry("PathFollower/JitterP50Us");
+    jitterP99Entry = InputOutputComm.getDirectEntry("PathFollower/JitterP99Us");
+    jitterMaxEntry = InputOutputComm.getDirectEntry("PathFollower/JitterMaxUs");
+    costMaxEntry = InputOutputComm.getDirectEntry("PathFollower/CostMaxUs");
+    overrunsEntry = InputOutputComm.getDirectEntry("PathFollower/Overruns");
+    loopsEntry = InputOutputComm.getDirectEntry("PathFollower/Loops");
+
+    notifier =
+        HardwareFactory.createNotifier(
+            new Runnable() {
+              public void run() {
+                update();
+              }
+            },
+            THREAD_PRIORITY);
+
+    initialized = true;
+  }
+
+  // real-time priority of the follower thread - above the main robot thread, below the CAN and
+  // HAL threads
+  private static final int THREAD_PRIORITY = 40;
+
+  // wheel gains (percent output per inch, per inch/sec, per inch/sec^2) - FreezyPath comp.bot
+  // values, kV from the drive's free speed (about 145 in/s at full output)
+  private static final double kP = 0.05;
+  private static final double kD = 0.0;
+  private static final double kV = 1.0 / 145.0;
+  private static final double kA = 0.0;
+
+  // heading correction (percent output per degree)
+  private static final double kTurn = 0.8 / 80.0;
+
+  private static final long STATS_PERIOD_US = 1000000;
+
+  private static PeriodicTask notifier;
+  private static final Object lock = new Object();
+
+  // path being followed - written by start/stop, read by the follower thread (all under lock)
+  private static Trajectory trajectory = null;
+  private static volatile boolean finished = true;
+
+  private static long periodUs = 0;
+  private static long startUs = 0;
+  private static long nextTickUs = 0;
+  private static double leftStartInches = 0.0;
+  private static double rightStartInches = 0.0;
+  private static double gyroStartDeg = 0.0;
+  private static double lastLeftError = 0.0;
+  private static double lastRightError = 0.0;
+
+  // follower thread timing
+  private static final LatencyHistogram jitterUs = new LatencyHistogram();
+  private static final LatencyHistogram costUs = new LatencyHistogram();
+  private static long overruns = 0;
+  private static long nextStatsUs = 0;
+  private static NetworkTableEntry jitterP50Entry, jitterP99Entry, jitterMaxEntry;
+  private static NetworkTableEntry costMaxEntry, overrunsEntry, loopsEntry;
+
+  // last published timing, for readers on other threads
+  private static volatile long jitterP50 = 0;
+  private static volatile long jitterP99 = 0;
+  private static volatile long jitterMax = 0;
+  private static volatile long costMax = 0;
+  private static volatile long overrunCount = 0;
+  private static volatile long loopCount = 0;
+
+  // start following a path from where the robot is now (a null path finishes at once)
+  // the notifier is started and stopped outside the lock - its own lock is held while a tick runs
+  public static void start(Trajectory path) {
+    notifier.stop();
+    synchronized (lock) {
+      trajectory = path;
+      if (path == null) {
+        finished = true;
+        return;
+      }
+
+      DriveAssembly.autoPathStart();
+      leftStartInches = DriveAssembly.getLeftInches();
+      rightStartInches = DriveAssembly.getRightInches();
+      IMUSensor imu = NavXSensor.getIMU();
+      gyroStartDeg = (imu != null) ? imu.getAngle() : 0.0;
+      lastLeftError = 0.0;
+      lastRightError = 0.0;
+
+      jitterUs.reset();
+      costUs.reset();
+      overruns = 0;
+
+      periodUs = (long) (path.getTimeStepSec() * 1e6);
+      startUs = HardwareFactory.getFPGATime();
+      nextTickUs = startUs + periodUs;
+      nextStatsUs = startUs + STATS_PERIOD_US;
+      finished = false;
+    }
+    notifier.startPeriodic(path.getTimeStepSec());
+  }
+
+  // stop following (if still running) and stop the drive
+  public static void stop() {
+    notifier.stop();
+    synchronized (lock) {
+      if (trajectory != null) publishStats();
+      trajectory = null;
+      finished = true;
+      DriveAssembly.endDriveDirect();
+      DriveAssembly.drive(0.0, 0.0);
+    }
+  }
+
+  // true once the last segment has been driven (or there was no path)
+  public static boolean isFinished() {
+    return finished;
+  }
+
+  public static long getJitterP50Us() {
+    return jitterP50;
+  }
+
+  public static long getJitterP99Us() {
+    return jitterP99;
+  }
+
+  public static long getJitterMaxUs() {
+    return jitterMax;
+  }
+
+  public static long getCostMaxUs() {
+    return costMax;
+  }
+
+  public static long getOverruns() {
+    return overrunCount;
+  }
+
+  public static long getLoops() {
+    return loopCount;
+  }
+
+  // one tick of the follower thread
+  private static void update() {
+    synchronized (lock) {
+      if ((trajectory == null) || finished) return;
+
+      long nowUs = HardwareFactory.getFPGATime();
+
+      // lateness against this tick's slot - a tick that missed whole slots is an overrun
+      jitterUs.record(Math.max(0, nowUs - nextTickUs));
+      if (nowUs - nextTickUs >= periodUs) overruns++;
+      while (nextTickUs <= nowUs) nextTickUs += periodUs;
+
+      // segment for the time since the start, so a late tick catches up rather than lagging
+      int segment = (int) Math.round((double) (nowUs - startUs) / periodUs);
+      if (segment >= trajectory.length()) {
+        // done - the notifier idles until stop() (it is not stopped from its own thread)
+        DriveAssembly.driveDirect(0.0, 0.0);
+        finished = true;
+        publishStats();
+        return;
+      }
+
+      double dtSec = trajectory.getTimeStepSec();
+      double leftError =
+          trajectory.getLeftPosition(segment) - (DriveAssembly.getLeftInches() - leftStartInches);
+      double rightError =
+          trajectory.getRightPosition(segment)
+              - (DriveAssembly.getRightInches() - rightStartInches);
+
+      double left =
+          kP * leftError
+              + kD * (leftError - lastLeftError) / dtSec
+              + kV * trajectory.getLeftVelocity(segment)
+              + kA * trajectory.getLeftAcceleration(segment);
+      double right =
+          kP * rightError
+              + kD * (rightError - lastRightError) / dtSec
+              + kV * trajectory.getRightVelocity(segment)
+              + kA * trajectory.getRightAcceleration(segment);
+      lastLeftError = leftError;
+      lastRightError = rightError;
+
+      // path headings are counter-clockwise positive, the gyro clockwise positive
+      IMUSensor imu = NavXSensor.getIMU();
+      double headingDeg = (imu != null) ? -(imu.getAngle() - gyroStartDeg) : 0.0;
+      double headingError =
+          (trajectory.getHeadingDeg(segment) - trajectory.getHeadingDeg(0)) - headingDeg;
+      double turn = kTurn * headingError;
+
+      DriveAssembly.driveDirect(left - turn, right + turn);
+
+      long endUs = HardwareFactory.getFPGATime();
+      costUs.record(endUs - nowUs);
+      if (endUs - nowUs > periodUs) overruns++;
+
+      if (endUs >= nextStatsUs) {
+        nextStatsUs = endUs + STATS_PERIOD_US;
+        publishStats();
+      }
+    }
+  }
+
+  private static void publishStats() {
+    jitterP50 = jitterUs.getPercentile(0.5);
+    jitterP99 = jitterUs.getPercentile(0.99);
+    jitterMax = jitterUs.getMax();
+    costMax = costUs.getMax();
+    overrunCount = overruns;
+    loopCount = jitterUs.getCount();
+
+    if (jitterP50Entry == null) return;
+    jitterP50Entry.setDouble(jitterP50);
+    jitterP99Entry.setDouble(jitterP99);
+    jitterMaxEntry.setDouble(jitterMax);
+    costMaxEntry.setDouble(costMax);
+    overrunsEntry.setDouble(overrunCount);
+    loopsEntry.setDouble(loopCount);
+  }
+}
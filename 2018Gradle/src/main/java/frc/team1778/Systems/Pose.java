@@ -0,0 +1,37 @@
+package frc.team1778.Systems;
+
+// Robot position on the field at one moment (see Odometry) - never changed once made, so a pose
+// can be handed between threads and kept as long as needed.
+// Inches, x forward and y to the left of the odometry origin, heading in degrees counter-clockwise
+// positive and continuous (the conventions of the generated paths).
+public class Pose {
+
+  private final double x;
+  private final double y;
+  private final double headingDeg;
+  private final long timestampUs;
+
+  public Pose(double x, double y, double headingDeg, long timestampUs) {
+    this.x = x;
+    this.y = y;
+    this.headingDeg = headingDeg;
+    this.timestampUs = timestampUs;
+  }
+
+  public double getX() {
+    return x;
+  }
+
+  public double getY() {
+    return y;
+  }
+
+  public double getHeadingDeg() {
+    return headingDeg;
+  }
+
+  // FPGA time of the sensor readings the pose was computed from (usec)
+  public long getTimestampUs() {
+    return timestampUs;
+  }
+}
@@ -0,0 +1,234 @@
+package frc.team1778.Systems;
+
+import com.ctre.phoenix.motion.MotionProfileStatus;
+import com.ctre.phoenix.motion.SetValueMotionProfile;
+import com.ctre.phoenix.motion.TrajectoryPoint;
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import frc.team1778.Hardware.CANMotorController;
+import frc.team1778.Hardware.HardwareFactory;
+import frc.team1778.Hardware.PeriodicTask;
+import frc.team1778.NetworkComm.InputOutputComm;
+import frc.team1778.Paths.PathFormat;
+import frc.team1778.Paths.Trajectory;
+import frc.team1778.Utility.HardwareIDs;
+
+// Follows a generated trajectory (PathStore) on the front drive Talons themselves - the other way
+// to PathFollower. Each side's wheel path is streamed as motion profile points into the Talon's
+// top-level buffer, a notifier moves them into the Talon at twice the point rate, and the Talon
+// runs the profile in its own 1 kHz loop (kP on position, kF on velocity - the
+// DriveAssembly.MOTION_PROFILE_SLOT gains), so nothing on the roboRIO closes the loop.
+// There is no gyro correction: the wheel paths already turn the robot, but drift is not taken out
+// (that needs an arc profile with the gyro on the Talon).
+// process() runs in the robot loop: it keeps about STREAM_AHEAD_POINTS queued, enables the profile
+// once the Talons have points, and watches the profile status for underruns and the last point.
+public class ProfileStreamer {
+
+  private static boolean initialized = false;
+
+  public static void initialize() {
+    if (initialized) return;
+
+    DriveAssembly.initialize();
+    InputOutputComm.initialize();
+
+    left = new Side(DriveAssembly.getFrontLeft(), PathFormat.COLUMN_LEFT_POSITION);
+    right = new Side(DriveAssembly.getFrontRight(), PathFormat.COLUMN_RIGHT_POSITION);
+
+    notifier =
+        HardwareFactory.createNotifier(
+            new Runnable() {
+              public void run() {
+                left.talon.processMotionProfileBuffer();
+                right.talon.processMotionProfileBuffer();
+              }
+            },
+            THREAD_PRIORITY);
+
+    underrunsHandle =
+        InputOutputComm.registerInt(InputOutputComm.LogTable.kMainLog, "Drive/ProfileUnderruns");
+    bufferedHandle =
+        InputOutputComm.registerInt(InputOutputComm.LogTable.kMainLog, "Drive/ProfileBuffered");
+
+    initialized = true;
+  }
+
+  private static final int TIMEOUT_MS = 0;
+
+  // real-time priority of the buffer thread (see PathFollower)
+  private static final int THREAD_PRIORITY = 40;
+
+  // points kept queued ahead of the Talon (0.5 sec at 10 ms) - covers a slow robot loop without
+  // filling the whole top-level buffer, so a stopped path leaves little behind
+  private static final int STREAM_AHEAD_POINTS = 50;
+
+  // points in the Talon's own buffer before the profile is enabled
+  private static final int MIN_POINTS_TO_ENABLE = 5;
+
+  // one front Talon and the trajectory column it follows
+  private static class Side {
+    final CANMotorController talon;
+    final int positionColumn;
+    final MotionProfileStatus status = new MotionProfileStatus();
+    final TrajectoryPoint point = new TrajectoryPoint();
+    double startUnits = 0.0;
+    int nextPoint = 0;
+
+    Side(CANMotorController talon, int positionColumn) {
+      this.talon = talon;
+      this.positionColumn = positionColumn;
+    }
+
+    void start(Trajectory path, TrajectoryPoint.TrajectoryDuration duration) {
+      talon.set(ControlMode.MotionProfile, SetValueMotionProfile.Disable.value);
+      talon.clearMotionProfileTrajectories();
+      talon.clearMotionProfileHasUnderrun(TIMEOUT_MS);
+      talon.configMotionProfileTrajectoryPeriod(0, TIMEOUT_MS);
+
+      startUnits = talon.getSelectedSensorPosition(0);
+      nextPoint = 0;
+      point.timeDur = duration;
+      point.profileSlotSelect0 = DriveAssembly.MOTION_PROFILE_SLOT;
+      point.headingDeg = 0.0;
+      point.zeroPos = false;
+    }
+
+    // push points until STREAM_AHEAD_POINTS are queued (or the path is all pushed)
+    void fill(Trajectory path) {
+      int queued = status.topBufferCnt + status.btmBufferCnt;
+      int room = Math.min(STREAM_AHEAD_POINTS - queued, status.topBufferRem);
+      for (int i = 0; (i < room) && (nextPoint < path.length()); i++, nextPoint++) {
+        point.position =
+            startUnits + path.get(positionColumn, nextPoint) / HardwareIDs.INCHES_PER_ENCODER_PULSE;
+        point.velocity =
+            path.get(positionColumn + 1, nextPoint) / HardwareIDs.INCHES_PER_ENCODER_PULSE / 10.0;
+        point.isLastPoint = (nextPoint == path.length() - 1);
+        talon.pushMotionProfileTrajectory(point);
+      }
+    }
+  }
+
+  private static Side left, right;
+  private static PeriodicTask notifier;
+
+  private static Trajectory trajectory = null;
+  private static boolean enabled = false;
+  private static boolean finished = true;
+  private static int underruns = 0;
+
+  private static InputOutputComm.IntHandle underrunsHandle, bufferedHandle;
+
+  // start streaming a path from where the robot is now (a null path, or one with a time step the
+  // Talon cannot run, finishes at once)
+  public static void start(Trajectory path) {
+    notifier.stop();
+    trajectory = null;
+    finished = true;
+    if (path == null) return;
+
+    TrajectoryPoint.TrajectoryDuration duration = durationOf(path.getTimeStepSec());
+    if (duration == null) {
+      System.out.println(
+          "ProfileStreamer: no Talon point duration for "
+              + path.name
+              + " ("
+              + path.getTimeStepSec()
+              + " sec)");
+      return;
+    }
+
+    DriveAssembly.autoPathStart();
+    left.start(path, duration);
+    right.start(path, duration);
+    trajectory = path;
+    enabled = false;
+    finished = false;
+    underruns = 0;
+
+    // prime the buffers, then move points into the Talons at twice the point rate
+    readStatus();
+    left.fill(path);
+    right.fill(path);
+    int periodMs = Math.max(1, duration.value / 2);
+    left.talon.changeMotionControlFramePeriod(periodMs);
+    right.talon.changeMotionControlFramePeriod(periodMs);
+    notifier.startPeriodic(periodMs * 1e-3);
+  }
+
+  // call every robot loop while streaming
+  public static void process() {
+    if ((trajectory == null) || finished) return;
+
+    readStatus();
+    left.fill(trajectory);
+    right.fill(trajectory);
+
+    if (!enabled) {
+      // a path shorter than the enable threshold is enabled once it is all in the Talons
+      int needed = Math.min(MIN_POINTS_TO_ENABLE, trajectory.length());
+      if ((left.status.btmBufferCnt >= needed) && (right.status.btmBufferCnt >= needed)) {
+        left.talon.set(ControlMode.MotionProfile, SetValueMotionProfile.Enable.value);
+        right.talon.set(ControlMode.MotionProfile, SetValueMotionProfile.Enable.value);
+        enabled = true;
+      }
+    } else {
+      // an empty Talon buffer while running - the Talon holds its last point until more arrive
+      underruns += checkUnderrun(left) + checkUnderrun(right);
+    }
+
+    if (enabled && left.status.isLast && right.status.isLast) {
+      // both sides on their last point - hold it until stopped
+      left.talon.set(ControlMode.MotionProfile, SetValueMotionProfile.Hold.value);
+      right.talon.set(ControlMode.MotionProfile, SetValueMotionProfile.Hold.value);
+      finished = true;
+    }
+
+    underrunsHandle.set(underruns);
+    bufferedHandle.set(Math.min(left.status.btmBufferCnt, right.status.btmBufferCnt));
+  }
+
+  // stop streaming and stop the drive
+  public static void stop() {
+    notifier.stop();
+    if (trajectory != null) {
+      left.talon.set(ControlMode.MotionProfile, SetValueMotionProfile.Disable.value);
+      right.talon.set(ControlMode.MotionProfile, SetValueMotionProfile.Disable.value);
+      left.talon.clearMotionProfileTrajectories();
+      right.talon.clearMotionProfileTrajectories();
+    }
+    trajectory = null;
+    finished = true;
+    DriveAssembly.drive(0.0, 0.0);
+  }
+
+  // true once both Talons are on the last point (or there was no path)
+  public static boolean isFinished() {
+    return finished;
+  }
+
+  // underruns seen since the path was started
+  public static int getUnderruns() {
+    return underruns;
+  }
+
+  private static void readStatus() {
+    left.talon.getMotionProfileStatus(left.status);
+    right.talon.getMotionProfileStatus(right.status);
+  }
+
+  private static int checkUnderrun(Side side) {
+    if (!side.status.hasUnderrun) return 0;
+
+    side.talon.clearMotionProfileHasUnderrun(TIMEOUT_MS);
+    return 1;
+  }
+
+  // Talon point duration for a trajectory time step (null if there is none)
+  private static TrajectoryPoint.TrajectoryDuration durationOf(double dtSec) {
+    int ms = (int) Math.round(dtSec * 1000.0);
+    for (TrajectoryPoint.TrajectoryDuration duration :
+        TrajectoryPoint.TrajectoryDuration.values()) {
+      if ((duration.value == ms) && (ms > 0)) return duration;
+    }
+    return null;
+  }
+}
@@ -0,0 +1,164 @@
+package frc.team1778.Systems;
+
+import frc.team1778.NetworkComm.InputOutputComm;
+
+// Snapshot of the robot's sensors, captured once at the top of each loop and handed to every
+// action and event - each sensor is read over the bus once per cycle, and every decision in a
+// cycle sees the same readings.
+// Frames are read-only to their users. There are two of them, reused in turn, so a frame stays
+// valid for the cycle it was captured in and the one after - never keep one longer than that.
+public class SensorFrame {
+
+  private static boolean initialized = false;
+
+  private static final SensorFrame[] frames = {new SensorFrame(), new SensorFrame()};
+  private static int currentFrame = 0;
+
+  // telemetry channels
+  private static InputOutputComm.DoubleHandle encoderRightHandle, encoderLeftHandle;
+  private static InputOutputComm.DoubleHandle gyroAngleHandle;
+  private static InputOutputComm.BooleanHandle imuConnectedHandle, imuCalibratingHandle;
+  private static InputOutputComm.DoubleHandle poseXHandle, poseYHandle, poseHeadingHandle;
+
+  // FPGA time the frame was captured (usec)
+  long timestampUs = 0;
+
+  // drivetrain encoders (front motors)
+  double leftPositionInches = 0.0;
+  double rightPositionInches = 0.0;
+  double leftVelocityInchesPerSec = 0.0;
+  double rightVelocityInchesPerSec = 0.0;
+
+  // navX
+  double gyroAngleDeg = 0.0;
+  double gyroRateDegPerSec = 0.0;
+  boolean imuConnected = false;
+  boolean imuCalibrating = false;
+
+  // lift limit switches (upper lift motor)
+  boolean liftUpperLimit = false;
+  boolean liftLowerLimit = false;
+
+  double batteryVoltage = 0.0;
+
+  // latest odometry pose when the frame was captured (from the odometry thread - no bus reads)
+  Pose pose = null;
+
+  public static void initialize() {
+    if (initialized) return;
+
+    InputOutputComm.initialize();
+    DriveAssembly.initialize();
+    CubeManagement.initialize();
+    Odometry.initialize();
+
+    // register telemetry channels
+    encoderRightHandle =
+        InputOutputComm.registerDouble(InputOutputComm.LogTable.kMainLog, "Auto/EncoderRight");
+    encoderLeftHandle =
+        InputOutputComm.registerDouble(InputOutputComm.LogTable.kMainLog, "Auto/EncoderLeft");
+    gyroAngleHandle =
+        InputOutputComm.registerDouble(InputOutputComm.LogTable.kMainLog, "Auto/GyroAngle");
+    imuConnectedHandle =
+        InputOutputComm.registerBoolean(InputOutputComm.LogTable.kMainLog, "Auto/IMU_Connected");
+    imuCalibratingHandle =
+        InputOutputComm.registerBoolean(InputOutputComm.LogTable.kMainLog, "Auto/IMU_Calibrating");
+    poseXHandle = InputOutputComm.registerDouble(InputOutputComm.LogTable.kMainLog, "Pose/X");
+    poseYHandle = InputOutputComm.registerDouble(InputOutputComm.LogTable.kMainLog, "Pose/Y");
+    poseHeadingHandle =
+        InputOutputComm.registerDouble(InputOutputComm.LogTable.kMainLog, "Pose/HeadingDeg");
+
+    initialized = true;
+  }
+
+  // read all sensors into the next frame - call once, at the top of the loop
+  public static SensorFrame capture(long timeUs) {
+    initialize();
+
+    SensorFrame frame = frames[currentFrame ^ 1];
+    frame.timestampUs = timeUs;
+    DriveAssembly.readSensors(frame);
+    NavXSensor.readSensors(frame);
+    CubeManagement.readSensors(frame);
+    frame.pose = Odometry.getPose();
+    currentFrame ^= 1;
+
+    // send output data for test & debug
+    encoderRightHandle.set(frame.rightPositionInches);
+    encoderLeftHandle.set(frame.leftPositionInches);
+    gyroAngleHandle.set(frame.gyroAngleDeg);
+    imuConnectedHandle.set(frame.imuConnected);
+    imuCalibratingHandle.set(frame.imuCalibrating);
+    poseXHandle.set(frame.pose.getX());
+    poseYHandle.set(frame.pose.getY());
+    poseHeadingHandle.set(frame.pose.getHeadingDeg());
+
+    return frame;
+  }
+
+  // most recently captured frame
+  public static SensorFrame getCurrent() {
+    return frames[currentFrame];
+  }
+
+  private SensorFrame() {}
+
+  public long getTimestampUs() {
+    return timestampUs;
+  }
+
+  public double getLeftPositionInches() {
+    return leftPositionInches;
+  }
+
+  public double getRightPositionInches() {
+    return rightPositionInches;
+  }
+
+  // drive distance used by auto (right side encoder)
+  public double getDistanceInches() {
+    return rightPositionInches;
+  }
+
+  public double getLeftVelocityInchesPerSec() {
+    return leftVelocityInchesPerSec;
+  }
+
+  public double getRightVelocityInchesPerSec() {
+    return rightVelocityInchesPerSec;
+  }
+
+  // continuous angle (deg, can be larger than 360 deg)
+  public double getGyroAngleDeg() {
+    return gyroAngleDeg;
+  }
+
+  public double getGyroRateDegPerSec() {
+    return gyroRateDegPerSec;
+  }
+
+  // field position (Odometry) as of the frame - the pose's own timestamp is when it was computed
+  public Pose getPose() {
+    return pose;
+  }
+
+  public boolean isImuConnected() {
+    return imuConnected;
+  }
+
+  public boolean isImuCalibrating() {
+    return imuCalibrating;
+  }
+
+  public boolean isLiftUpperLimit() {
+    return liftUpperLimit;
+  }
+
+  public boolean isLiftLowerLimit() {
+    return liftLowerLimit;
+  }
+
+  public double getBatteryVoltage() {
+    return batteryVoltage;
+  }
+}
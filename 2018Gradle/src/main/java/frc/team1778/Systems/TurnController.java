@@ -1,8 +1,9 @@
 package frc.team1778.Systems;
 
-import com.kauailabs.navx.frc.AHRS;
-import edu.wpi.first.wpilibj.PIDController;
 import edu.wpi.first.wpilibj.PIDOutput;
+import frc.team1778.Hardware.HardwareFactory;
+import frc.team1778.Hardware.IMUSensor;
+import frc.team1778.Hardware.PIDLoop;
 
 public class TurnController {
 
@@ -13,11 +14,11 @@ public class TurnController {
     if (initialized) return;
 
     NavXSensor.initialize();
-    ahrs = NavXSensor.getAHRS();
+    ahrs = NavXSensor.getIMU();
 
     pidOut = new TurnOutput();
 
-    pidCtrl = new PIDController(kP, kI, kD, kF, ahrs, pidOut);
+    pidCtrl = HardwareFactory.createPIDController(kP, kI, kD, kF, ahrs, pidOut);
 
     pidCtrl.setInputRange(-180.0, 180.0);
     pidCtrl.setOutputRange(-maxSpeed, maxSpeed);
@@ -27,7 +28,7 @@ public class TurnController {
   }
 
   // instance data and methods
-  private static PIDController pidCtrl;
+  private static PIDLoop pidCtrl;
 
   // proto.bot
   // super-volatile (accurate, super-fast, unstable) version - 2/5/2018
@@ -63,7 +64,7 @@ public class TurnController {
 
   private static double angleTargetDeg = 0.0;
   private static TurnOutput pidOut;
-  private static AHRS ahrs;
+  private static IMUSensor ahrs;
 
   public static void setAngle(double angleDeg) {
 
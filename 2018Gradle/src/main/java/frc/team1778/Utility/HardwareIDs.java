@@ -53,4 +53,7 @@ public class HardwareIDs {
 
   public static final double INCHES_PER_ENCODER_PULSE = INCHES_PER_REV / ENCODER_PULSES_PER_REV;
   public static final double RPM_TO_UNIT_PER_100MS = ENCODER_PULSES_PER_REV / (60 * 10);
+
+  // distance between left and right wheels (comp.bot)
+  public static final double TRACK_WIDTH_INCHES = 25.0;
 }
@@ -0,0 +1,72 @@
+package frc.team1778.Utility;
+
+// Fixed-memory latency histogram (microseconds).
+// Buckets are log-linear: exact below 8 us, then 8 buckets per power of two (~12% resolution),
+// up to ~16 s. Recording is a few integer ops and never allocates.
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int MAX_MSB = 24;
+  private static final int NUM_BUCKETS = (MAX_MSB - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+  private final long[] counts = new long[NUM_BUCKETS];
+  private long totalCount = 0;
+  private long maxUs = 0;
+
+  public void record(long valueUs) {
+    if (valueUs < 0) valueUs = 0;
+
+    counts[bucketIndex(valueUs)]++;
+    totalCount++;
+    if (valueUs > maxUs) maxUs = valueUs;
+  }
+
+  public void reset() {
+    for (int i = 0; i < NUM_BUCKETS; i++) counts[i] = 0;
+    totalCount = 0;
+    maxUs = 0;
+  }
+
+  public long getCount() {
+    return totalCount;
+  }
+
+  public long getMax() {
+    return maxUs;
+  }
+
+  // returns the value (bucket lower bound) below which the given fraction of samples fall
+  public long getPercentile(double fraction) {
+    if (totalCount == 0) return 0;
+
+    long target = (long) Math.ceil(fraction * totalCount);
+    if (target < 1) target = 1;
+
+    long seen = 0;
+    for (int i = 0; i < NUM_BUCKETS; i++) {
+      seen += counts[i];
+      if (seen >= target) return Math.min(bucketValue(i), maxUs);
+    }
+
+    return maxUs;
+  }
+
+  private static int bucketIndex(long valueUs) {
+    if (valueUs < SUB_BUCKETS) return (int) valueUs;
+
+    int msb = 63 - Long.numberOfLeadingZeros(valueUs);
+    if (msb > MAX_MSB) return NUM_BUCKETS - 1;
+
+    int sub = (int) (valueUs >> (msb - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return (msb - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+  }
+
+  private static long bucketValue(int index) {
+    if (index < SUB_BUCKETS) return index;
+
+    int msb = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+    int sub = index % SUB_BUCKETS;
+    return ((long) (SUB_BUCKETS + sub)) << (msb - SUB_BUCKET_BITS);
+  }
+}
@@ -0,0 +1,179 @@
+package frc.team1778.Utility;
+
+import frc.team1778.Hardware.HardwareFactory;
+import frc.team1778.NetworkComm.InputOutputComm;
+
+// Per-stage loop timing, measured with the FPGA clock.
+// Stages are registered once at init and timed with:
+//   long startUs = LoopProfiler.now();
+//   ...stage work...
+//   startUs = LoopProfiler.record(stage, startUs);  // returns the end time, so calls can chain
+// Each stage feeds a fixed-memory latency histogram; p50/p99/max are published at a low rate.
+// A cycle that runs past the loop period is logged as an overrun, naming its slowest stage
+// (group stages, which enclose other timed stages, are only named if no inner stage was timed).
+public class LoopProfiler {
+
+  // IterativeRobot loop period
+  public static final long LOOP_PERIOD_US = 20000;
+
+  // publish histogram summaries once a second (every 50 cycles)
+  private static final int PUBLISH_CYCLES = 50;
+
+  private static final int MAX_STAGES = 48;
+
+  private static int numStages = 0;
+  private static final String[] stageNames = new String[MAX_STAGES];
+  private static final boolean[] groupStages = new boolean[MAX_STAGES];
+  private static final LatencyHistogram[] histograms = new LatencyHistogram[MAX_STAGES];
+  private static final long[] cycleStageUs = new long[MAX_STAGES]; // time spent this cycle
+  private static final InputOutputComm.DoubleHandle[] p50Handles =
+      new InputOutputComm.DoubleHandle[MAX_STAGES];
+  private static final InputOutputComm.DoubleHandle[] p99Handles =
+      new InputOutputComm.DoubleHandle[MAX_STAGES];
+  private static final InputOutputComm.DoubleHandle[] maxHandles =
+      new InputOutputComm.DoubleHandle[MAX_STAGES];
+
+  // whole-cycle timing and overrun log
+  private static int cycleStage = -1;
+  private static long cycleStartUs = 0;
+  private static int cycleCounter = 0;
+  private static long overrunCount = 0;
+
+  private static InputOutputComm.IntHandle overrunCountHandle;
+  private static InputOutputComm.StringHandle overrunStageHandle;
+  private static InputOutputComm.DoubleHandle overrunCycleMsHandle, overrunStageMsHandle;
+
+  private static boolean initialized = false;
+
+  public static void initialize() {
+    if (initialized) return;
+
+    cycleStage = registerGroupStage("Cycle");
+
+    overrunCountHandle =
+        InputOutputComm.registerInt(InputOutputComm.LogTable.kMainLog, "Timing/OverrunCount");
+    overrunStageHandle =
+        InputOutputComm.registerString(InputOutputComm.LogTable.kMainLog, "Timing/OverrunStage");
+    overrunCycleMsHandle =
+        InputOutputComm.registerDouble(InputOutputComm.LogTable.kMainLog, "Timing/OverrunCycleMs");
+    overrunStageMsHandle =
+        InputOutputComm.registerDouble(InputOutputComm.LogTable.kMainLog, "Timing/OverrunStageMs");
+
+    initialized = true;
+  }
+
+  // registers a timed stage (init time only) - stages with the same name share a histogram
+  public static int registerStage(String name) {
+    return registerStage(name, false);
+  }
+
+  // registers a stage that encloses other timed stages
+  public static int registerGroupStage(String name) {
+    return registerStage(name, true);
+  }
+
+  private static int registerStage(String name, boolean group) {
+    for (int i = 0; i < numStages; i++) {
+      if (stageNames[i].equals(name)) return i;
+    }
+
+    if (numStages >= MAX_STAGES) {
+      System.out.println("LoopProfiler stage limit reached - " + name + " not timed!!");
+      return -1;
+    }
+
+    int stage = numStages;
+    stageNames[stage] = name;
+    groupStages[stage] = group;
+    histograms[stage] = new LatencyHistogram();
+    p50Handles[stage] =
+        InputOutputComm.registerDouble(
+            InputOutputComm.LogTable.kMainLog, "Timing/" + name + "/p50Us");
+    p99Handles[stage] =
+        InputOutputComm.registerDouble(
+            InputOutputComm.LogTable.kMainLog, "Timing/" + name + "/p99Us");
+    maxHandles[stage] =
+        InputOutputComm.registerDouble(
+            InputOutputComm.LogTable.kMainLog, "Timing/" + name + "/maxUs");
+    numStages++;
+    return stage;
+  }
+
+  // current FPGA time (usec)
+  public static long now() {
+    return HardwareFactory.getFPGATime();
+  }
+
+  // records the time since startUs against a stage, returns the current time (usec)
+  public static long record(int stage, long startUs) {
+    long nowUs = HardwareFactory.getFPGATime();
+    if (stage < 0) return nowUs;
+
+    long elapsedUs = nowUs - startUs;
+    histograms[stage].record(elapsedUs);
+    cycleStageUs[stage] += elapsedUs;
+    return nowUs;
+  }
+
+  // call at the top of each periodic method - returns the cycle start time (usec)
+  public static long startCycle() {
+    cycleStartUs = HardwareFactory.getFPGATime();
+    for (int i = 0; i < numStages; i++) cycleStageUs[i] = 0;
+    return cycleStartUs;
+  }
+
+  // call at the end of each periodic method
+  public static void endCycle() {
+    if (!initialized) return;
+
+    record(cycleStage, cycleStartUs);
+
+    long cycleUs = cycleStageUs[cycleStage];
+    if (cycleUs > LOOP_PERIOD_US) logOverrun(cycleUs);
+
+    if (++cycleCounter >= PUBLISH_CYCLES) {
+      cycleCounter = 0;
+      publish();
+    }
+  }
+
+  // clear all statistics (e.g. on mode change)
+  public static void reset() {
+    for (int i = 0; i < numStages; i++) histograms[i].reset();
+    cycleCounter = 0;
+  }
+
+  private static void logOverrun(long cycleUs) {
+    // find the inner stage that took the most time this cycle, fall back to group stages
+    int slowest = findSlowest(false);
+    if ((slowest < 0) || (cycleStageUs[slowest] == 0)) slowest = findSlowest(true);
+
+    overrunCount++;
+    overrunCountHandle.set((int) overrunCount);
+    overrunCycleMsHandle.set(cycleUs / 1000.0);
+    if (slowest >= 0) {
+      overrunStageHandle.set(stageNames[slowest]);
+      overrunStageMsHandle.set(cycleStageUs[slowest] / 1000.0);
+    }
+  }
+
+  private static int findSlowest(boolean group) {
+    int slowest = -1;
+    for (int i = 0; i < numStages; i++) {
+      if ((i == cycleStage) || (groupStages[i] != group)) continue;
+      if ((slowest < 0) || (cycleStageUs[i] > cycleStageUs[slowest])) slowest = i;
+    }
+    return slowest;
+  }
+
+  private static void publish() {
+    for (int i = 0; i < numStages; i++) {
+      LatencyHistogram hist = histograms[i];
+      if (hist.getCount() == 0) continue;
+
+      p50Handles[i].set(hist.getPercentile(0.50));
+      p99Handles[i].set(hist.getPercentile(0.99));
+      maxHandles[i].set(hist.getMax());
+    }
+  }
+}
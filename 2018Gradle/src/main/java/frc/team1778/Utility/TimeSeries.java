@@ -0,0 +1,144 @@
+package frc.team1778.Utility;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Fixed-memory history of timestamped samples (FPGA usec), each holding a fixed number of double
+// channels - e.g. the encoders, gyro and pose, so code handling a delayed measurement (a vision
+// frame) can ask for the values at the time it was captured.
+// Samples go into a ring of primitive arrays (the oldest is overwritten), lookups are a binary
+// search on the timestamps with linear interpolation between the two samples around the time.
+// Nothing allocates after construction.
+// One thread adds samples, any thread may read: a sample is published by the volatile write count,
+// and readers stay GUARD_SAMPLES clear of the oldest slot (the next to be overwritten), retrying in
+// the unlikely case the writer laps them during a lookup. The slots are atomic arrays (values kept
+// as their long bits), so every slot read is a volatile read - it cannot move past the lookup's
+// second read of the write count, and a slot read that sees a new sample also sees the count that
+// retired the old one.
+public class TimeSeries {
+
+  // slots a reader leaves between itself and the writer
+  private static final int GUARD_SAMPLES = 4;
+
+  private final int capacity;
+  private final int channels;
+  private final AtomicLongArray timestamps;
+  private final AtomicLongArray values; // double bits, channels per sample, sample after sample
+
+  // samples added so far - slot of sample n is n % capacity
+  private volatile long written = 0;
+
+  // capacity: samples kept (more than GUARD_SAMPLES), channels: values per sample
+  public TimeSeries(int capacity, int channels) {
+    if (capacity <= GUARD_SAMPLES) throw new IllegalArgumentException("capacity " + capacity);
+
+    this.capacity = capacity;
+    this.channels = channels;
+    timestamps = new AtomicLongArray(capacity);
+    values = new AtomicLongArray(capacity * channels);
+  }
+
+  public int getChannels() {
+    return channels;
+  }
+
+  // add a sample (writer thread only) - timestamps must not go backwards, sample holds a value
+  // for each channel
+  public void add(long timeUs, double[] sample) {
+    long n = written;
+    int slot = (int) (n % capacity);
+    timestamps.set(slot, timeUs);
+    for (int c = 0; c < channels; c++)
+      values.set(slot * channels + c, Double.doubleToRawLongBits(sample[c]));
+    written = n + 1;
+  }
+
+  // time of the newest sample (Long.MIN_VALUE if none)
+  public long getNewestTimeUs() {
+    long end = written;
+    if (end == 0) return Long.MIN_VALUE;
+    return timestamps.get((int) ((end - 1) % capacity));
+  }
+
+  // one channel at a time (NaN if the time is older than the samples kept, the newest sample's
+  // value if it is newer)
+  public double get(long timeUs, int channel) {
+    while (true) {
+      long end = written;
+      long start = Math.max(0, end - capacity + GUARD_SAMPLES);
+      if (end <= start) return Double.NaN;
+
+      long index = search(start, end, timeUs);
+      double value;
+      if (index == start) {
+        value = Double.NaN;
+      } else if (index == end) {
+        value = valueAt(slotOf(end - 1), channel);
+      } else {
+        int before = slotOf(index - 1);
+        int after = slotOf(index);
+        double fraction = fraction(timeUs, before, after);
+        double v0 = valueAt(before, channel);
+        value = v0 + (valueAt(after, channel) - v0) * fraction;
+      }
+
+      // the writer has not started on the oldest slot read (sample start + capacity)
+      if (written - start < capacity) return value;
+    }
+  }
+
+  // all channels at a time, into out (returns false, leaving out as it was, if the time is older
+  // than the samples kept - the newest sample is used if it is newer)
+  public boolean get(long timeUs, double[] out) {
+    while (true) {
+      long end = written;
+      long start = Math.max(0, end - capacity + GUARD_SAMPLES);
+      if (end <= start) return false;
+
+      long index = search(start, end, timeUs);
+      if (index == start) return false;
+
+      if (index == end) {
+        int newest = slotOf(end - 1);
+        for (int c = 0; c < channels; c++) out[c] = valueAt(newest, c);
+      } else {
+        int before = slotOf(index - 1);
+        int after = slotOf(index);
+        double fraction = fraction(timeUs, before, after);
+        for (int c = 0; c < channels; c++) {
+          double v0 = valueAt(before, c);
+          out[c] = v0 + (valueAt(after, c) - v0) * fraction;
+        }
+      }
+
+      // the writer has not started on the oldest slot read (sample start + capacity)
+      if (written - start < capacity) return true;
+    }
+  }
+
+  private int slotOf(long n) {
+    return (int) (n % capacity);
+  }
+
+  private double valueAt(int slot, int channel) {
+    return Double.longBitsToDouble(values.get(slot * channels + channel));
+  }
+
+  // first sample in [start, end) newer than timeUs (end if none)
+  private long search(long start, long end, long timeUs) {
+    long low = start;
+    long high = end;
+    while (low < high) {
+      long mid = (low + high) >>> 1;
+      if (timestamps.get(slotOf(mid)) > timeUs) high = mid;
+      else low = mid + 1;
+    }
+    return low;
+  }
+
+  // how far timeUs is from the sample in slot before to the (newer) one in slot after
+  private double fraction(long timeUs, int before, int after) {
+    long t0 = timestamps.get(before);
+    long t1 = timestamps.get(after);
+    return (t1 > t0) ? (double) (timeUs - t0) / (t1 - t0) : 1.0;
+  }
+}
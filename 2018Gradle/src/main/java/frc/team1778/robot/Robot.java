@@ -4,12 +4,20 @@ import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.IterativeRobot;
 import frc.team1778.FreezyDrive.Controller;
 import frc.team1778.FreezyDrive.DriveControl;
+import frc.team1778.Hardware.HardwareFactory;
+import frc.team1778.Hardware.MotorCommandCache;
+import frc.team1778.Hardware.TimedCommandScheduler;
+import frc.team1778.NetworkComm.FlightRecorder;
 import frc.team1778.NetworkComm.InputOutputComm;
 import frc.team1778.NetworkComm.RPIComm;
+import frc.team1778.Paths.PathStore;
 import frc.team1778.StateMachine.AutoStateMachine;
 import frc.team1778.Systems.CubeManagement;
 import frc.team1778.Systems.DriveAssembly;
 import frc.team1778.Systems.NavXSensor;
+import frc.team1778.Systems.Odometry;
+import frc.team1778.Systems.SensorFrame;
+import frc.team1778.Utility.LoopProfiler;
 
 /**
  * The VM is configured to automatically run this class, and to call the functions corresponding to
@@ -23,6 +31,12 @@ public class Robot extends IterativeRobot {
   protected DriveControl driveControl;
   protected DriverStation ds;
 
+  // telemetry channels
+  private InputOutputComm.StringHandle mainLogHandle;
+
+  // loop profiler stages
+  private int autoStage, sensorStage, driveStage, cubeStage;
+
   /**
    * This function is run when the robot is first started up and should be used for any
    * initialization code.
@@ -32,10 +46,23 @@ public class Robot extends IterativeRobot {
 
     // Initialize robot subsystems
     InputOutputComm.initialize();
+    InputOutputComm.startCycle(HardwareFactory.getFPGATime());
+    mainLogHandle = InputOutputComm.registerString(InputOutputComm.LogTable.kMainLog, "MainLog");
+
+    LoopProfiler.initialize();
+    autoStage = LoopProfiler.registerGroupStage("AutoStateMachine");
+    sensorStage = LoopProfiler.registerStage("Sensors");
+    driveStage = LoopProfiler.registerStage("DriveControl");
+    cubeStage = LoopProfiler.registerStage("CubeManagement");
+
     RPIComm.initialize();
     CubeManagement.initialize();
     NavXSensor.initialize();
     DriveAssembly.initialize();
+    SensorFrame.initialize();
+
+    // generated trajectories (no spline fitting on the robot - see compilePaths)
+    PathStore.initialize();
 
     // Initialize Freezy Drive controller classes
     Controller.initialize();
@@ -47,7 +74,7 @@ public class Robot extends IterativeRobot {
     // retrieve Driver Station instance
     ds = DriverStation.getInstance();
 
-    InputOutputComm.putString(InputOutputComm.LogTable.kMainLog, "MainLog", "robot initialized...");
+    mainLogHandle.set("robot initialized...");
   }
 
   /**
@@ -62,11 +89,18 @@ public class Robot extends IterativeRobot {
    */
   @Override
   public void autonomousInit() {
-    InputOutputComm.putString(InputOutputComm.LogTable.kMainLog, "MainLog", "autonomous mode...");
+    FlightRecorder.startLog(); // a new flight log for each enabled period
+    InputOutputComm.startCycle(HardwareFactory.getFPGATime());
+    MotorCommandCache.invalidateAll(); // resend all motor commands in the new mode
+    LoopProfiler.reset();
+    mainLogHandle.set("autonomous mode...");
 
-    DriveAssembly.autoInit(true, 0.0, false);
+    // the gyro and encoders were zeroed while disabled (AutoStateMachine pre-arm)
     CubeManagement.autoInit();
 
+    // field position is measured from where autonomous starts
+    Odometry.reset(0.0, 0.0, 0.0);
+
     DriveAssembly.enableCurrentLimit(false);
 
     // start the auto state machine
@@ -76,16 +110,30 @@ public class Robot extends IterativeRobot {
   /** This function is called periodically during autonomous */
   @Override
   public void autonomousPeriodic() {
+    long timeUs = LoopProfiler.startCycle();
+    InputOutputComm.startCycle(timeUs);
+    MotorCommandCache.startCycle(timeUs);
+    TimedCommandScheduler.run(timeUs);
+
+    // read all sensors once - every action and event this cycle sees the same snapshot
+    SensorFrame sensors = SensorFrame.capture(timeUs);
+    timeUs = LoopProfiler.record(sensorStage, timeUs);
 
-    autoSM.process();
+    autoSM.process(sensors);
+    LoopProfiler.record(autoStage, timeUs);
 
-    // debug only (read position sensors)
-    DriveAssembly.getDistanceInches();
-    getGyroAngle();
+    LoopProfiler.endCycle();
   }
 
   public void teleopInit() {
-    InputOutputComm.putString(InputOutputComm.LogTable.kMainLog, "MainLog", "teleop mode...");
+    FlightRecorder.startLog(); // a new flight log for each enabled period
+    InputOutputComm.startCycle(HardwareFactory.getFPGATime());
+    MotorCommandCache.invalidateAll(); // resend all motor commands in the new mode
+    LoopProfiler.reset();
+    mainLogHandle.set("teleop mode...");
+
+    // end of autonomous (if it was running) - reports the auto state timing
+    autoSM.teleopInit();
 
     CubeManagement.teleopInit();
     DriveAssembly.enableCurrentLimit(true);
@@ -94,38 +142,49 @@ public class Robot extends IterativeRobot {
   /** This function is called periodically during operator control */
   @Override
   public void teleopPeriodic() {
+    long timeUs = LoopProfiler.startCycle();
+    InputOutputComm.startCycle(timeUs);
+    MotorCommandCache.startCycle(timeUs);
+    TimedCommandScheduler.run(timeUs);
 
     // Freezy-Drive command for all controllers
     driveControl.calculateDrive(
         Controller.Driver_Throttle(),
         Controller.Driver_Steering(),
         Controller.Driver_isQuickTurn());
+    timeUs = LoopProfiler.record(driveStage, timeUs);
 
     CubeManagement.teleopPeriodic();
-  }
+    LoopProfiler.record(cubeStage, timeUs);
 
-  /** This function is called periodically during operator control */
-  private double getGyroAngle() {
-    // double gyroAngle = 0.0;
-    // double gyroAngle = NavXSensor.getYaw();  // -180 deg to +180 deg
-    double gyroAngle = NavXSensor.getAngle(); // continuous angle (can be larger than 360 deg)
+    LoopProfiler.endCycle();
+  }
 
-    // System.out.println("getGyroAngle:  Gyro angle = " + gyroAngle);
+  public void disabledInit() {
+    InputOutputComm.startCycle(HardwareFactory.getFPGATime());
+    MotorCommandCache.invalidateAll(); // resend all motor commands in the new mode
 
-    // send output data for test & debug
-    // InputOutputComm.putBoolean(InputOutputComm.LogTable.kMainLog,"Auto/IMU_Connected",navX.isConnected());
-    // InputOutputComm.putBoolean(InputOutputComm.LogTable.kMainLog,"Auto/IMU_Calibrating",navX.isCalibrating());
+    // end of autonomous (if it was running) - reports the auto state timing, and re-enables
+    // pre-arm once teleop is over
+    autoSM.disabledInit();
 
-    // System.out.println("gyroAngle = " + gyroAngle);
-    InputOutputComm.putDouble(InputOutputComm.LogTable.kMainLog, "Auto/GyroAngle", gyroAngle);
+    DriveAssembly.disabledInit();
+    CubeManagement.disabledInit();
 
-    return gyroAngle;
+    // close the flight log of the last enabled period and push it out to the USB stick
+    FlightRecorder.stopLog();
   }
 
-  public void disabledInit() {
+  /** This function is called periodically while disabled */
+  @Override
+  public void disabledPeriodic() {
+    long timeUs = HardwareFactory.getFPGATime();
 
-    DriveAssembly.disabledInit();
-    CubeManagement.disabledInit();
+    // finish any deferred hardware commands (e.g. brake motor off)
+    TimedCommandScheduler.run(timeUs);
+
+    // build the selected auto network ahead of autonomousInit (and pick up new auto routes)
+    autoSM.disabledPeriodic(timeUs);
   }
 
   /** This function is called periodically during test mode */
@@ -0,0 +1,74 @@
+package frc.team1778.robot;
+
+import frc.team1778.Hardware.HardwareFactory;
+import frc.team1778.Hardware.MotorCommandCache;
+import frc.team1778.Hardware.SimHardware;
+import frc.team1778.Hardware.SimTalonSRX;
+import frc.team1778.Hardware.TimedCommandScheduler;
+import frc.team1778.NetworkComm.InputOutputComm;
+import frc.team1778.Systems.CubeManagement;
+import frc.team1778.Systems.DriveAssembly;
+import frc.team1778.Systems.SensorFrame;
+import frc.team1778.Utility.HardwareIDs;
+
+// Brings up the robot subsystems on simulated hardware (no roboRIO, no natives) - used by the
+// benchmarks and desktop tools
+public class SimulatedRobot {
+
+  // one 50 Hz robot loop
+  public static final long CYCLE_US = 20000;
+
+  // lift travel from the bottom to the top limit switch (upper lift talon sensor units) - the auto
+  // routes lift for 1.7 sec (switch) or 3.1 sec (scale) at 0.7
+  public static final double LIFT_TRAVEL_UNITS = 18000.0;
+
+  private static boolean initialized = false;
+
+  public static void initialize() {
+    if (initialized) return;
+
+    HardwareFactory.setSimulated(true);
+
+    InputOutputComm.initialize();
+    DriveAssembly.initialize();
+    CubeManagement.initialize();
+    SensorFrame.initialize();
+
+    // turn the simulated navX with the drivetrain: wheel travel difference per degree of heading
+    double unitsPerDegree =
+        (HardwareIDs.TRACK_WIDTH_INCHES * Math.PI / 180.0) / HardwareIDs.INCHES_PER_ENCODER_PULSE;
+    SimHardware.coupleDrivetrain(
+        HardwareIDs.LEFT_FRONT_TALON_ID, HardwareIDs.RIGHT_FRONT_TALON_ID, unitsPerDegree);
+
+    initialized = true;
+  }
+
+  // advance the simulated devices by one robot loop, returns the sensor frame for the new loop
+  public static SensorFrame step() {
+    SimHardware.step(CYCLE_US);
+    updateLiftLimits();
+    MotorCommandCache.startCycle(SimHardware.getTimeUs());
+    TimedCommandScheduler.run(SimHardware.getTimeUs());
+    return SensorFrame.capture(SimHardware.getTimeUs());
+  }
+
+  // lift height above the bottom (sensor units, 0 - LIFT_TRAVEL_UNITS)
+  public static double getLiftHeight() {
+    SimTalonSRX lift = SimHardware.getTalonSRX(HardwareIDs.UPPER_LIFT_TALON_ID);
+    if (lift == null) return 0.0;
+
+    // the simulated sensor counts in the commanded direction - the lift goes up on forward motor
+    // output, after inversion
+    return lift.getInverted() ? -lift.getPosition() : lift.getPosition();
+  }
+
+  // the lift's limit switches close at the ends of its travel (forward at the top)
+  private static void updateLiftLimits() {
+    SimTalonSRX lift = SimHardware.getTalonSRX(HardwareIDs.UPPER_LIFT_TALON_ID);
+    if (lift == null) return;
+
+    double height = getLiftHeight();
+    lift.setFwdLimitSwitchClosed(height >= LIFT_TRAVEL_UNITS);
+    lift.setRevLimitSwitchClosed(height <= 0.0);
+  }
+}
@@ -0,0 +1,224 @@
+package frc.team1778.NetworkComm;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Desktop-side decoder for FlightRecorder logs.
+//
+//   FlightLogDecoder <log.bin> csv <out.csv>
+//     one row per sample: time_us,channel,value
+//   FlightLogDecoder <log.bin> columns <out dir>
+//     one file per channel (time_us,value), plus channels.csv describing each column
+//
+// The log is memory-mapped and decoded in a single pass, a full match decodes in well under a
+// second.
+public class FlightLogDecoder {
+
+  private static final int MAX_CHANNELS = 256;
+  private static final String[] LOG_TABLE_NAMES = {"kMainLog", "kRPICommLog", "kDriveLog"};
+
+  private final String[] channelKeys = new String[MAX_CHANNELS];
+  private final int[] channelTypes = new int[MAX_CHANNELS];
+  private final int[] channelLogs = new int[MAX_CHANNELS];
+  private final Column[] columns = new Column[MAX_CHANNELS];
+
+  private final MappedByteBuffer buf;
+  private long timeUs;
+  private long numSamples = 0;
+
+  // samples of one channel, stored column-wise
+  private static class Column {
+    long[] times = new long[1024];
+    long[] bits = new long[1024];
+    String[] strings;
+    int size = 0;
+
+    void add(long timeUs, long valueBits, String valueStr) {
+      if (size == times.length) {
+        times = Arrays.copyOf(times, size * 2);
+        bits = Arrays.copyOf(bits, size * 2);
+        if (strings != null) strings = Arrays.copyOf(strings, size * 2);
+      }
+      if ((valueStr != null) && (strings == null)) strings = new String[times.length];
+
+      times[size] = timeUs;
+      bits[size] = valueBits;
+      if (strings != null) strings[size] = valueStr;
+      size++;
+    }
+  }
+
+  public FlightLogDecoder(File logFile) throws IOException {
+    try (RandomAccessFile file = new RandomAccessFile(logFile, "r")) {
+      buf = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length());
+    }
+    buf.order(ByteOrder.LITTLE_ENDIAN);
+
+    if ((buf.remaining() < FlightRecorder.HEADER_BYTES) || (buf.getInt() != FlightRecorder.MAGIC))
+      throw new IOException(logFile + " is not a flight recorder log");
+
+    short version = buf.getShort();
+    if (version != FlightRecorder.VERSION)
+      throw new IOException("unsupported flight log version " + version);
+
+    timeUs = buf.getLong();
+  }
+
+  // decodes the whole log, calling back for each sample (valueStr is null for numeric channels)
+  private interface SampleSink {
+    void sample(int id, long timeUs, long valueBits, String valueStr) throws IOException;
+  }
+
+  private void decode(SampleSink sink) throws IOException {
+    while (buf.hasRemaining()) {
+      byte tag = buf.get();
+
+      if (tag == FlightRecorder.TAG_CHANNEL) {
+        int id = buf.get() & 0xFF;
+        channelTypes[id] = buf.get();
+        channelLogs[id] = buf.get();
+        channelKeys[id] = readString();
+      } else if (tag == FlightRecorder.TAG_SAMPLE) {
+        int id = buf.get() & 0xFF;
+        timeUs += buf.getInt() & 0xFFFFFFFFL;
+
+        long valueBits = 0;
+        String valueStr = null;
+        switch (channelTypes[id]) {
+          case InputOutputComm.TYPE_DOUBLE:
+            valueBits = buf.getLong();
+            break;
+          case InputOutputComm.TYPE_INT:
+            valueBits = buf.getInt();
+            break;
+          case InputOutputComm.TYPE_BOOLEAN:
+            valueBits = buf.get();
+            break;
+          default:
+            valueStr = readString();
+        }
+
+        numSamples++;
+        sink.sample(id, timeUs, valueBits, valueStr);
+      } else {
+        // end of log (or trailing space of an unfinished window)
+        break;
+      }
+    }
+  }
+
+  private String readString() {
+    int len = buf.getShort() & 0xFFFF;
+    byte[] bytes = new byte[len];
+    buf.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void appendValue(StringBuilder sb, int type, long valueBits, String valueStr) {
+    switch (type) {
+      case InputOutputComm.TYPE_DOUBLE:
+        sb.append(Double.longBitsToDouble(valueBits));
+        break;
+      case InputOutputComm.TYPE_INT:
+        sb.append(valueBits);
+        break;
+      case InputOutputComm.TYPE_BOOLEAN:
+        sb.append(valueBits != 0);
+        break;
+      default:
+        // quote strings for CSV
+        sb.append('"').append(valueStr.replace("\"", "\"\"")).append('"');
+    }
+  }
+
+  // long-format CSV, streamed straight to disk
+  public void writeCsv(File outFile) throws IOException {
+    try (Writer out = new BufferedWriter(new FileWriter(outFile), 1 << 20)) {
+      final StringBuilder sb = new StringBuilder(256);
+      out.write("time_us,channel,value\n");
+
+      decode(
+          (id, sampleTimeUs, valueBits, valueStr) -> {
+            sb.setLength(0);
+            sb.append(sampleTimeUs).append(',').append(channelKeys[id]).append(',');
+            appendValue(sb, channelTypes[id], valueBits, valueStr);
+            sb.append('\n');
+            out.append(sb);
+          });
+    }
+  }
+
+  // column-wise output - one file per channel
+  public void writeColumns(File outDir) throws IOException {
+    if (!outDir.isDirectory() && !outDir.mkdirs())
+      throw new IOException("unable to create " + outDir);
+
+    decode(
+        (id, sampleTimeUs, valueBits, valueStr) -> {
+          if (columns[id] == null) columns[id] = new Column();
+          columns[id].add(sampleTimeUs, valueBits, valueStr);
+        });
+
+    StringBuilder sb = new StringBuilder(256);
+    try (Writer schema = new BufferedWriter(new FileWriter(new File(outDir, "channels.csv")))) {
+      schema.write("id,channel,log_table,samples,file\n");
+
+      for (int id = 0; id < MAX_CHANNELS; id++) {
+        Column col = columns[id];
+        if (col == null) continue;
+
+        String fileName = id + "_" + channelKeys[id].replaceAll("[^A-Za-z0-9_-]", "_") + ".csv";
+        schema.write(
+            id
+                + ","
+                + channelKeys[id]
+                + ","
+                + LOG_TABLE_NAMES[channelLogs[id]]
+                + ","
+                + col.size
+                + ","
+                + fileName
+                + "\n");
+
+        try (Writer out = new BufferedWriter(new FileWriter(new File(outDir, fileName)), 1 << 16)) {
+          out.write("time_us,value\n");
+          for (int i = 0; i < col.size; i++) {
+            sb.setLength(0);
+            sb.append(col.times[i]).append(',');
+            appendValue(
+                sb, channelTypes[id], col.bits[i], (col.strings != null) ? col.strings[i] : null);
+            sb.append('\n');
+            out.append(sb);
+          }
+        }
+      }
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 3) {
+      System.out.println("usage: FlightLogDecoder <log.bin> csv <out.csv>");
+      System.out.println("       FlightLogDecoder <log.bin> columns <out dir>");
+      System.exit(1);
+    }
+
+    long startNs = System.nanoTime();
+
+    FlightLogDecoder decoder = new FlightLogDecoder(new File(args[0]));
+    if (args[1].equals("columns")) decoder.writeColumns(new File(args[2]));
+    else decoder.writeCsv(new File(args[2]));
+
+    double elapsedMs = (System.nanoTime() - startNs) / 1e6;
+    System.out.println(
+        "decoded " + decoder.numSamples + " samples in " + Math.round(elapsedMs) + " ms");
+  }
+}
@@ -0,0 +1,431 @@
+package frc.team1778.Paths;
+
+import frc.team1778.Utility.HardwareIDs;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.zip.CRC32;
+
+// Desktop-side compiler for path files.
+//
+//   PathCompiler <paths.txt> <paths.bin>
+//
+// Checks the path file, generates every trajectory (PathGenerator) and writes the binary the robot
+// loads (PathFormat/PathStore). Any error is reported with its line number and nothing is written.
+//
+// Path file syntax (one statement per line, # starts a comment):
+//   define <NAME> <value>                  named value, usable wherever a number is expected
+//   dt <sec>                               time step of the paths that follow (default 0.05)
+//   samples <count>                        arc length samples per spline (default 100000)
+//   fit cubic|quintic                      spline through the waypoints (default cubic)
+//   limits <velocity> <accel> <jerk>       in/s, in/s^2, in/s^3 for the paths that follow
+//   wheelbase <inches>                     distance between the left and right wheels
+//                                          (default TRACK_WIDTH_INCHES)
+//   path <index> "<name>"                  paths are numbered 0..n-1, with the settings above
+//   waypoint <x> <y> <heading deg>         at least two per path, x forward and y to the left of
+//                                          the start pose, heading counter-clockwise positive
+// Numbers may be sums of numbers and names, e.g. 60+HALF_ROBOT.
+public class PathCompiler {
+
+  private static class Path {
+    String name;
+    int line;
+    PathGenerator.Config config;
+    final List<double[]> waypoints = new ArrayList<double[]>(); // x, y, heading
+  }
+
+  private final String fileName;
+  private final HashMap<String, Double> defines = new HashMap<String, Double>();
+  private final HashMap<Integer, Path> paths = new HashMap<Integer, Path>();
+  private final List<String> errors = new ArrayList<String>();
+
+  private final PathGenerator.Config settings = new PathGenerator.Config();
+  private boolean limitsSet = false;
+  private Path path;
+  private int lineNum;
+
+  public PathCompiler(String fileName) {
+    this.fileName = fileName;
+
+    // values shared with the robot code
+    defines.put("TRACK_WIDTH_INCHES", HardwareIDs.TRACK_WIDTH_INCHES);
+    settings.wheelbase = HardwareIDs.TRACK_WIDTH_INCHES;
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      System.out.println("usage: PathCompiler <paths.txt> <paths.bin>");
+      System.exit(1);
+    }
+
+    File source = new File(args[0]);
+    File out = new File(args[1]);
+
+    PathCompiler compiler = new PathCompiler(source.getPath());
+    compiler.parse(Files.readAllLines(source.toPath(), StandardCharsets.UTF_8));
+    Trajectory[] trajectories = compiler.compile();
+
+    if (!compiler.errors.isEmpty()) {
+      for (String error : compiler.errors) System.out.println(error);
+      System.out.println(compiler.errors.size() + " error(s) - " + out.getPath() + " not written");
+      System.exit(1);
+    }
+
+    byte[] bytes = encode(trajectories);
+    File dir = out.getAbsoluteFile().getParentFile();
+    if (!dir.isDirectory() && !dir.mkdirs()) throw new IOException("unable to create " + dir);
+    Files.write(out.toPath(), bytes);
+
+    int numSegments = 0;
+    for (int i = 0; i < trajectories.length; i++) {
+      Trajectory t = trajectories[i];
+      numSegments += t.length();
+      System.out.println(
+          String.format(
+              "%3d %-40s %5d segments, %6.2f sec, left %6.1f in, right %6.1f in",
+              i,
+              t.name,
+              t.length(),
+              t.getDurationSec(),
+              t.getLeftPosition(t.length() - 1),
+              t.getRightPosition(t.length() - 1)));
+    }
+    System.out.println(
+        out.getPath()
+            + ": "
+            + trajectories.length
+            + " paths, "
+            + numSegments
+            + " segments, "
+            + bytes.length
+            + " bytes");
+  }
+
+  private void error(String message) {
+    errors.add(fileName + ":" + lineNum + ": " + message);
+  }
+
+  public void parse(List<String> lines) {
+    for (lineNum = 1; lineNum <= lines.size(); lineNum++) {
+      List<String> tokens = tokenize(lines.get(lineNum - 1));
+      if (tokens == null || tokens.isEmpty()) continue;
+
+      String keyword = tokens.get(0);
+      List<String> args = tokens.subList(1, tokens.size());
+      switch (keyword) {
+        case "define":
+          parseDefine(args);
+          break;
+        case "dt":
+          parseDt(args);
+          break;
+        case "samples":
+          parseSamples(args);
+          break;
+        case "fit":
+          parseFit(args);
+          break;
+        case "limits":
+          parseLimits(args);
+          break;
+        case "wheelbase":
+          parseWheelbase(args);
+          break;
+        case "path":
+          parsePath(args);
+          break;
+        case "waypoint":
+          parseWaypoint(args);
+          break;
+        default:
+          error("unknown statement '" + keyword + "'");
+      }
+    }
+  }
+
+  // split a line into words and "quoted strings" (quotes removed), comments dropped
+  private List<String> tokenize(String line) {
+    List<String> tokens = new ArrayList<String>();
+    int i = 0;
+    while (i < line.length()) {
+      char c = line.charAt(i);
+      if (Character.isWhitespace(c)) {
+        i++;
+      } else if (c == '#') {
+        break;
+      } else if (c == '"') {
+        int end = line.indexOf('"', i + 1);
+        if (end < 0) {
+          error("unterminated string");
+          return null;
+        }
+        tokens.add(line.substring(i + 1, end));
+        i = end + 1;
+      } else {
+        int end = i;
+        while (end < line.length() && !Character.isWhitespace(line.charAt(end))) end++;
+        tokens.add(line.substring(i, end));
+        i = end;
+      }
+    }
+    return tokens;
+  }
+
+  private void parseDefine(List<String> args) {
+    if (args.size() != 2) {
+      error("expected: define <NAME> <value>");
+      return;
+    }
+    if (defines.containsKey(args.get(0))) {
+      error(args.get(0) + " is already defined");
+      return;
+    }
+    Double value = parseNumber(args.get(1));
+    if (value != null) defines.put(args.get(0), value);
+  }
+
+  private void parseDt(List<String> args) {
+    Double dt = parsePositive(args, "dt <sec>");
+    if (dt != null) settings.dtSec = dt;
+  }
+
+  private void parseSamples(List<String> args) {
+    Double samples = parsePositive(args, "samples <count>");
+    if (samples == null) return;
+    if ((samples != Math.rint(samples)) || (samples < 2) || (samples > 10000000)) {
+      error("samples must be a whole number from 2 to 10000000");
+      return;
+    }
+    settings.samples = samples.intValue();
+  }
+
+  private void parseFit(List<String> args) {
+    int fit = (args.size() == 1) ? Arrays.asList(PathGenerator.FIT_NAMES).indexOf(args.get(0)) : -1;
+    if (fit < 0) {
+      error("expected: fit " + String.join("|", PathGenerator.FIT_NAMES));
+      return;
+    }
+    settings.fit = fit;
+  }
+
+  private void parseLimits(List<String> args) {
+    if (args.size() != 3) {
+      error("expected: limits <velocity> <accel> <jerk>");
+      return;
+    }
+
+    double[] values = new double[3];
+    for (int i = 0; i < 3; i++) {
+      Double value = parseNumber(args.get(i));
+      if (value == null) return;
+      if (!(value > 0.0)) {
+        error("limits must be more than 0");
+        return;
+      }
+      values[i] = value;
+    }
+    settings.maxVelocity = values[0];
+    settings.maxAcceleration = values[1];
+    settings.maxJerk = values[2];
+    limitsSet = true;
+  }
+
+  private void parseWheelbase(List<String> args) {
+    Double wheelbase = parsePositive(args, "wheelbase <inches>");
+    if (wheelbase != null) settings.wheelbase = wheelbase;
+  }
+
+  private void parsePath(List<String> args) {
+    path = null;
+    if (args.size() != 2) {
+      error("expected: path <index> \"<name>\"");
+      return;
+    }
+
+    int index;
+    try {
+      index = Integer.parseInt(args.get(0));
+    } catch (NumberFormatException e) {
+      error("bad path index '" + args.get(0) + "'");
+      return;
+    }
+    if (paths.containsKey(index)) {
+      error("path " + index + " is already defined (line " + paths.get(index).line + ")");
+      return;
+    }
+    if (!limitsSet) {
+      error("no limits for path " + index + " - expected: limits <velocity> <accel> <jerk>");
+      return;
+    }
+
+    path = new Path();
+    path.name = args.get(1);
+    path.line = lineNum;
+    path.config = new PathGenerator.Config();
+    path.config.fit = settings.fit;
+    path.config.samples = settings.samples;
+    path.config.dtSec = settings.dtSec;
+    path.config.maxVelocity = settings.maxVelocity;
+    path.config.maxAcceleration = settings.maxAcceleration;
+    path.config.maxJerk = settings.maxJerk;
+    path.config.wheelbase = settings.wheelbase;
+    paths.put(index, path);
+  }
+
+  private void parseWaypoint(List<String> args) {
+    if (path == null) {
+      error("waypoint outside of a path");
+      return;
+    }
+    if (args.size() != 3) {
+      error("expected: waypoint <x> <y> <heading deg>");
+      return;
+    }
+
+    double[] waypoint = new double[3];
+    for (int i = 0; i < 3; i++) {
+      Double value = parseNumber(args.get(i));
+      if (value == null) return;
+      waypoint[i] = value;
+    }
+
+    if (!path.waypoints.isEmpty()) {
+      double[] last = path.waypoints.get(path.waypoints.size() - 1);
+      if ((last[0] == waypoint[0]) && (last[1] == waypoint[1])) {
+        error("waypoint at the same place as the one before it");
+        return;
+      }
+    }
+    path.waypoints.add(waypoint);
+  }
+
+  // a single number more than 0 (null if there was an error)
+  private Double parsePositive(List<String> args, String usage) {
+    if (args.size() != 1) {
+      error("expected: " + usage);
+      return null;
+    }
+    Double value = parseNumber(args.get(0));
+    if ((value != null) && !(value > 0.0)) {
+      error(args.get(0) + " must be more than 0");
+      return null;
+    }
+    return value;
+  }
+
+  // a number, a defined name, or a sum of them (no spaces)
+  private Double parseNumber(String text) {
+    double sum = 0.0;
+    for (String term : text.split("\\+", -1)) {
+      Double value = defines.get(term);
+      if (value == null) {
+        try {
+          value = Double.parseDouble(term);
+        } catch (NumberFormatException e) {
+          error("expected a number or defined name, found '" + term + "'");
+          return null;
+        }
+      }
+      sum += value;
+    }
+    return sum;
+  }
+
+  // check the paths as a whole and generate them (returns null if there were errors)
+  public Trajectory[] compile() {
+    if (paths.isEmpty()) {
+      lineNum = 0;
+      error("no paths");
+    }
+
+    // paths are looked up by index, so there must be no gaps
+    for (int index : paths.keySet()) {
+      lineNum = paths.get(index).line;
+      if ((index < 0) || (index >= paths.size()))
+        error(
+            "path " + index + " out of sequence - paths must be numbered 0.." + (paths.size() - 1));
+      if (paths.get(index).waypoints.size() < 2)
+        error("path " + index + " needs at least two waypoints");
+      checkHeadings(paths.get(index));
+    }
+    if (!errors.isEmpty()) return null;
+
+    Trajectory[] trajectories = new Trajectory[paths.size()];
+    for (int index = 0; index < paths.size(); index++) {
+      Path p = paths.get(index);
+      int numWaypoints = p.waypoints.size();
+      double[] xs = new double[numWaypoints];
+      double[] ys = new double[numWaypoints];
+      double[] headings = new double[numWaypoints];
+      for (int i = 0; i < numWaypoints; i++) {
+        xs[i] = p.waypoints.get(i)[0];
+        ys[i] = p.waypoints.get(i)[1];
+        headings[i] = p.waypoints.get(i)[2];
+      }
+      trajectories[index] = PathGenerator.generate(p.name, xs, ys, headings, p.config);
+    }
+    return trajectories;
+  }
+
+  // each spline is fitted along the line between its waypoints - a heading a quarter turn or more
+  // off that line has no fit (the spline's slope there is infinite)
+  private void checkHeadings(Path p) {
+    for (int i = 1; i < p.waypoints.size(); i++) {
+      double[] from = p.waypoints.get(i - 1);
+      double[] to = p.waypoints.get(i);
+      double lineDeg = Math.toDegrees(Math.atan2(to[1] - from[1], to[0] - from[0]));
+      for (double[] waypoint : new double[][] {from, to}) {
+        double offDeg = Math.IEEEremainder(waypoint[2] - lineDeg, 360.0);
+        if (Math.abs(offDeg) >= 90.0) {
+          error(
+              String.format(
+                  "path %s: heading %.1f at (%.1f, %.1f) is %.1f deg off the line to the %s"
+                      + " waypoint - must be less than 90",
+                  p.name,
+                  waypoint[2],
+                  waypoint[0],
+                  waypoint[1],
+                  Math.abs(offDeg),
+                  (waypoint == from) ? "next" : "last"));
+        }
+      }
+    }
+  }
+
+  private static byte[] encode(Trajectory[] trajectories) {
+    int size = 4 + 2 + 2 + 4;
+    for (Trajectory t : trajectories) {
+      size += 2 + t.name.getBytes(StandardCharsets.UTF_8).length + 8 + 4;
+      size += 4 * PathFormat.NUM_COLUMNS * t.length();
+    }
+
+    ByteBuffer buf = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    buf.putInt(PathFormat.MAGIC);
+    buf.putShort(PathFormat.VERSION);
+    buf.putShort((short) trajectories.length);
+
+    for (Trajectory t : trajectories) {
+      byte[] nameBytes = t.name.getBytes(StandardCharsets.UTF_8);
+      buf.putShort((short) nameBytes.length);
+      buf.put(nameBytes);
+      buf.putDouble(t.getTimeStepSec());
+      buf.putInt(t.length());
+      for (int column = 0; column < PathFormat.NUM_COLUMNS; column++) {
+        for (int i = 0; i < t.length(); i++) buf.putFloat((float) t.get(column, i));
+      }
+    }
+
+    CRC32 crc = new CRC32();
+    crc.update(buf.array(), 0, buf.position());
+    buf.putInt((int) crc.getValue());
+
+    return buf.array();
+  }
+}
@@ -0,0 +1,266 @@
+package frc.team1778.Paths;
+
+// Desktop-side trajectory generation - the algorithm of Pathfinder.generate and TankModifier
+// (jaci's Pathfinder, as used by ChillOutPathfinderTest's FreezyPath): a Hermite spline through
+// each pair of waypoints, a jerk-limited velocity profile along the whole path, and the left and
+// right wheel paths offset half the wheelbase to each side. Run by PathCompiler at build time, so
+// the robot only loads the result (PathStore).
+// Distances are in the units of the waypoints (inches), angles in radians inside the generator.
+public class PathGenerator {
+
+  public static final int FIT_CUBIC = 0;
+  public static final int FIT_QUINTIC = 1;
+
+  public static final String[] FIT_NAMES = {"cubic", "quintic"};
+
+  // how a path is generated
+  public static class Config {
+    public int fit = FIT_CUBIC;
+    public int samples = 100000; // arc length samples per spline (Pathfinder SAMPLES_HIGH)
+    public double dtSec = 0.05;
+    public double maxVelocity;
+    public double maxAcceleration;
+    public double maxJerk;
+    public double wheelbase;
+  }
+
+  // one spline between two waypoints: y = ax^5 + bx^4 + cx^3 + dx^2 + ex along the line joining
+  // them, with the arc length covered at each of the samples
+  private static class Spline {
+    double a, b, c, d, e;
+    double xOffset, yOffset, angleOffset, knotDistance;
+    double[] arcTable;
+
+    double getArcLength() {
+      return arcTable[arcTable.length - 1];
+    }
+  }
+
+  // xs, ys, headingsDeg: the waypoints (at least 2, consecutive waypoints apart)
+  public static Trajectory generate(
+      String name, double[] xs, double[] ys, double[] headingsDeg, Config config) {
+    int numSplines = xs.length - 1;
+    Spline[] splines = new Spline[numSplines];
+    double totalLength = 0.0;
+    for (int i = 0; i < numSplines; i++) {
+      splines[i] =
+          fit(
+              xs[i],
+              ys[i],
+              Math.toRadians(headingsDeg[i]),
+              xs[i + 1],
+              ys[i + 1],
+              Math.toRadians(headingsDeg[i + 1]),
+              config);
+      totalLength += splines[i].getArcLength();
+    }
+
+    // distance along the path at each time step
+    double[] position = profile(totalLength, config);
+    int length = position.length;
+
+    // place each step on its spline
+    double[] x = new double[length];
+    double[] y = new double[length];
+    double[] heading = new double[length];
+    int spline = 0;
+    double splineStart = 0.0;
+    double lastHeading = Math.toRadians(headingsDeg[0]);
+    for (int i = 0; i < length; i++) {
+      while ((position[i] - splineStart > splines[spline].getArcLength())
+          && (spline < numSplines - 1)) {
+        splineStart += splines[spline].getArcLength();
+        spline++;
+      }
+
+      Spline s = splines[spline];
+      double percentage =
+          Math.max(0.0, Math.min(1.0, progressForDistance(s, position[i] - splineStart)));
+      double px = percentage * s.knotDistance;
+      double py = s.a * Math.pow(px, 5) + s.b * Math.pow(px, 4) + s.c * px * px * px;
+      py += s.d * px * px + s.e * px;
+      double cos = Math.cos(s.angleOffset);
+      double sin = Math.sin(s.angleOffset);
+      x[i] = px * cos - py * sin + s.xOffset;
+      y[i] = px * sin + py * cos + s.yOffset;
+
+      // keep the heading continuous (within half a turn of the last one)
+      double angle = Math.atan(derivative(s, percentage)) + s.angleOffset;
+      angle += 2.0 * Math.PI * Math.rint((lastHeading - angle) / (2.0 * Math.PI));
+      heading[i] = angle;
+      lastHeading = angle;
+    }
+
+    float[][] columns = new float[PathFormat.NUM_COLUMNS][length];
+    for (int i = 0; i < length; i++) {
+      columns[PathFormat.COLUMN_X][i] = (float) x[i];
+      columns[PathFormat.COLUMN_Y][i] = (float) y[i];
+      columns[PathFormat.COLUMN_HEADING][i] = (float) Math.toDegrees(heading[i]);
+    }
+
+    // left wheels are to the left of the direction of travel (positive y when heading 0)
+    double halfWidth = config.wheelbase / 2.0;
+    offsetSide(columns, PathFormat.COLUMN_LEFT_POSITION, x, y, heading, halfWidth, config.dtSec);
+    offsetSide(columns, PathFormat.COLUMN_RIGHT_POSITION, x, y, heading, -halfWidth, config.dtSec);
+
+    return new Trajectory(name, config.dtSec, columns);
+  }
+
+  private static Spline fit(
+      double x0, double y0, double angle0, double x1, double y1, double angle1, Config config) {
+    Spline s = new Spline();
+    s.xOffset = x0;
+    s.yOffset = y0;
+
+    double delta = Math.hypot(x1 - x0, y1 - y0);
+    s.knotDistance = delta;
+    s.angleOffset = Math.atan2(y1 - y0, x1 - x0);
+
+    double a0Delta = Math.tan(angle0 - s.angleOffset);
+    double a1Delta = Math.tan(angle1 - s.angleOffset);
+
+    if (config.fit == FIT_QUINTIC) {
+      s.a = -(3 * (a0Delta + a1Delta)) / Math.pow(delta, 4);
+      s.b = (8 * a0Delta + 7 * a1Delta) / Math.pow(delta, 3);
+      s.c = -(6 * a0Delta + 4 * a1Delta) / Math.pow(delta, 2);
+      s.d = 0;
+    } else {
+      s.a = 0;
+      s.b = 0;
+      s.c = (a0Delta + a1Delta) / (delta * delta);
+      s.d = -(2 * a0Delta + a1Delta) / delta;
+    }
+    s.e = a0Delta;
+
+    // arc length by the trapezoid rule, kept at every sample for the distance lookups
+    s.arcTable = new double[config.samples + 1];
+    double dt = 1.0 / config.samples;
+    double lastIntegrand = Math.sqrt(1 + Math.pow(derivative(s, 0.0), 2)) * dt;
+    double arcLength = 0.0;
+    for (int i = 1; i <= config.samples; i++) {
+      double integrand = Math.sqrt(1 + Math.pow(derivative(s, i * dt), 2)) * dt;
+      arcLength += (integrand + lastIntegrand) / 2;
+      lastIntegrand = integrand;
+      s.arcTable[i] = delta * arcLength;
+    }
+
+    return s;
+  }
+
+  // slope of the spline at a fraction of the way along it
+  private static double derivative(Spline s, double percentage) {
+    double x = percentage * s.knotDistance;
+    return (5 * s.a * x * x * x * x)
+        + (4 * s.b * x * x * x)
+        + (3 * s.c * x * x)
+        + (2 * s.d * x)
+        + s.e;
+  }
+
+  // fraction of the way along the spline at which the arc length reaches distance (interpolated
+  // between samples - a binary search of the arc table)
+  private static double progressForDistance(Spline s, double distance) {
+    int samples = s.arcTable.length - 1;
+    int low = 0;
+    int high = samples;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (s.arcTable[mid] > distance) high = mid;
+      else low = mid + 1;
+    }
+
+    double dt = 1.0 / samples;
+    double t = low * dt;
+    double arcLength = s.arcTable[low];
+    double lastArcLength = (low > 0) ? s.arcTable[low - 1] : 0.0;
+    if (arcLength != lastArcLength)
+      t += ((distance - lastArcLength) / (arcLength - lastArcLength) - 1) * dt;
+    return t;
+  }
+
+  // distance along the path at each time step: velocity through two moving-average filters (the
+  // first limits acceleration, the second jerk), from and to a standstill
+  private static double[] profile(double distance, Config config) {
+    double dt = config.dtSec;
+    double maxA2 = config.maxAcceleration * config.maxAcceleration;
+    double maxJ2 = config.maxJerk * config.maxJerk;
+    double maxV =
+        Math.min(
+            config.maxVelocity,
+            (-maxA2 + Math.sqrt(maxA2 * maxA2 + 4 * (maxJ2 * config.maxAcceleration * distance)))
+                / (2 * config.maxJerk));
+
+    int filter1 = (int) Math.ceil((maxV / config.maxAcceleration) / dt);
+    int filter2 = (int) Math.ceil((config.maxAcceleration / config.maxJerk) / dt);
+    double impulse = (distance / maxV) / dt;
+    int length = (int) Math.ceil(filter1 + filter2 + impulse);
+
+    double[] position = new double[length];
+    double[] f1 = new double[length];
+    double lastVelocity = 0.0;
+    double lastPosition = 0.0;
+    for (int i = 0; i < length; i++) {
+      double input = Math.min(impulse, 1);
+      if (input < 1) {
+        input -= 1;
+        impulse = 0;
+      } else {
+        impulse -= input;
+      }
+
+      double f1Last = (i > 0) ? f1[i - 1] : 0.0;
+      f1[i] = Math.max(0.0, Math.min(filter1, f1Last + input));
+
+      double f2 = 0.0;
+      for (int j = 0; (j < filter2) && (i - j >= 0); j++) f2 += f1[i - j];
+      f2 /= filter1;
+
+      double velocity = f2 / filter2 * maxV;
+      position[i] = (lastVelocity + velocity) / 2.0 * dt + lastPosition;
+      lastVelocity = velocity;
+      lastPosition = position[i];
+    }
+    return position;
+  }
+
+  // one side of the drivetrain, offset to the left of the center (negative - to the right):
+  // distance travelled, and the velocity and acceleration from it
+  private static void offsetSide(
+      float[][] columns,
+      int positionColumn,
+      double[] x,
+      double[] y,
+      double[] heading,
+      double offset,
+      double dtSec) {
+    float[] position = columns[positionColumn];
+    float[] velocity = columns[positionColumn + 1];
+    float[] acceleration = columns[positionColumn + 2];
+
+    double lastX = 0.0;
+    double lastY = 0.0;
+    double lastPosition = 0.0;
+    double lastVelocity = 0.0;
+    for (int i = 0; i < x.length; i++) {
+      double sideX = x[i] - offset * Math.sin(heading[i]);
+      double sideY = y[i] + offset * Math.cos(heading[i]);
+      double pos = 0.0;
+      double vel = 0.0;
+      double acc = 0.0;
+      if (i > 0) {
+        double distance = Math.hypot(sideX - lastX, sideY - lastY);
+        pos = lastPosition + distance;
+        vel = distance / dtSec;
+        acc = (vel - lastVelocity) / dtSec;
+      }
+      position[i] = (float) pos;
+      velocity[i] = (float) vel;
+      acceleration[i] = (float) acc;
+
+      lastX = sideX;
+      lastY = sideY;
+      lastPosition = pos;
+      lastVelocity = vel;
+    }
+  }
+}
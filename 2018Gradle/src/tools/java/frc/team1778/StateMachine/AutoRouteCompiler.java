@@ -0,0 +1,779 @@
+package frc.team1778.StateMachine;
+
+import frc.team1778.Systems.CubeManagement;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.zip.CRC32;
+
+// Desktop-side compiler for auto route files.
+//
+//   AutoRouteCompiler <routes.txt> <routes.bin>
+//
+// Checks the route file and writes the binary the robot loads (AutoRouteFormat/AutoRouteLoader).
+// Any error (unknown type, wrong parameter count, bad value, unknown state) is reported with its
+// line number and nothing is written.
+//
+// Route file syntax (one statement per line, # starts a comment):
+//   define <NAME> <value>                 named value, usable wherever a number is expected
+//   network <index> "<name>"              networks are numbered 0..n-1 (AutoNetworkBuilder indexes)
+//   subnetwork <id> "<name>"              a network that states can run alongside their actions
+//   state <id> "<name>" [-> <next id>]    the first state of a network is its start state
+//   trigger all                           all events must trigger to leave the state (default any)
+//   timeout <sec> [-> <state id>]         watchdog - leave after <sec> even if nothing triggered,
+//                                         for the given state (default the next state)
+//   action <type> "<name>" <params...>    types and parameters: AutoRouteFormat.ACTION_*
+//   event <type> <params...>              types and parameters: AutoRouteFormat.EVENT_*
+//   run <subnetwork id>                   run a sub-network in this state, with an event that
+//                                         triggers when it finishes (SubNetworkAction/DoneEvent)
+//   transition <priority> -> <state id> <event type> <params...> [if <sensor> greater|less <value>]
+//                                         go to that state when the event triggers (and the guard
+//                                         holds) - checked lowest priority first, before the
+//                                         state's events (Transition, Guard, GUARD_SENSOR_NAMES)
+// Numbers may be sums of numbers and names, e.g. 1.7+LIFT_BRAKE_RELEASE_SEC. Booleans are
+// true/false, GyroAngle polarities greater/less.
+// Sub-networks can be run from any state (including other sub-networks) and defined anywhere in
+// the file, but may not run themselves, directly or through another sub-network.
+public class AutoRouteCompiler {
+
+  private static final int MAX_FILE_BYTES = 1 << 20;
+
+  // an action or event with its parameter values (booleans and polarities stored as 0/1)
+  private static class Item {
+    int type;
+    String name;
+    String signature;
+    double[] values;
+    String subNetworkId; // SubNetwork actions - the sub-network to run
+    int line;
+  }
+
+  private static class Branch {
+    int priority;
+    String targetId;
+    Item event;
+    int guardSensor = AutoRouteFormat.NO_GUARD;
+    int guardComparison;
+    double guardValue;
+    int line;
+  }
+
+  private static class State {
+    String id;
+    String name;
+    String nextId;
+    int line;
+    boolean allEventsTrigger = false;
+    double timeoutSec = 0.0;
+    String timeoutId; // null - the next state
+    final List<Item> actions = new ArrayList<Item>();
+    final List<Item> events = new ArrayList<Item>();
+    final List<Branch> transitions = new ArrayList<Branch>(); // in priority order
+  }
+
+  private static class Network {
+    String id; // sub-networks only
+    String name;
+    int line;
+    final List<State> states = new ArrayList<State>();
+  }
+
+  private final String fileName;
+  private final HashMap<String, Double> defines = new HashMap<String, Double>();
+  private final HashMap<Integer, Network> networks = new HashMap<Integer, Network>();
+  private final LinkedHashMap<String, Network> subNetworks = new LinkedHashMap<String, Network>();
+  // sub-networks in file order - every sub-network comes before the ones it runs
+  private final List<Network> subNetworkOrder = new ArrayList<Network>();
+  private final List<String> errors = new ArrayList<String>();
+
+  private Network network;
+  private State state;
+  private int lineNum;
+
+  public AutoRouteCompiler(String fileName) {
+    this.fileName = fileName;
+
+    // values shared with the robot code
+    defines.put("COLLECTOR_IN_AUTO_STRENGTH", CubeManagement.COLLECTOR_IN_AUTO_STRENGTH);
+    defines.put(
+        "COLLECTOR_IN_AUTOCOLLECT_STRENGTH", CubeManagement.COLLECTOR_IN_AUTOCOLLECT_STRENGTH);
+    defines.put("LIFT_BRAKE_RELEASE_SEC", LiftAction.BRAKE_RELEASE_SEC);
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      System.out.println("usage: AutoRouteCompiler <routes.txt> <routes.bin>");
+      System.exit(1);
+    }
+
+    File source = new File(args[0]);
+    File out = new File(args[1]);
+
+    AutoRouteCompiler compiler = new AutoRouteCompiler(source.getPath());
+    compiler.parse(Files.readAllLines(source.toPath(), StandardCharsets.UTF_8));
+    byte[] bytes = compiler.compile();
+
+    if (!compiler.errors.isEmpty()) {
+      for (String error : compiler.errors) System.out.println(error);
+      System.out.println(compiler.errors.size() + " error(s) - " + out.getPath() + " not written");
+      System.exit(1);
+    }
+
+    File dir = out.getAbsoluteFile().getParentFile();
+    if (!dir.isDirectory() && !dir.mkdirs()) throw new IOException("unable to create " + dir);
+    Files.write(out.toPath(), bytes);
+
+    int numStates = 0;
+    for (Network n : compiler.networks.values()) numStates += n.states.size();
+    for (Network n : compiler.subNetworks.values()) numStates += n.states.size();
+    System.out.println(
+        out.getPath()
+            + ": "
+            + compiler.networks.size()
+            + " networks, "
+            + compiler.subNetworks.size()
+            + " sub-networks, "
+            + numStates
+            + " states, "
+            + bytes.length
+            + " bytes");
+  }
+
+  private void error(String message) {
+    errors.add(fileName + ":" + lineNum + ": " + message);
+  }
+
+  public void parse(List<String> lines) {
+    for (lineNum = 1; lineNum <= lines.size(); lineNum++) {
+      List<String> tokens = tokenize(lines.get(lineNum - 1));
+      if (tokens == null || tokens.isEmpty()) continue;
+
+      String keyword = tokens.get(0);
+      List<String> args = tokens.subList(1, tokens.size());
+      switch (keyword) {
+        case "define":
+          parseDefine(args);
+          break;
+        case "network":
+          parseNetwork(args);
+          break;
+        case "subnetwork":
+          parseSubNetwork(args);
+          break;
+        case "state":
+          parseState(args);
+          break;
+        case "trigger":
+          parseTrigger(args);
+          break;
+        case "timeout":
+          parseTimeout(args);
+          break;
+        case "action":
+          parseItem(args, true);
+          break;
+        case "event":
+          parseItem(args, false);
+          break;
+        case "run":
+          parseRun(args);
+          break;
+        case "transition":
+          parseTransition(args);
+          break;
+        default:
+          error("unknown statement '" + keyword + "'");
+      }
+    }
+  }
+
+  // split a line into words and "quoted strings" (quotes removed), comments dropped
+  private List<String> tokenize(String line) {
+    List<String> tokens = new ArrayList<String>();
+    int i = 0;
+    while (i < line.length()) {
+      char c = line.charAt(i);
+      if (Character.isWhitespace(c)) {
+        i++;
+      } else if (c == '#') {
+        break;
+      } else if (c == '"') {
+        int end = line.indexOf('"', i + 1);
+        if (end < 0) {
+          error("unterminated string");
+          return null;
+        }
+        tokens.add(line.substring(i + 1, end));
+        i = end + 1;
+      } else {
+        int end = i;
+        while (end < line.length() && !Character.isWhitespace(line.charAt(end))) end++;
+        tokens.add(line.substring(i, end));
+        i = end;
+      }
+    }
+    return tokens;
+  }
+
+  private void parseDefine(List<String> args) {
+    if (args.size() != 2) {
+      error("expected: define <NAME> <value>");
+      return;
+    }
+    if (defines.containsKey(args.get(0))) {
+      error(args.get(0) + " is already defined");
+      return;
+    }
+    Double value = parseNumber(args.get(1));
+    if (value != null) defines.put(args.get(0), value);
+  }
+
+  private void parseNetwork(List<String> args) {
+    state = null;
+    network = null;
+    if (args.size() != 2) {
+      error("expected: network <index> \"<name>\"");
+      return;
+    }
+
+    int index;
+    try {
+      index = Integer.parseInt(args.get(0));
+    } catch (NumberFormatException e) {
+      error("bad network index '" + args.get(0) + "'");
+      return;
+    }
+    if (networks.containsKey(index)) {
+      error("network " + index + " is already defined (line " + networks.get(index).line + ")");
+      return;
+    }
+
+    network = new Network();
+    network.name = args.get(1);
+    network.line = lineNum;
+    networks.put(index, network);
+  }
+
+  private void parseSubNetwork(List<String> args) {
+    state = null;
+    network = null;
+    if (args.size() != 2) {
+      error("expected: subnetwork <id> \"<name>\"");
+      return;
+    }
+    if (subNetworks.containsKey(args.get(0))) {
+      error(
+          "sub-network "
+              + args.get(0)
+              + " is already defined (line "
+              + subNetworks.get(args.get(0)).line
+              + ")");
+      return;
+    }
+
+    network = new Network();
+    network.id = args.get(0);
+    network.name = args.get(1);
+    network.line = lineNum;
+    subNetworks.put(network.id, network);
+  }
+
+  private void parseState(List<String> args) {
+    state = null;
+    if (network == null) {
+      error("state outside of a network");
+      return;
+    }
+    if ((args.size() != 2) && !((args.size() == 4) && args.get(2).equals("->"))) {
+      error("expected: state <id> \"<name>\" [-> <next id>]");
+      return;
+    }
+    for (State s : network.states) {
+      if (s.id.equals(args.get(0))) {
+        error("state " + s.id + " is already defined (line " + s.line + ")");
+        return;
+      }
+    }
+
+    state = new State();
+    state.id = args.get(0);
+    state.name = args.get(1);
+    state.nextId = (args.size() == 4) ? args.get(3) : null;
+    state.line = lineNum;
+    network.states.add(state);
+  }
+
+  private void parseTrigger(List<String> args) {
+    if (state == null) {
+      error("trigger outside of a state");
+    } else if ((args.size() == 1) && (args.get(0).equals("all") || args.get(0).equals("any"))) {
+      state.allEventsTrigger = args.get(0).equals("all");
+    } else {
+      error("expected: trigger all|any");
+    }
+  }
+
+  private void parseTimeout(List<String> args) {
+    if (state == null) {
+      error("timeout outside of a state");
+      return;
+    }
+    if ((args.size() != 1) && !((args.size() == 3) && args.get(1).equals("->"))) {
+      error("expected: timeout <sec> [-> <state id>]");
+      return;
+    }
+
+    Double sec = parseNumber(args.get(0));
+    if (sec == null) return;
+    if (!(sec > 0.0)) {
+      error("timeout must be more than 0 sec");
+      return;
+    }
+    state.timeoutSec = sec;
+    state.timeoutId = (args.size() == 3) ? args.get(2) : null;
+  }
+
+  private void parseItem(List<String> args, boolean isAction) {
+    String kind = isAction ? "action" : "event";
+    if (state == null) {
+      error(kind + " outside of a state");
+      return;
+    }
+
+    Item item = parseItemArgs(args, isAction);
+    if (item == null) return;
+
+    if (isAction) state.actions.add(item);
+    else state.events.add(item);
+  }
+
+  // an action or event (null if there was an error)
+  private Item parseItemArgs(List<String> args, boolean isAction) {
+    String kind = isAction ? "action" : "event";
+    if (args.isEmpty() || (isAction && args.size() < 2)) {
+      error(isAction ? "expected: action <type> \"<name>\" <params>" : "expected: event <type>");
+      return null;
+    }
+
+    String[] names = isAction ? AutoRouteFormat.ACTION_NAMES : AutoRouteFormat.EVENT_NAMES;
+    int type = AutoRouteFormat.typeOf(names, args.get(0));
+    if (type < 0) {
+      error("unknown " + kind + " type '" + args.get(0) + "' - one of " + Arrays.toString(names));
+      return null;
+    }
+
+    if ((isAction && (type == AutoRouteFormat.ACTION_SUB_NETWORK))
+        || (!isAction && (type == AutoRouteFormat.EVENT_SUB_NETWORK_DONE))) {
+      error("use: run <subnetwork id>");
+      return null;
+    }
+
+    Item item = new Item();
+    item.type = type;
+    item.name = isAction ? args.get(1) : null;
+    item.line = lineNum;
+    item.signature =
+        isAction ? AutoRouteFormat.ACTION_PARAMS[type] : AutoRouteFormat.EVENT_PARAMS[type];
+
+    List<String> params = args.subList(isAction ? 2 : 1, args.size());
+    if (params.size() != item.signature.length()) {
+      error(
+          args.get(0)
+              + " takes "
+              + item.signature.length()
+              + " parameters, found "
+              + params.size());
+      return null;
+    }
+
+    item.values = new double[params.size()];
+    for (int i = 0; i < params.size(); i++) {
+      Double value = parseParam(item.signature.charAt(i), params.get(i));
+      if (value == null) return null;
+      item.values[i] = value;
+    }
+
+    return item;
+  }
+
+  private void parseTransition(List<String> args) {
+    if (state == null) {
+      error("transition outside of a state");
+      return;
+    }
+    String usage =
+        "expected: transition <priority> -> <state id> <event type> <params> "
+            + "[if <sensor> greater|less <value>]";
+    if ((args.size() < 4) || !args.get(1).equals("->")) {
+      error(usage);
+      return;
+    }
+
+    Branch t = new Branch();
+    t.targetId = args.get(2);
+    t.line = lineNum;
+    try {
+      t.priority = Integer.parseInt(args.get(0));
+    } catch (NumberFormatException e) {
+      error("bad priority '" + args.get(0) + "'");
+      return;
+    }
+    if ((t.priority < Short.MIN_VALUE) || (t.priority > Short.MAX_VALUE)) {
+      error("priority " + t.priority + " out of range");
+      return;
+    }
+
+    // optional guard at the end
+    List<String> eventArgs = args.subList(3, args.size());
+    int ifIndex = eventArgs.indexOf("if");
+    if (ifIndex >= 0) {
+      List<String> guardArgs = eventArgs.subList(ifIndex + 1, eventArgs.size());
+      eventArgs = eventArgs.subList(0, ifIndex);
+      if (guardArgs.size() != 3) {
+        error(usage);
+        return;
+      }
+      t.guardSensor = AutoRouteFormat.typeOf(AutoRouteFormat.GUARD_SENSOR_NAMES, guardArgs.get(0));
+      if (t.guardSensor < 0) {
+        error(
+            "unknown guard sensor '"
+                + guardArgs.get(0)
+                + "' - one of "
+                + Arrays.toString(AutoRouteFormat.GUARD_SENSOR_NAMES));
+        return;
+      }
+      Double comparison = parseParam(AutoRouteFormat.PARAM_POLARITY, guardArgs.get(1));
+      Double value = parseNumber(guardArgs.get(2));
+      if ((comparison == null) || (value == null)) return;
+      t.guardComparison = comparison.intValue();
+      t.guardValue = value;
+    }
+
+    t.event = parseItemArgs(eventArgs, false);
+    if (t.event == null) return;
+
+    // keep the state's transitions in priority order (equal priorities in file order)
+    int index = state.transitions.size();
+    while ((index > 0) && (state.transitions.get(index - 1).priority > t.priority)) index--;
+    state.transitions.add(index, t);
+  }
+
+  // a SubNetwork action (named after the sub-network, resolved in compile()) and the event that
+  // waits for it
+  private void parseRun(List<String> args) {
+    if (state == null) {
+      error("run outside of a state");
+      return;
+    }
+    if (args.size() != 1) {
+      error("expected: run <subnetwork id>");
+      return;
+    }
+
+    Item action = new Item();
+    action.type = AutoRouteFormat.ACTION_SUB_NETWORK;
+    action.signature = AutoRouteFormat.ACTION_PARAMS[action.type];
+    action.values = new double[1];
+    action.subNetworkId = args.get(0);
+    action.line = lineNum;
+
+    Item event = new Item();
+    event.type = AutoRouteFormat.EVENT_SUB_NETWORK_DONE;
+    event.signature = AutoRouteFormat.EVENT_PARAMS[event.type];
+    event.values = new double[] {state.actions.size()};
+    event.line = lineNum;
+
+    state.actions.add(action);
+    state.events.add(event);
+  }
+
+  private Double parseParam(char paramType, String text) {
+    switch (paramType) {
+      case AutoRouteFormat.PARAM_BOOLEAN:
+        if (text.equals("true")) return 1.0;
+        if (text.equals("false")) return 0.0;
+        error("expected true or false, found '" + text + "'");
+        return null;
+      case AutoRouteFormat.PARAM_POLARITY:
+        int polarity = AutoRouteFormat.typeOf(AutoRouteFormat.POLARITY_NAMES, text);
+        if (polarity >= 0) return (double) polarity;
+        error(
+            "expected one of "
+                + Arrays.toString(AutoRouteFormat.POLARITY_NAMES)
+                + ", found '"
+                + text
+                + "'");
+        return null;
+      case AutoRouteFormat.PARAM_INT:
+        Double value = parseNumber(text);
+        if ((value != null) && (value != Math.rint(value))) {
+          error("expected a whole number, found '" + text + "'");
+          return null;
+        }
+        return value;
+      default:
+        return parseNumber(text);
+    }
+  }
+
+  // a number, a defined name, or a sum of them (no spaces)
+  private Double parseNumber(String text) {
+    double sum = 0.0;
+    for (String term : text.split("\\+", -1)) {
+      Double value = defines.get(term);
+      if (value == null) {
+        try {
+          value = Double.parseDouble(term);
+        } catch (NumberFormatException e) {
+          error("expected a number or defined name, found '" + term + "'");
+          return null;
+        }
+      }
+      sum += value;
+    }
+    return sum;
+  }
+
+  // check the networks as a whole and encode them (returns null if there were errors)
+  public byte[] compile() {
+    if (networks.isEmpty()) {
+      lineNum = 0;
+      error("no networks");
+    }
+
+    // networks are looked up by index, so there must be no gaps
+    for (int index : networks.keySet()) {
+      if ((index < 0) || (index >= networks.size())) {
+        lineNum = networks.get(index).line;
+        error(
+            "network "
+                + index
+                + " out of sequence - networks must be numbered 0.."
+                + (networks.size() - 1));
+      }
+    }
+
+    List<Network> allNetworks = new ArrayList<Network>(networks.values());
+    allNetworks.addAll(subNetworks.values());
+    for (Network n : allNetworks) {
+      if (n.states.isEmpty()) {
+        lineNum = n.line;
+        error("network \"" + n.name + "\" has no states");
+      }
+      for (State s : n.states) {
+        lineNum = s.line;
+        if ((s.nextId != null) && (indexOf(n, s.nextId) == AutoRouteFormat.NO_STATE))
+          error("unknown next state '" + s.nextId + "'");
+        if ((s.timeoutId != null) && (indexOf(n, s.timeoutId) == AutoRouteFormat.NO_STATE))
+          error("unknown timeout state '" + s.timeoutId + "'");
+        if ((s.actions.size() > 0xFF) || (s.events.size() > 0xFF) || (s.transitions.size() > 0xFF))
+          error("too many actions, events or transitions in state " + s.id);
+        for (Branch t : s.transitions) {
+          if (indexOf(n, t.targetId) == AutoRouteFormat.NO_STATE) {
+            lineNum = t.line;
+            error("unknown transition target '" + t.targetId + "'");
+          }
+        }
+        for (Item a : s.actions) {
+          if ((a.subNetworkId != null) && !subNetworks.containsKey(a.subNetworkId)) {
+            lineNum = a.line;
+            error("unknown sub-network '" + a.subNetworkId + "'");
+          }
+          if (isChained(a, AutoRouteFormat.ACTION_TURN_PID, 3) && !leadsToChainedDrive(n, s)) {
+            lineNum = a.line;
+            error(
+                "a chained TurnPID leaves the motors running - every state after it must start"
+                    + " a chained DriveForwardMagic");
+          }
+        }
+      }
+    }
+    if (!errors.isEmpty()) return null;
+
+    // order the sub-networks so each comes before the ones it runs (the loader relies on it)
+    List<Network> postOrder = new ArrayList<Network>();
+    HashMap<Network, Boolean> visited = new HashMap<Network, Boolean>();
+    for (Network n : subNetworks.values()) orderSubNetworks(n, visited, postOrder);
+    if (!errors.isEmpty()) return null;
+
+    for (int i = postOrder.size() - 1; i >= 0; i--) subNetworkOrder.add(postOrder.get(i));
+
+    // point the SubNetwork actions at their sub-network
+    for (Network n : allNetworks) {
+      for (State s : n.states) {
+        for (Item a : s.actions) {
+          if (a.subNetworkId == null) continue;
+          Network sub = subNetworks.get(a.subNetworkId);
+          a.name = sub.name;
+          a.values[0] = subNetworkOrder.indexOf(sub);
+        }
+      }
+    }
+
+    return encode();
+  }
+
+  // depth first - visited holds false while a sub-network's children are being visited, so
+  // meeting it again means it runs itself
+  private void orderSubNetworks(
+      Network n, HashMap<Network, Boolean> visited, List<Network> postOrder) {
+    Boolean done = visited.get(n);
+    if (done != null) {
+      if (!done) {
+        lineNum = n.line;
+        error("sub-network " + n.id + " runs itself");
+      }
+      return;
+    }
+
+    visited.put(n, false);
+    for (State s : n.states) {
+      for (Item a : s.actions) {
+        if (a.subNetworkId != null)
+          orderSubNetworks(subNetworks.get(a.subNetworkId), visited, postOrder);
+      }
+    }
+    visited.put(n, true);
+    postOrder.add(n);
+  }
+
+  // action of this type with its chain flag (parameter chainParam) set
+  private static boolean isChained(Item a, int type, int chainParam) {
+    return (a.type == type) && (a.values[chainParam] != 0.0);
+  }
+
+  // every state s can go on to (next, timeout and transition targets) starts a chained drive
+  private static boolean leadsToChainedDrive(Network n, State s) {
+    if (s.nextId == null) return false;
+
+    List<String> targets = new ArrayList<String>();
+    targets.add(s.nextId);
+    if (s.timeoutId != null) targets.add(s.timeoutId);
+    for (Branch t : s.transitions) targets.add(t.targetId);
+
+    for (String id : targets) {
+      int index = indexOf(n, id);
+      if (index == AutoRouteFormat.NO_STATE) continue; // reported as unknown
+      boolean chainedDrive = false;
+      for (Item a : n.states.get(index).actions) {
+        if (isChained(a, AutoRouteFormat.ACTION_DRIVE_FORWARD_MAGIC, 5)) chainedDrive = true;
+      }
+      if (!chainedDrive) return false;
+    }
+    return true;
+  }
+
+  private static int indexOf(Network n, String stateId) {
+    for (int i = 0; i < n.states.size(); i++) {
+      if (n.states.get(i).id.equals(stateId)) return i;
+    }
+    return AutoRouteFormat.NO_STATE;
+  }
+
+  private byte[] encode() {
+    // string table - every name is stored once
+    LinkedHashMap<String, Integer> strings = new LinkedHashMap<String, Integer>();
+    List<Network> allNetworks = new ArrayList<Network>(subNetworkOrder);
+    for (int index = 0; index < networks.size(); index++) allNetworks.add(networks.get(index));
+    for (Network n : allNetworks) {
+      addString(strings, n.name);
+      for (State s : n.states) {
+        addString(strings, s.name);
+        for (Item a : s.actions) addString(strings, a.name);
+      }
+    }
+
+    ByteBuffer buf = ByteBuffer.allocate(MAX_FILE_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    buf.putInt(AutoRouteFormat.MAGIC);
+    buf.putShort(AutoRouteFormat.VERSION);
+
+    buf.putShort((short) strings.size());
+    for (String str : strings.keySet()) {
+      byte[] strBytes = str.getBytes(StandardCharsets.UTF_8);
+      buf.putShort((short) strBytes.length);
+      buf.put(strBytes);
+    }
+
+    buf.putShort((short) subNetworkOrder.size());
+    for (Network n : subNetworkOrder) putNetwork(buf, strings, n);
+
+    buf.putShort((short) networks.size());
+    for (int index = 0; index < networks.size(); index++)
+      putNetwork(buf, strings, networks.get(index));
+
+    CRC32 crc = new CRC32();
+    crc.update(buf.array(), 0, buf.position());
+    buf.putInt((int) crc.getValue());
+
+    return Arrays.copyOf(buf.array(), buf.position());
+  }
+
+  private static void putNetwork(
+      ByteBuffer buf, LinkedHashMap<String, Integer> strings, Network n) {
+    buf.putShort(strings.get(n.name).shortValue());
+    buf.putShort((short) n.states.size());
+
+    for (State s : n.states) {
+      buf.putShort(strings.get(s.name).shortValue());
+      buf.putShort((short) ((s.nextId != null) ? indexOf(n, s.nextId) : AutoRouteFormat.NO_STATE));
+      buf.putDouble(s.timeoutSec);
+      buf.putShort(
+          (short) ((s.timeoutId != null) ? indexOf(n, s.timeoutId) : AutoRouteFormat.NO_STATE));
+      buf.put((byte) (s.allEventsTrigger ? AutoRouteFormat.FLAG_ALL_EVENTS : 0));
+      buf.put((byte) s.actions.size());
+      buf.put((byte) s.events.size());
+      buf.put((byte) s.transitions.size());
+
+      for (Item a : s.actions) {
+        buf.put((byte) a.type);
+        buf.putShort(strings.get(a.name).shortValue());
+        putParams(buf, a);
+      }
+      for (Item e : s.events) {
+        buf.put((byte) e.type);
+        putParams(buf, e);
+      }
+      for (Branch t : s.transitions) {
+        buf.putShort((short) t.priority);
+        buf.putShort((short) indexOf(n, t.targetId));
+        buf.put((byte) t.event.type);
+        putParams(buf, t.event);
+        buf.put((byte) t.guardSensor);
+        if (t.guardSensor != AutoRouteFormat.NO_GUARD) {
+          buf.put((byte) t.guardComparison);
+          buf.putDouble(t.guardValue);
+        }
+      }
+    }
+  }
+
+  private static void addString(LinkedHashMap<String, Integer> strings, String str) {
+    if (!strings.containsKey(str)) strings.put(str, strings.size());
+  }
+
+  private static void putParams(ByteBuffer buf, Item item) {
+    for (int i = 0; i < item.values.length; i++) {
+      switch (item.signature.charAt(i)) {
+        case AutoRouteFormat.PARAM_DOUBLE:
+          buf.putDouble(item.values[i]);
+          break;
+        case AutoRouteFormat.PARAM_INT:
+          buf.putInt((int) item.values[i]);
+          break;
+        case AutoRouteFormat.PARAM_SUB_NETWORK:
+          buf.putShort((short) item.values[i]);
+          break;
+        default:
+          buf.put((byte) item.values[i]);
+      }
+    }
+  }
+}
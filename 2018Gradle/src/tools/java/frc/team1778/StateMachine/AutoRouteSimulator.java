@@ -0,0 +1,304 @@
+package frc.team1778.StateMachine;
+
+import frc.team1778.Hardware.SimHardware;
+import frc.team1778.Systems.CubeManagement;
+import frc.team1778.Systems.DriveAssembly;
+import frc.team1778.Systems.NavXSensor;
+import frc.team1778.Systems.SensorFrame;
+import frc.team1778.robot.SimulatedRobot;
+import java.io.File;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Desktop tool - predicts how long each auto route takes by running it headless on the simulated
+// robot (SimulatedRobot: Motion Magic drive talons, the TurnController PID loop, a navX turned by
+// the drivetrain, a lift with limit switches at the ends of its travel). Simulated time runs as
+// fast as the host allows - a 15 sec autonomous takes tens of milliseconds.
+// Each network runs in its own class loader (the robot code keeps its state in statics), so they
+// run side by side, one per core. The networks themselves don't look at the field layout - it
+// only picks which network cube ops runs - so after the per-network results comes a table of the
+// network, and its predicted time, that every start position and strategy runs for each of the 8
+// field layouts.
+//   AutoRouteSimulator -routes <compiled route file> [-threads <n>] [-verbose]
+// (-verbose lists every state)
+public class AutoRouteSimulator {
+
+  private static final double AUTO_PERIOD_SEC = 15.0;
+  private static final int AUTO_CYCLES =
+      (int) (AUTO_PERIOD_SEC * 1e6 / SimulatedRobot.CYCLE_US + 0.5);
+
+  // pre-arm zeroes the gyro well before autonomous - let it settle the same way
+  private static final int ARM_CYCLES = 10;
+
+  // switch, scale, switch (nearest first) as sent by the FMS
+  private static final String[] FIELD_LAYOUTS = {
+    "LLL", "LLR", "LRL", "LRR", "RLL", "RLR", "RRL", "RRR"
+  };
+
+  // cube ops start positions and strategies: position, priority, remote scale action
+  private static final String[] STRATEGY_NAMES = {
+    "L scale",
+    "L sc/stby",
+    "L switch",
+    "L sw/stby",
+    "center",
+    "R scale",
+    "R sc/stby",
+    "R switch",
+    "R sw/stby"
+  };
+  private static final int[][] STRATEGIES = {
+    {AutoChooser.LEFT_POSITION, AutoChooser.SCALE, AutoChooser.REMOTE_SCALE_CUBE_DROP},
+    {AutoChooser.LEFT_POSITION, AutoChooser.SCALE, AutoChooser.REMOTE_SCALE_STANDBY},
+    {AutoChooser.LEFT_POSITION, AutoChooser.SWITCH, AutoChooser.REMOTE_SCALE_CUBE_DROP},
+    {AutoChooser.LEFT_POSITION, AutoChooser.SWITCH, AutoChooser.REMOTE_SCALE_STANDBY},
+    {AutoChooser.CENTER_POSITION, AutoChooser.SCALE, AutoChooser.REMOTE_SCALE_CUBE_DROP},
+    {AutoChooser.RIGHT_POSITION, AutoChooser.SCALE, AutoChooser.REMOTE_SCALE_CUBE_DROP},
+    {AutoChooser.RIGHT_POSITION, AutoChooser.SCALE, AutoChooser.REMOTE_SCALE_STANDBY},
+    {AutoChooser.RIGHT_POSITION, AutoChooser.SWITCH, AutoChooser.REMOTE_SCALE_CUBE_DROP},
+    {AutoChooser.RIGHT_POSITION, AutoChooser.SWITCH, AutoChooser.REMOTE_SCALE_STANDBY}
+  };
+
+  // simulate() results (double[])
+  private static final int DONE_SEC = 0; // -1 if still running at the end of autonomous
+  private static final int X_INCHES = 1; // final pose - x forward, y right of the start
+  private static final int Y_INCHES = 2;
+  private static final int HEADING_DEG = 3;
+  private static final int LIFT_PERCENT = 4;
+  private static final int NUM_STATES_RUN = 5;
+  private static final int WALL_MS = 6;
+  private static final int NUM_RESULTS = 7;
+
+  public static void main(String[] args) throws Exception {
+    String routePath = null;
+    int threads = Runtime.getRuntime().availableProcessors();
+    boolean verbose = false;
+
+    for (int i = 0; i < args.length; i++) {
+      if (args[i].equals("-routes") && (i + 1 < args.length)) routePath = args[++i];
+      else if (args[i].equals("-threads") && (i + 1 < args.length))
+        threads = Integer.parseInt(args[++i]);
+      else if (args[i].equals("-verbose")) verbose = true;
+      else {
+        System.err.println(
+            "usage: AutoRouteSimulator -routes <compiled route file> [-threads <n>] [-verbose]");
+        System.exit(1);
+      }
+    }
+    if ((routePath == null) || (AutoRouteLoader.load(new File(routePath)) == null)) {
+      System.err.println("AutoRouteSimulator: no valid route file " + routePath);
+      System.exit(1);
+    }
+
+    // the robot code talks a lot on System.out - keep it out of the report
+    PrintStream out = System.out;
+    System.setOut(
+        new PrintStream(
+            new OutputStream() {
+              public void write(int b) {}
+            }));
+
+    long startNs = System.nanoTime();
+    Object[][] results = runAll(routePath, threads, verbose);
+    double wallSec = (System.nanoTime() - startNs) / 1e9;
+
+    System.setOut(out);
+    printNetworks(results, verbose);
+    printLayouts(results);
+
+    // simulated time - a network still running at the end ran for the whole period
+    double simSec = 0.0;
+    for (Object[] result : results) {
+      if (result == null) continue;
+      double doneSec = ((double[]) result[1])[DONE_SEC];
+      simSec += (doneSec >= 0.0) ? doneSec : AUTO_PERIOD_SEC;
+    }
+    System.out.println(
+        String.format(
+            "%n%.1f sec of autonomous simulated on %d threads in %.2f sec (%.0fx real time)%s",
+            simSec, threads, wallSec, simSec / wallSec, " - routes from " + routePath));
+  }
+
+  // runs every network, each in a fresh copy of the robot code - results by network index
+  private static Object[][] runAll(final String routePath, int threads, final boolean verbose)
+      throws Exception {
+    final URL[] classPath = getClassPath();
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    ArrayList<Future<Object[]>> futures = new ArrayList<Future<Object[]>>();
+
+    for (int i = 0; i < AutoNetworkBuilder.NUM_NETWORKS; i++) {
+      final int index = i;
+      futures.add(
+          pool.submit(
+              new Callable<Object[]>() {
+                public Object[] call() throws Exception {
+                  // parent is the platform class loader - the robot code and its libraries are
+                  // all loaded again, with their own statics
+                  URLClassLoader loader =
+                      new URLClassLoader(classPath, ClassLoader.getSystemClassLoader().getParent());
+                  try {
+                    Class<?> simulator = loader.loadClass(AutoRouteSimulator.class.getName());
+                    return (Object[])
+                        simulator
+                            .getMethod("simulate", int.class, String.class, boolean.class)
+                            .invoke(null, index, routePath, verbose);
+                  } finally {
+                    loader.close();
+                  }
+                }
+              }));
+    }
+
+    Object[][] results = new Object[futures.size()][];
+    for (int i = 0; i < futures.size(); i++) results[i] = futures.get(i).get();
+    pool.shutdown();
+    return results;
+  }
+
+  private static URL[] getClassPath() throws Exception {
+    String[] entries = System.getProperty("java.class.path").split(File.pathSeparator);
+    URL[] urls = new URL[entries.length];
+    for (int i = 0; i < entries.length; i++) urls[i] = new File(entries[i]).toURI().toURL();
+    return urls;
+  }
+
+  // runs one network for an autonomous period (called in its own class loader) - returns the
+  // network name, the results (double[], see DONE_SEC...) and its state timeline, or null if there
+  // is no network with this index
+  public static Object[] simulate(int index, String routePath, boolean verbose) {
+    long wallStartNs = System.nanoTime();
+    SimulatedRobot.initialize();
+
+    AutoRouteLoader routes = AutoRouteLoader.load(new File(routePath));
+    AutoNetwork network = (routes != null) ? routes.buildNetwork(index) : null;
+    if (network == null) return null;
+    CompiledAutoNetwork compiled = new CompiledAutoNetwork(network);
+
+    // pre-arm while disabled, then autonomousInit
+    NavXSensor.reset();
+    DriveAssembly.resetPos();
+    CubeManagement.resetPos();
+    SensorFrame sensors = null;
+    for (int i = 0; i < ARM_CYCLES; i++) sensors = SimulatedRobot.step();
+    CubeManagement.autoInit();
+    DriveAssembly.enableCurrentLimit(false);
+
+    long startUs = SimHardware.getTimeUs();
+    AutoTracer.start(startUs);
+    compiled.enter();
+
+    double[] results = new double[NUM_RESULTS];
+    results[DONE_SEC] = -1.0;
+    StringBuilder timeline = new StringBuilder();
+    int lastState = CompiledAutoNetwork.NO_STATE;
+
+    // dead reckoning from the wheels and the gyro
+    double x = 0.0, y = 0.0;
+    double lastLeft = sensors.getLeftPositionInches();
+    double lastRight = sensors.getRightPositionInches();
+
+    for (int cycle = 0; cycle < AUTO_CYCLES; cycle++) {
+      compiled.process(sensors);
+
+      double timeSec = (sensors.getTimestampUs() - startUs) / 1e6;
+      int state = compiled.getCurrentStateIndex();
+      if (state != lastState) {
+        results[NUM_STATES_RUN]++;
+        if (verbose) {
+          timeline.append(
+              String.format(
+                  "      %6.2f  %s%n",
+                  timeSec, (state >= 0) ? compiled.getStateName(state) : "<finished>"));
+        }
+        lastState = state;
+      }
+      if (compiled.isAtRest()) {
+        results[DONE_SEC] = timeSec;
+        break;
+      }
+
+      sensors = SimulatedRobot.step();
+
+      double left = sensors.getLeftPositionInches();
+      double right = sensors.getRightPositionInches();
+      double distance = ((left - lastLeft) + (right - lastRight)) / 2.0;
+      double heading = Math.toRadians(sensors.getGyroAngleDeg());
+      x += distance * Math.cos(heading);
+      y += distance * Math.sin(heading);
+      lastLeft = left;
+      lastRight = right;
+    }
+    compiled.exit();
+
+    results[X_INCHES] = x;
+    results[Y_INCHES] = y;
+    results[HEADING_DEG] = sensors.getGyroAngleDeg();
+    results[LIFT_PERCENT] =
+        100.0 * Math.max(0.0, SimulatedRobot.getLiftHeight()) / SimulatedRobot.LIFT_TRAVEL_UNITS;
+    results[WALL_MS] = (System.nanoTime() - wallStartNs) / 1e6;
+
+    return new Object[] {network.name, results, timeline.toString()};
+  }
+
+  private static void printNetworks(Object[][] results, boolean verbose) {
+    System.out.println(
+        String.format(
+            "%3s %-55s %9s %8s %8s %8s %6s %7s %9s",
+            "#", "network", "done (s)", "x (in)", "y (in)", "hdg", "lift", "states", "wall (ms)"));
+
+    for (int i = 0; i < results.length; i++) {
+      if (results[i] == null) {
+        System.out.println(String.format("%3d %-55s", i, "<no network>"));
+        continue;
+      }
+
+      double[] r = (double[]) results[i][1];
+      System.out.println(
+          String.format(
+              "%3d %-55s %9s %8.1f %8.1f %8.1f %5.0f%% %7d %9.1f",
+              i,
+              results[i][0],
+              (r[DONE_SEC] >= 0.0) ? String.format("%.2f", r[DONE_SEC]) : "> 15",
+              r[X_INCHES],
+              r[Y_INCHES],
+              r[HEADING_DEG],
+              r[LIFT_PERCENT],
+              (int) r[NUM_STATES_RUN],
+              r[WALL_MS]));
+      if (verbose) System.out.print(results[i][2]);
+    }
+  }
+
+  // network and predicted time each start position and strategy runs, per field layout
+  private static void printLayouts(Object[][] results) {
+    StringBuilder header = new StringBuilder(String.format("%nCube ops by field layout%n%-6s", ""));
+    for (String name : STRATEGY_NAMES) header.append(String.format(" %10s", name));
+    System.out.println(header);
+
+    for (String layout : FIELD_LAYOUTS) {
+      StringBuilder row = new StringBuilder(String.format("%-6s", layout));
+      for (int[] strategy : STRATEGIES) {
+        int index = AutoStateMachine.cubeOpsNetwork(strategy[0], strategy[1], strategy[2], layout);
+        Object[] result = ((index >= 0) && (index < results.length)) ? results[index] : null;
+        if (result == null) {
+          row.append(String.format(" %10s", "-"));
+          continue;
+        }
+
+        double doneSec = ((double[]) result[1])[DONE_SEC];
+        row.append(
+            String.format(
+                " %10s",
+                index + ": " + ((doneSec >= 0.0) ? String.format("%.1fs", doneSec) : ">15s")));
+      }
+      System.out.println(row);
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package frc.team1778.robot;
+
+import frc.team1778.FreezyDrive.DriveControl;
+import frc.team1778.Hardware.MotorCommandCache;
+import frc.team1778.Hardware.SimHardware;
+import frc.team1778.StateMachine.AutoNetwork;
+import frc.team1778.StateMachine.AutoNetworkBuilder;
+import frc.team1778.StateMachine.AutoRouteLoader;
+import frc.team1778.Systems.CubeManagement;
+import frc.team1778.Systems.SensorFrame;
+
+// Desktop tool - counts motor controller traffic per robot loop on simulated hardware, with and
+// without the motor command cache:
+//   CAN frames  - TalonSRX commands and config writes
+//   CAN reads   - TalonSRX sensor/status reads
+//   PWM sets    - Spark speed updates (each one a JNI call into the HAL)
+// The auto networks come from the compiled route file (-Dfrc1778.routes.dir=<dir>).
+public class BusTrafficReport {
+
+  private static final int AUTO_CYCLES = 750; // 15 s
+  private static final int TELEOP_CYCLES = 1000; // 20 s
+
+  public static void main(String[] args) {
+    SimulatedRobot.initialize();
+
+    AutoRouteLoader routes = AutoRouteLoader.load(AutoRouteLoader.getRouteFile());
+    if (routes == null) {
+      System.err.println("BusTrafficReport: no valid route file (-Dfrc1778.routes.dir=<dir>)");
+      System.exit(1);
+    }
+
+    DriveControl driveControl = new DriveControl();
+
+    System.out.println(
+        String.format(
+            "%-52s %6s %12s %12s %12s", "loop", "cache", "frames/loop", "reads/loop", "pwm/loop"));
+
+    for (int cache = 1; cache >= 0; cache--) {
+      MotorCommandCache.setEnabled(cache == 1);
+
+      for (int n :
+          new int[] {
+            AutoNetworkBuilder.DRIVE_FORWARD,
+            AutoNetworkBuilder.DEPOSIT_CUBE_SWITCH_CENTER_LEFT,
+            AutoNetworkBuilder.DEPOSIT_CUBE_SCALE_RIGHT
+          }) {
+        AutoNetwork network = routes.buildNetwork(n);
+        SimHardware.resetCounters();
+
+        network.enter();
+        SensorFrame sensors = SensorFrame.capture(SimHardware.getTimeUs());
+        for (int i = 0; i < AUTO_CYCLES; i++) {
+          network.process(sensors);
+          sensors = SimulatedRobot.step();
+        }
+        network.exit();
+
+        report(network.name, cache == 1, AUTO_CYCLES);
+      }
+
+      // teleop - driver holds a steady throttle, co-pilot hands off the gamepad
+      SimHardware.resetCounters();
+      CubeManagement.teleopInit();
+      for (int i = 0; i < TELEOP_CYCLES; i++) {
+        driveControl.calculateDrive(0.5, (i < TELEOP_CYCLES / 2) ? 0.0 : 0.3, false);
+        CubeManagement.teleopPeriodic();
+        SimulatedRobot.step();
+      }
+      report("<Teleop steady drive>", cache == 1, TELEOP_CYCLES);
+    }
+  }
+
+  private static void report(String name, boolean cache, int cycles) {
+    System.out.println(
+        String.format(
+            "%-52s %6s %12.2f %12.2f %12.2f",
+            name,
+            cache ? "on" : "off",
+            (double) SimHardware.getTotalFrameCount() / cycles,
+            (double) SimHardware.getTotalReadCount() / cycles,
+            (double) SimHardware.getTotalSparkSetCount() / cycles));
+  }
+}
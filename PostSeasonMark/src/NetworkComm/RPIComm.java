@@ -1,6 +1,6 @@
 package NetworkComm;
 
-import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.Utility;
 import edu.wpi.first.wpilibj.networktables.NetworkTable;
 
 public class RPIComm {
@@ -37,9 +37,11 @@ public class RPIComm {
 	private static final double DRIVE_SPEED_X = 0.4;
 	private static final double DRIVE_SPEED_Y = 0.4;
 	
-	// Number of loops to perform to guarantee the robot is lined up with the target
-	private static final int IS_CENTERED_DELAY = 15;
-	private static int readyTimer = 0;
+	// Time the robot must stay lined up with the target to guarantee it is centered
+	// (15 loops of the old 40 ms delayed loop)
+	private static final long IS_CENTERED_USEC = 600000;
+	private static long centeredStartTime = 0;
+	private static boolean centering = false;
 	
     public static void initialize() {
     	if (!initialized) {
@@ -110,7 +112,7 @@ public class RPIComm {
 		driveLeft = 0;
 		driveRight = 0;
 		
-		readyTimer = 0;
+		centering = false;
 
 		targetCentered = false;
     }
@@ -129,8 +131,6 @@ public class RPIComm {
 		targetY = table.getNumber("targetY", defaultDoubleVal);
 		targetArea = table.getNumber("targetArea",defaultDoubleVal);
 		targetDistance = table.getNumber("targetDistance",defaultDoubleVal);
-		
-		Timer.delay(0.02);
     }
     
     public static void targetProcessing() {
@@ -159,10 +159,15 @@ public class RPIComm {
 					// Both X and Y are centered!
 					driveLeft = 0;
 					driveRight = 0;
-					readyTimer++;
+					
+					// start timing on the first centered loop (no delay here, the next loop checks again)
+					if (!centering) {
+						centering = true;
+						centeredStartTime = Utility.getFPGATime();
+					}
 									
-					// if we continued to be centered for a reasonable number of iterations
-					if(readyTimer >= IS_CENTERED_DELAY) {
+					// if we continued to be centered for a reasonable amount of time
+					if((Utility.getFPGATime() - centeredStartTime) >= IS_CENTERED_USEC) {
 						//System.out.println("NetworkCommAssembly: TARGET CENTERED!.... X: " + deltaX + " Y: " + deltaY + 
 						//		"driveLeft = " + driveLeft +
 						//		"driveRight = " + driveRight);
@@ -178,7 +183,7 @@ public class RPIComm {
 					driveLeft = Math.copySign(speedY, deltaY);
 					driveRight = Math.copySign(speedY, deltaY);
 					targetCentered = false;
-					readyTimer = 0;
+					centering = false;
 
 					String outputStr = String.format("RPIComm: CENTERING Y.... X: %.1f Y: %.1f driveLeft= %.1f driveRight= %.1f",
 							deltaX, deltaY,driveLeft,driveRight);
@@ -191,7 +196,7 @@ public class RPIComm {
 				driveLeft = Math.copySign(speedX, deltaX);
 				driveRight = Math.copySign(speedX, -deltaX);
 				targetCentered = false;
-				readyTimer = 0;
+				centering = false;
 				
 				String outputStr = String.format("RPIComm: CENTERING X.... X: %.1f Y: %.1f driveLeft= %.1f driveRight= %.1f",
 						deltaX, deltaY,driveLeft,driveRight);
@@ -204,8 +209,6 @@ public class RPIComm {
 			InputOutputComm.putString(InputOutputComm.LogTable.kRPICommLog,"RPIComm","No target found");
 			reset();
 		}
-			
-		Timer.delay(0.02);
     }
     
 	// Returns the value for the left side drivetrain
@@ -8,6 +8,7 @@ import com.ctre.CANTalon.TalonControlMode;
 import NetworkComm.InputOutputComm;
 import Utility.HardwareIDs;
 import edu.wpi.first.wpilibj.Joystick;
+import edu.wpi.first.wpilibj.Notifier;
 import edu.wpi.first.wpilibj.PIDController;
 import edu.wpi.first.wpilibj.Relay;
 import edu.wpi.first.wpilibj.Servo;
@@ -17,7 +18,13 @@ import edu.wpi.first.wpilibj.Utility;
 public class BallManagement {
 	
 	private static boolean initialized = false;
-	private static boolean feeding = false;
+	private static volatile boolean feeding = false;
+
+	// starts feeding once the shooter has spun up - one notifier thread, reused for every spin up
+	private static Notifier feedNotifier;
+	// a feed start is counting down - held fire buttons call setShooterStrength every trigger cycle,
+	// and must not restart the count
+	private static volatile boolean feedPending = false;
 	
 	private static final double TRANSPORT_IN_LEVEL = 0.5;
 	private static final double TRANSPORT_OUT_LEVEL = -0.5;
@@ -123,6 +130,12 @@ public class BallManagement {
 		shooterMotor.setD(D_COEFF);
 		shooterMotor.setF(F_COEFF);
 		
+		feedNotifier = new Notifier(new Runnable() {
+			public void run() {
+				startFeeding();
+			}
+		});
+		
 		// make sure all motors are off
 		resetMotors();
 		
@@ -139,6 +152,8 @@ public class BallManagement {
 		collectorMotor.set(0);
 		agitatorServo.set(AGITATOR_OFF);
 		
+		feedNotifier.stop();  // cancel any pending feed start
+		feedPending = false;
 		feeding = false;
 	}
 	
@@ -166,19 +181,11 @@ public class BallManagement {
 		// if turning on motors...
 		else  {	
 			// if shooter motor is on and we're not yet feeding (i.e. motor is spinning up from being off)
-			if (!feeding)
+			if (!feeding && !feedPending)
 			{
-				// spawn a wait thread to ensure agitator and feeder are turned on only AFTER a certain period
-				new Thread() {
-					public void run() {
-						try {
-							Thread.sleep(1000);  // wait one second before starting to feed
-							startFeeding();		 // start feeder motors
-						} catch (Exception e) {
-							e.printStackTrace();
-						}
-					}
-				}.start();
+				// start the agitator and feeder only AFTER a certain period
+				feedPending = true;
+				feedNotifier.startSingle(1.0);  // wait one second before starting to feed
 			}
 		}
 		
@@ -199,11 +206,15 @@ public class BallManagement {
         agitatorServo.set(agitatorLevel);
                 
         feeding = true;
+        feedPending = false;  // after feeding is set, so the start is not armed again
 	}
 	
 	public static void stopFeeding() {
 		//System.out.println("stopping feeder & agitator...");
 		
+		feedNotifier.stop();  // cancel any pending feed start
+		feedPending = false;
+		
         double feederLevel = 0;
 		InputOutputComm.putDouble(InputOutputComm.LogTable.kMainLog,"BallMgmt/FeederLevel", feederLevel);		
         feederMotor.set(feederLevel);	
@@ -13,6 +13,7 @@ import com.ctre.phoenix.MotorControl.SmartMotorController.TalonControlMode;
 import NetworkComm.InputOutputComm;
 import Utility.HardwareIDs;
 import edu.wpi.first.wpilibj.Joystick;
+import edu.wpi.first.wpilibj.Notifier;
 import edu.wpi.first.wpilibj.Relay;
 import edu.wpi.first.wpilibj.RobotController;
 import edu.wpi.first.wpilibj.Servo;
@@ -22,7 +23,13 @@ public class BallManagement {
 	
 	private static boolean initialized = false;
 	
-	private static boolean feeding = false;
+	private static volatile boolean feeding = false;
+
+	// starts feeding once the shooter has spun up - one notifier thread, reused for every spin up
+	private static Notifier feedNotifier;
+	// a feed start is counting down - held fire buttons call setShooterStrength every trigger cycle,
+	// and must not restart the count
+	private static volatile boolean feedPending = false;
 	
 	private static final double TRANSPORT_IN_LEVEL = 0.5;
 	private static final double TRANSPORT_OUT_LEVEL = -0.5;
@@ -113,6 +120,12 @@ public class BallManagement {
 		shooterMotor.setF(F_COEFF);
 		*/
 		
+		feedNotifier = new Notifier(new Runnable() {
+			public void run() {
+				startFeeding();
+			}
+		});
+		
 		// make sure all motors are off
 		resetMotors();
 		
@@ -159,6 +172,8 @@ public class BallManagement {
 		transportMotor.set(0);
 		agitatorServo.set(AGITATOR_OFF);
 		
+		feedNotifier.stop();  // cancel any pending feed start
+		feedPending = false;
 		feeding = false;
 	}
 	
@@ -183,19 +198,11 @@ public class BallManagement {
 		// if turning on motors...
 		else  {	
 			// if shooter motor is on and we're not yet feeding (i.e. motor is spinning up from being off)
-			if (!feeding)
+			if (!feeding && !feedPending)
 			{
-				// spawn a wait thread to ensure agitator and feeder are turned on only AFTER a certain period
-				new Thread() {
-					public void run() {
-						try {
-							Thread.sleep(1000);  // wait one second before starting to feed
-							startFeeding();		 // start feeder motors
-						} catch (Exception e) {
-							e.printStackTrace();
-						}
-					}
-				}.start();
+				// start the agitator and feeder only AFTER a certain period
+				feedPending = true;
+				feedNotifier.startSingle(1.0);  // wait one second before starting to feed
 			}
 		}
 		
@@ -216,11 +223,15 @@ public class BallManagement {
         agitatorServo.set(agitatorLevel);
                 
         feeding = true;
+        feedPending = false;  // after feeding is set, so the start is not armed again
 	}
 	
 	public static void stopFeeding() {
 		//System.out.println("stopping feeder & agitator...");
 		
+		feedNotifier.stop();  // cancel any pending feed start
+		feedPending = false;
+		
         double feederLevel = 0;
         InputOutputComm.putDouble(InputOutputComm.LogTable.kMainLog,"BallMgmt/FeederLevel", feederLevel);		
         feederMotor.set(ControlMode.PercentOutput, feederLevel);	